@@ -68,6 +68,32 @@ public class Constants {
      */
     public static final String BORROW_STATUS_OVERDUE = "overdue";
     
+    // ====================== 预约状态 ======================
+    /**
+     * 预约状态：排队中
+     */
+    public static final String HOLD_STATUS_WAITING = "waiting";
+
+    /**
+     * 预约状态：已分配副本，等待教师借阅
+     */
+    public static final String HOLD_STATUS_READY = "ready";
+
+    /**
+     * 预约状态：已借阅
+     */
+    public static final String HOLD_STATUS_FULFILLED = "fulfilled";
+
+    /**
+     * 预约状态：分配后超时未借阅
+     */
+    public static final String HOLD_STATUS_EXPIRED = "expired";
+
+    /**
+     * 预约状态：已取消
+     */
+    public static final String HOLD_STATUS_CANCELLED = "cancelled";
+
     // ====================== 会话相关 ======================
     /**
      * 管理员登录会话键
@@ -89,6 +115,16 @@ public class Constants {
      * 最大分页大小
      */
     public static final Integer MAX_PAGE_SIZE = 100;
+
+    /**
+     * 按名称批量搜索期刊时一次最多的名称数量
+     */
+    public static final Integer MAX_SEARCH_NAMES = 100;
+
+    /**
+     * 多条件搜索分面统计中每个分面最多返回的取值数量
+     */
+    public static final Integer MAX_FACET_VALUES = 20;
     
     // ====================== 借阅规则 ======================
     /**
@@ -102,9 +138,9 @@ public class Constants {
     public static final Integer DEFAULT_TEACHER_MAX_BORROW = 5;
 
     /**
-     * 借阅ID基础值
+     * 批量借阅/归还单次最多处理的条目数
      */
-    public static final Integer BASE_NUM=10000;
+    public static final Integer MAX_BATCH_SIZE = 500;
 
     /**
      * 教师部门集合
@@ -0,0 +1,84 @@
+package com.journalsystem.springprogram.common;
+
+import com.journalsystem.springprogram.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 游标分页（seek分页）的游标
+ * 由排序键和记录ID组成，序列化为不透明的Base64字符串返回给前端，前端原样回传即可取下一页
+ */
+public class PageCursor {
+
+    /**
+     * 排序键和ID之间的分隔符
+     */
+    private static final String SEPARATOR = "|";
+
+    /**
+     * 排序键（按ID排序时为空字符串）
+     */
+    private final String sortValue;
+
+    /**
+     * 上一页最后一条记录的ID
+     */
+    private final Integer id;
+
+    private PageCursor(String sortValue, Integer id) {
+        this.sortValue = sortValue;
+        this.id = id;
+    }
+
+    /**
+     * 根据上一页最后一条记录生成游标
+     * @param sortValue 排序键的值，仅按ID排序时传null
+     * @param id 记录ID
+     * @return 不透明的游标字符串
+     */
+    public static String encode(Object sortValue, Integer id) {
+        String raw = (sortValue == null ? "" : sortValue.toString()) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标
+     * @param token 游标字符串
+     * @return 游标对象，token为空时返回null（表示第一页）
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int index = raw.lastIndexOf(SEPARATOR);
+            return new PageCursor(raw.substring(0, index), Integer.valueOf(raw.substring(index + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new BusinessException(400, "分页游标无效");
+        }
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public String getSortValue() {
+        return sortValue;
+    }
+
+    /**
+     * 以日期形式获取排序键
+     * @return 排序键对应的日期
+     */
+    public LocalDate getSortValueAsDate() {
+        try {
+            return LocalDate.parse(sortValue);
+        } catch (DateTimeParseException e) {
+            throw new BusinessException(400, "分页游标无效");
+        }
+    }
+}
@@ -28,7 +28,31 @@ public class PageRequest {
      * 排序方向（asc/desc）
      */
     private String sortOrder = "asc";
-    
+
+    /**
+     * 是否使用游标分页（seek分页），首页没有游标时通过该字段开启
+     */
+    private Boolean seek = false;
+
+    /**
+     * 游标，上一页返回的nextCursor，不为空时按游标取下一页（忽略pageNum）
+     * 游标分页按各查询的固定排序键+ID排序，忽略sortField
+     */
+    private String cursor;
+
+    /**
+     * 是否统计总记录数，关闭后不执行count(*)，深分页与首页开销相同
+     */
+    private Boolean countTotal = true;
+
+    /**
+     * 是否为游标分页模式
+     * @return seek为true或携带了游标时返回true
+     */
+    public boolean isSeekMode() {
+        return Boolean.TRUE.equals(seek) || (cursor != null && !cursor.isEmpty());
+    }
+
     /**
      * 校验并修正分页参数
      */
@@ -45,5 +69,8 @@ public class PageRequest {
         if (sortOrder == null || (!"asc".equalsIgnoreCase(sortOrder) && !"desc".equalsIgnoreCase(sortOrder))) {
             sortOrder = "asc";
         }
+        if (countTotal == null) {
+            countTotal = true;
+        }
     }
 }
\ No newline at end of file
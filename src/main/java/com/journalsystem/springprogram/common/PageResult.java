@@ -46,6 +46,11 @@ public class PageResult<T> {
      * 是否有上一页
      */
     private Boolean hasPrevious;
+
+    /**
+     * 下一页游标（仅游标分页时返回，没有下一页时为null）
+     */
+    private String nextCursor;
     
     /**
      * 构建分页结果
@@ -72,4 +77,47 @@ public class PageResult<T> {
         
         return result;
     }
-}
\ No newline at end of file
+
+    /**
+     * 构建游标分页结果
+     * @param pageSize 每页大小
+     * @param total 总记录数，未统计时为null
+     * @param data 当前页数据
+     * @param nextCursor 下一页游标，没有下一页时为null
+     * @param hasPrevious 是否有上一页（请求是否携带了游标）
+     * @param <T> 数据类型
+     * @return 分页结果
+     */
+    public static <T> PageResult<T> buildSeek(Integer pageSize, Long total, List<T> data, String nextCursor, Boolean hasPrevious) {
+        PageResult<T> result = new PageResult<>();
+        result.setPageSize(pageSize);
+        result.setTotal(total);
+        if (total != null) {
+            result.setTotalPages((int) Math.ceil((double) total / pageSize));
+        }
+        result.setData(data);
+        result.setNextCursor(nextCursor);
+        result.setHasNext(nextCursor != null);
+        result.setHasPrevious(hasPrevious);
+        return result;
+    }
+
+    /**
+     * 保留分页信息，替换当前页数据（如实体转换为DTO）
+     * @param data 新的当前页数据
+     * @param <R> 新数据类型
+     * @return 分页结果
+     */
+    public <R> PageResult<R> withData(List<R> data) {
+        PageResult<R> result = new PageResult<>();
+        result.setPageNum(pageNum);
+        result.setPageSize(pageSize);
+        result.setTotal(total);
+        result.setTotalPages(totalPages);
+        result.setData(data);
+        result.setHasNext(hasNext);
+        result.setHasPrevious(hasPrevious);
+        result.setNextCursor(nextCursor);
+        return result;
+    }
+}
@@ -0,0 +1,13 @@
+package com.journalsystem.springprogram.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 定时任务配置类
+ * 开启Spring的@Scheduled支持，定时任务见task包
+ */
+@Configuration
+@EnableScheduling
+public class ScheduleConfig {
+}
@@ -1,6 +1,7 @@
 package com.journalsystem.springprogram.config;
 
 import com.journalsystem.springprogram.interceptor.LoginInterceptor;
+import com.journalsystem.springprogram.interceptor.SqlStatementCountInterceptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -17,6 +18,8 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 public class WebConfig implements WebMvcConfigurer {
     @Autowired
     private LoginInterceptor loginInterceptor;//注入登录拦截器
+    @Autowired
+    private SqlStatementCountInterceptor sqlStatementCountInterceptor;//注入SQL条数拦截器
     /**
      * 添加登录拦截器到拦截器注册表
      * @param registry 拦截器注册表，用于添加自定义拦截器
@@ -30,6 +33,9 @@ public class WebConfig implements WebMvcConfigurer {
                         "/api/auth/**/register", // 注册接口
                         "/api/system/**" // 公共接口
                 );
+        // 统计每个接口请求执行的SQL条数
+        registry.addInterceptor(sqlStatementCountInterceptor)
+                .addPathPatterns("/api/**");
     }
 
     @Override
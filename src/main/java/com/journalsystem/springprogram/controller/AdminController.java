@@ -4,6 +4,7 @@ package com.journalsystem.springprogram.controller;
 import com.journalsystem.springprogram.common.Constants;
 import com.journalsystem.springprogram.common.Result;
 import com.journalsystem.springprogram.dto.BorrowDTO;
+import com.journalsystem.springprogram.dto.ReconciliationReportDTO;
 import com.journalsystem.springprogram.dto.TeacherDTO;
 import com.journalsystem.springprogram.exception.BusinessException;
 import com.journalsystem.springprogram.pojo.AdminInfo;
@@ -13,10 +14,15 @@ import com.journalsystem.springprogram.pojo.TeacherInfo;
 import com.journalsystem.springprogram.service.AdminService;
 
 import com.journalsystem.springprogram.service.BorrowService;
+import com.journalsystem.springprogram.service.BorrowStatService;
 import com.journalsystem.springprogram.service.JournalService;
 import com.journalsystem.springprogram.service.TeacherService;
+import com.journalsystem.springprogram.task.BorrowArchiveTask;
+import com.journalsystem.springprogram.task.CounterReconciliationTask;
 import com.journalsystem.springprogram.util.DateUtil;
 import com.journalsystem.springprogram.util.DtoUtil;
+import com.journalsystem.springprogram.util.JournalCatalogCache;
+import com.journalsystem.springprogram.util.OptimisticLockRetryExecutor;
 import jakarta.servlet.http.HttpServletRequest;
 import jdk.jfr.DataAmount;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -38,13 +44,27 @@ public class AdminController {
     private final TeacherService teacherService;
     private final JournalService journalService;
     private final BorrowService borrowService;
+    private final BorrowStatService borrowStatService;
+    private final OptimisticLockRetryExecutor retryExecutor;
+    private final BorrowArchiveTask borrowArchiveTask;
+    private final CounterReconciliationTask counterReconciliationTask;
+    private final JournalCatalogCache journalCatalogCache;
 
     @Autowired//通过构造函数注入adminservice
-    public AdminController(AdminService adminService, TeacherService teacherService, JournalService journalService, BorrowService borrowService) {
+    public AdminController(AdminService adminService, TeacherService teacherService, JournalService journalService,
+                           BorrowService borrowService, BorrowStatService borrowStatService,
+                           OptimisticLockRetryExecutor retryExecutor, BorrowArchiveTask borrowArchiveTask,
+                           CounterReconciliationTask counterReconciliationTask,
+                           JournalCatalogCache journalCatalogCache) {
         this.adminService = adminService;
         this.teacherService = teacherService;
         this.journalService = journalService;
         this.borrowService = borrowService;
+        this.borrowStatService = borrowStatService;
+        this.retryExecutor = retryExecutor;
+        this.borrowArchiveTask = borrowArchiveTask;
+        this.counterReconciliationTask = counterReconciliationTask;
+        this.journalCatalogCache = journalCatalogCache;
     }
 
 
@@ -96,7 +116,7 @@ public class AdminController {
         //2.查询教师总数
         Integer totalTeachers= teacherService.getAllTeachers().size();
         //3.查询超期未还总数
-        Integer overdueItems = borrowService.getOverdueBorrows().size();
+        Long overdueItems = borrowService.getOverdueCount();
 
         //4.组装数据准备返回
         Map<String,Object> data = new HashMap<>();
@@ -135,6 +155,98 @@ public class AdminController {
 
     }
 
+    /**
+     * 管理员查询借阅统计接口
+     * @apiNote 仅管理员可调用，读取由借阅事件投影的统计表，不扫描借阅记录表；统计相对实时数据有数秒延迟
+     * @param limit 教师、期刊排行返回的条数，默认10
+     * @return 统一响应结果：
+     *         成功：{"code":200,"data":{"departments":[{"department":"文学院","totalBorrows":120,"currentBorrows":8,"returnedCount":112,"averageLoanDays":21.5}],"topTeachers":[],"topJournals":[]},"message":"借阅统计查询成功"}
+     * @throws BusinessException 失败场景：
+     *                               1. 系统异常 → code=500，message="系统内部错误"
+     */
+    @GetMapping("/statistics/borrow")
+    public Result<Map<String,Object>> getBorrowStatistics(@RequestParam(defaultValue = "10") Integer limit) {
+        //1.分别读取部门、教师、期刊三个维度的统计
+        Map<String,Object> data = new HashMap<>();
+        data.put("departments",borrowStatService.getDepartmentStats());
+        data.put("topTeachers",borrowStatService.getTopTeachers(limit));
+        data.put("topJournals",borrowStatService.getTopJournals(limit));
+
+        return Result.success(data,"借阅统计查询成功");
+    }
+
+    /**
+     * 管理员重建借阅统计接口
+     * @apiNote 仅管理员可调用，从借阅记录全量重建统计表，用于首次启用统计或数据修复后，建议在业务空闲时执行
+     * @return 统一响应结果：
+     *         成功：{"code":200,"data":null,"message":"借阅统计重建成功"}
+     * @throws BusinessException 失败场景：
+     *                               1. 系统异常 → code=500，message="系统内部错误"
+     */
+    @PostMapping("/statistics/borrow/rebuild")
+    public Result<Void> rebuildBorrowStatistics() {
+        borrowStatService.rebuildStats();
+        return Result.success(null,"借阅统计重建成功");
+    }
+
+    /**
+     * 管理员归档借阅记录接口
+     * @apiNote 仅管理员可调用，立即把归还超过保留天数的记录移入归档表（与定时归档任务相同），分批执行，可重复调用
+     * @return 统一响应结果：
+     *         成功：{"code":200,"data":{"archived":1200},"message":"借阅记录归档完成"}
+     * @throws BusinessException 失败场景：
+     *                               1. 系统异常 → code=500，message="系统内部错误"
+     */
+    @PostMapping("/borrow/archive")
+    public Result<Map<String,Object>> archiveBorrows() {
+        Map<String,Object> data = new HashMap<>();
+        data.put("archived", borrowArchiveTask.archive());
+        return Result.success(data,"借阅记录归档完成");
+    }
+
+    /**
+     * 管理员计数对账接口
+     * @apiNote 仅管理员可调用，立即按借阅记录重新计算教师当前借阅数量和期刊可借数量，修正不一致的行（与定时对账任务相同）
+     * @return 统一响应结果：
+     *         成功：{"code":200,"data":{"teachersChecked":120,"journalsChecked":800,"fixedCount":1,"skippedCount":0,"discrepancies":[{"counter":"teacher.currentBorrow","id":1001,"storedValue":3,"actualValue":2,"fixed":true}]},"message":"计数对账完成"}
+     */
+    @PostMapping("/reconcile/counters")
+    public Result<ReconciliationReportDTO> reconcileCounters() {
+        return Result.success(counterReconciliationTask.reconcile(),"计数对账完成");
+    }
+
+    /**
+     * 管理员查询最近一次计数对账报告接口
+     * @return 统一响应结果：
+     *         成功：{"code":200,"data":{...},"message":"查询成功"}，应用启动后尚未对账时data为null
+     */
+    @GetMapping("/reconcile/counters/last")
+    public Result<ReconciliationReportDTO> getLastReconciliationReport() {
+        return Result.success(counterReconciliationTask.getLastReport(),"查询成功");
+    }
+
+    /**
+     * 管理员查询乐观锁冲突统计接口
+     * @apiNote 仅管理员可调用，按操作返回调用次数、执行次数、冲突次数、重试次数、重试用尽次数及冲突率、重试率（应用启动以来）
+     * @return 统一响应结果：
+     *         成功：{"code":200,"data":{"borrowJournal":{"calls":100,"attempts":103,"conflicts":3,"retries":3,"exhausted":0,"conflictRate":0.029,"retryRate":0.03}},"message":"冲突统计查询成功"}
+     */
+    @GetMapping("/statistics/optimistic-lock")
+    public Result<Map<String,Map<String,Object>>> getOptimisticLockStatistics() {
+        return Result.success(retryExecutor.getStats(),"冲突统计查询成功");
+    }
+
+    /**
+     * 管理员查询期刊缓存统计接口
+     * @apiNote 仅管理员可调用，按缓存返回当前条目数、容量、命中/未命中次数、命中率、容量淘汰、过期和主动失效次数（应用启动以来）
+     * @return 统一响应结果：
+     *         成功：{"code":200,"data":{"byId":{"size":120,"maxSize":10000,"hits":5400,"misses":180,"hitRate":0.968,"evictions":0,"expirations":40,"invalidations":95},"byIssn":{...},"byIssueNumber":{...}},"message":"缓存统计查询成功"}
+     */
+    @GetMapping("/statistics/journal-cache")
+    public Result<Map<String,Map<String,Object>>> getJournalCacheStatistics() {
+        return Result.success(journalCatalogCache.getStats(),"缓存统计查询成功");
+    }
+
     /**
      * 管理员查询超期未还借阅记录接口
      * @apiNote 仅管理员可调用，返回系统中所有超期未还的借阅记录，包含教师姓名、部门、期刊名称、超期天数
@@ -153,8 +265,9 @@ public class AdminController {
         List<Map<String,Object>> overdueBorrowsInfo = new ArrayList<>();
         for(BorrowInfo borrowInfo:overdueBorrows){
             Map<String,Object> borrowInfoMap = new HashMap<>();
-            TeacherInfo  teacherInfo = teacherService.findById(borrowInfo.getBorrower().getId());
-            JournalInfo journalInfo = journalService.getJournal(borrowInfo.getJournal().getId());
+            // 借阅人和期刊已随逾期查询一起join加载，无需逐条再查
+            TeacherInfo teacherInfo = borrowInfo.getBorrower();
+            JournalInfo journalInfo = borrowInfo.getJournal();
             borrowInfoMap.put("teacherId",teacherInfo.getId());
             borrowInfoMap.put("name",teacherInfo.getName());
             borrowInfoMap.put("department",teacherInfo.getDepartment());
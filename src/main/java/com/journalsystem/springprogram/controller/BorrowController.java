@@ -1,11 +1,13 @@
 package com.journalsystem.springprogram.controller;
 
 
-import com.journalsystem.springprogram.common.Constants;
 import com.journalsystem.springprogram.common.PageRequest;
 import com.journalsystem.springprogram.common.PageResult;
 import com.journalsystem.springprogram.common.Result;
 import com.journalsystem.springprogram.dto.BorrowDTO;
+import com.journalsystem.springprogram.dto.BorrowItemResultDTO;
+import com.journalsystem.springprogram.dto.BorrowReturnItemDTO;
+import com.journalsystem.springprogram.dto.JournalBorrowHistoryDTO;
 import com.journalsystem.springprogram.dto.JournalDTO;
 import com.journalsystem.springprogram.dto.TeacherDTO;
 import com.journalsystem.springprogram.exception.BusinessException;
@@ -18,7 +20,9 @@ import com.journalsystem.springprogram.service.BorrowService;
 import com.journalsystem.springprogram.service.JournalService;
 import com.journalsystem.springprogram.service.TeacherService;
 import com.journalsystem.springprogram.util.DateUtil;
+import com.journalsystem.springprogram.util.OptimisticLockRetryExecutor;
 import com.journalsystem.springprogram.util.DtoUtil;
+import com.journalsystem.springprogram.util.IdempotencyStore;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
@@ -38,12 +42,17 @@ public class BorrowController {
     private final BorrowService borrowService;
     private final JournalService journalService;
     private final TeacherService teacherService;
+    private final OptimisticLockRetryExecutor retryExecutor;
+    private final IdempotencyStore idempotencyStore;
 
     @Autowired
-    public BorrowController(BorrowService borrowService, JournalService journalService, TeacherService teacherService) {
+    public BorrowController(BorrowService borrowService, JournalService journalService, TeacherService teacherService,
+                            OptimisticLockRetryExecutor retryExecutor, IdempotencyStore idempotencyStore) {
         this.borrowService = borrowService;
         this.journalService = journalService;
         this.teacherService = teacherService;
+        this.retryExecutor = retryExecutor;
+        this.idempotencyStore = idempotencyStore;
     }
 
     /**
@@ -51,15 +60,36 @@ public class BorrowController {
      *
      * @param status 借阅状态
      * @param limit  分页大小
+     * @param cursor 游标（可选），上一页返回的nextCursor，携带时按游标分页
+     * @param seek 是否使用游标分页（可选），首页没有游标时传true
+     * @param countTotal 游标分页时是否统计总数（可选），为false时total为null
      * @return 统一响应结果：
      * 成功：
-     * {code:200,msg:"获取借阅记录成功",data:{records:[],total:}}
+     * {code:200,msg:"获取借阅记录成功",data:{records:[],total:,nextCursor:}}
      */
     @GetMapping("/admin/list")
-    public Result<Map<String, Object>> borrowListByStatus(@RequestParam String status, @RequestParam(required = false) Integer limit) {
+    public Result<Map<String, Object>> borrowListByStatus(@RequestParam String status, @RequestParam(required = false) Integer limit,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @RequestParam(defaultValue = "false") Boolean seek,
+                                                          @RequestParam(defaultValue = "true") Boolean countTotal) {
         Map<String, Object> data = new HashMap<>();
+        // 游标分页：limit作为每页大小，深分页与首页开销相同
+        if (seek || cursor != null) {
+            PageRequest pageRequest = new PageRequest();
+            pageRequest.setPageSize(limit);
+            pageRequest.setSeek(true);
+            pageRequest.setCursor(cursor);
+            pageRequest.setCountTotal(countTotal);
+            List<String> statuses = status.isEmpty() ? null : Arrays.asList(status.split(","));
+            PageResult<BorrowInfo> borrowsPage = borrowService.getBorrowsByStatusAndPage(statuses, pageRequest);
+            data.put("records", borrowsPage.getData());
+            data.put("total", borrowsPage.getTotal());
+            data.put("nextCursor", borrowsPage.getNextCursor());
+            return Result.success(data, "获取借阅记录成功");
+        }
+        // 一条带LIMIT的查询取记录，一条（可缓存的）count查询取总数
         data.put("records", borrowService.getBorrowsByStatus(status, limit));
-        data.put("total", borrowService.getBorrowsByStatus(status, limit).size());
+        data.put("total", borrowService.countBorrowsByStatus(status));
         return Result.success(data, "获取借阅记录成功");
     }
 
@@ -68,6 +98,9 @@ public class BorrowController {
      *
      * @param teacherId 教师id
      * @param status    借阅状态
+     * @param cursor    游标（可选），上一页返回的nextCursor，携带时按游标分页
+     * @param seek      是否使用游标分页（可选），首页没有游标时传true
+     * @param countTotal 游标分页时是否统计总数（可选）
      * @return 统一响应结果：
      * 成功：
      * {code:200,msg:"获取借阅记录成功",data:[]}
@@ -79,7 +112,10 @@ public class BorrowController {
             @RequestParam Integer teacherId, 
             @RequestParam(required = false) String status,
             @RequestParam(name = "pageNum", defaultValue = "1") Integer pageNum,
-            @RequestParam(name = "pageSize", defaultValue = "10") Integer pageSize) {
+            @RequestParam(name = "pageSize", defaultValue = "10") Integer pageSize,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") Boolean seek,
+            @RequestParam(defaultValue = "true") Boolean countTotal) {
         // 前端传参status: 'borrowed,overdue'（逗号分隔）
         if (status == null) {
             status = "borrowed,overdue"; // 默认包含两种状态
@@ -97,38 +133,29 @@ public class BorrowController {
         pageRequest.setPageSize(pageSize);
         pageRequest.setSortField("endDate"); // 默认按结束日期排序
         pageRequest.setSortOrder("desc"); // 默认降序
+        pageRequest.setSeek(seek);
+        pageRequest.setCursor(cursor);
+        pageRequest.setCountTotal(countTotal);
     
-        // 3. 根据教师id和分页参数查询借阅记录
-        PageResult<BorrowInfo> borrowsPage = borrowService.getBorrowsByTeacherIdAndPage(teacherId, pageRequest);
-    
-        // 4. 将status按逗号分割成状态列表
+        // 3. 将status按逗号分割成状态列表
         List<String> statusList = Arrays.asList(status.split(","));
     
-        // 5. 根据借阅状态列表筛选记录并转换为BorrowDTO
-        List<BorrowDTO> filteredList = borrowsPage.getData().stream()
-                .filter(borrow -> statusList.contains(borrow.getStatus()))
-                .map(borrow -> {
-                    BorrowDTO dto = new BorrowDTO();
-                    dto.setId(borrow.getId()); // borrowId
-                    dto.setBorrowerId(borrow.getBorrower().getId());
-                    dto.setBorrowerName(borrow.getBorrower().getName());
-                    dto.setBorrowerPhone(borrow.getBorrower().getPhone()); // 设置电话号码
-                    dto.setJournalId(borrow.getJournal().getId());
-                    dto.setJournalName(borrow.getJournal().getName());
-                    dto.setStartDate(borrow.getStartDate());
-                    dto.setEndDate(borrow.getEndDate());
-                    dto.setStatus(borrow.getStatus());
-                    if ("overdue".equals(borrow.getStatus())) {
-                        dto.setDaysOverdue((int) DateUtil.calculateOverdueDays(borrow.getEndDate())); // 设置超期天数
-                    }
-                    return dto;
-                })
-                .collect(Collectors.toList());
+        // 4. 根据教师id、状态列表和分页参数查询借阅记录，状态过滤和DTO投影均在数据库中完成
+        PageResult<BorrowDTO> borrowsPage = borrowService.getBorrowDTOsByTeacherIdAndStatus(teacherId, statusList, pageRequest);
+    
+        // 5. 设置超期天数
+        List<BorrowDTO> filteredList = borrowsPage.getData();
+        for (BorrowDTO dto : filteredList) {
+            if ("overdue".equals(dto.getStatus())) {
+                dto.setDaysOverdue((int) DateUtil.calculateOverdueDays(dto.getEndDate())); // 设置超期天数
+            }
+        }
     
         // 6. 创建符合前端期望的响应结构
         Map<String, Object> responseData = new HashMap<>();
         responseData.put("total", borrowsPage.getTotal());
         responseData.put("data", filteredList);
+        responseData.put("nextCursor", borrowsPage.getNextCursor());
     
         // 7. 返回筛选后的记录
         return Result.success(responseData, "查询成功");
@@ -179,40 +206,147 @@ public class BorrowController {
         return Result.success(borrowDTOList, "查询成功");
     }
 
+    /**
+     * 管理员分页查询期刊借阅历史接口
+     *
+     * @param journalId 期刊ID
+     * @param pageNum   页码，默认值为1
+     * @param pageSize  每页记录数，默认值为10
+     * @param sortOrder 按借阅日期排序方向（asc/desc），默认desc
+     * @param full      是否包含已归档的借阅记录，默认false只查询近期记录
+     * @return 统一响应结果：
+     * 成功：
+     * {code:200,msg:"查询成功",data:{journalId:,totalBorrows:,currentlyOut:,averageLoanDays:,pageNum:,pageSize:,totalPages:,records:[]}}
+     * 失败：
+     * {code:400,msg:"期刊不存在"}
+     */
+    @GetMapping("/admin/journal/{journalId}/history")
+    public Result<JournalBorrowHistoryDTO> getJournalBorrowHistory(
+            @PathVariable Integer journalId,
+            @RequestParam(name = "pageNum", defaultValue = "1") Integer pageNum,
+            @RequestParam(name = "pageSize", defaultValue = "10") Integer pageSize,
+            @RequestParam(name = "sortOrder", defaultValue = "desc") String sortOrder,
+            @RequestParam(defaultValue = "false") Boolean full) {
+        // 1. 创建 PageRequest 对象
+        PageRequest pageRequest = new PageRequest();
+        pageRequest.setPageNum(pageNum);
+        pageRequest.setPageSize(pageSize);
+        pageRequest.setSortOrder(sortOrder);
+
+        // 2. 查询一页借阅记录和借阅汇总
+        return Result.success(borrowService.getJournalBorrowHistory(journalId, pageRequest, full), "查询成功");
+    }
+
+    /**
+     * 教师分页查询借阅历史接口（含已归还记录，按借阅日期降序）
+     *
+     * @param teacherId 教师ID
+     * @param pageNum   页码，默认值为1
+     * @param pageSize  每页记录数，默认值为10
+     * @param full      是否包含已归档的借阅记录，默认false只查询近期记录
+     * @return 统一响应结果：
+     * 成功：
+     * {code:200,msg:"查询成功",data:{pageNum:1,pageSize:10,total:25,totalPages:3,data:[]}}
+     * 失败：
+     * {code:400,msg:"教师不存在"}
+     */
+    @GetMapping("/teacher/history")
+    public Result<PageResult<BorrowDTO>> getTeacherBorrowHistory(
+            @RequestParam Integer teacherId,
+            @RequestParam(name = "pageNum", defaultValue = "1") Integer pageNum,
+            @RequestParam(name = "pageSize", defaultValue = "10") Integer pageSize,
+            @RequestParam(defaultValue = "false") Boolean full) {
+        // 1. 创建 PageRequest 对象
+        PageRequest pageRequest = new PageRequest();
+        pageRequest.setPageNum(pageNum);
+        pageRequest.setPageSize(pageSize);
+
+        // 2. 查询一页借阅历史
+        return Result.success(borrowService.getTeacherBorrowHistory(teacherId, pageRequest, full), "查询成功");
+    }
+
     /**
      * 教师借阅期刊接口
      *
      * @param borrowCreateRequest 包含borrowerId、journalId、borrowDays的请求体
+     * @param idempotencyKey 可选的幂等键请求头，超时重试时携带同一个键，重复请求直接返回首次结果；同一个键携带不同参数时返回422
      * @return 统一响应结果：
      * 成功：
-     * {code:200,msg:"借阅成功"}
+     * {code:200,msg:"借阅成功",data:10000123}（data为服务端分配的借阅ID）
      * 失败：
      * {code:400,msg:"期刊已可用数量"}
      */
     @PostMapping("/teacher/create")
-    public Result<String> teacherBorrow(@RequestBody Map<String, Object> borrowCreateRequest) {
+    public Result<Integer> teacherBorrow(@RequestBody Map<String, Object> borrowCreateRequest,
+                                        @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
 
         //1.提取borrowCreateRequest中的borrowerId、journalId、borrowDays
         Integer borrowerId = Integer.parseInt(borrowCreateRequest.get("teacherId").toString());
         Integer journalId = Integer.parseInt(borrowCreateRequest.get("journalId").toString());
         Integer borrowDays = Integer.parseInt(borrowCreateRequest.get("borrowDays").toString());
 
-        //2.计算borrowId,endDate
+        //2.计算endDate，借阅ID由服务端分配
         LocalDate endDate = LocalDate.now().plusDays(borrowDays);
-        Integer borrowId= borrowerId*Constants.BASE_NUM+journalId;
 
-        //3.调用方法创建借阅记录
-        borrowService.borrowJournal(borrowId,borrowerId,journalId,endDate);
+        //3.调用方法创建借阅记录，同一教师同一幂等键的重复请求不再借阅，返回首次分配的借阅ID
+        Integer borrowId = idempotencyStore.execute("borrowJournal", borrowerId, idempotencyKey,
+                List.of(journalId, borrowDays),
+                () -> retryExecutor.execute("borrowJournal", () -> borrowService.borrowJournal(borrowerId,journalId,endDate)));
 
         //4.返回成功结果
-        return Result.success(null,"借阅成功");
+        return Result.success(borrowId,"借阅成功");
+
+    }
+
+    /**
+     * 教师批量借阅期刊接口
+     *
+     * @param batchCreateRequest 包含teacherId、journalIds（期刊ID列表）、borrowDays的请求体
+     * @param idempotencyKey 可选的幂等键请求头，重复请求直接返回首次的处理结果；同一个键携带不同参数时返回422
+     * @return 统一响应结果：
+     * 成功：
+     * {code:200,msg:"批量借阅完成",data:{success:2,failed:1,results:[{borrowId:10010001,journalId:1,success:true},{borrowId:10010002,journalId:2,success:false,reason:"期刊已无可用数量"}]}}
+     * 失败：
+     * {code:400,msg:"借阅数量超过教师剩余可借额度"}
+     */
+    @PostMapping("/teacher/batch-create")
+    public Result<Map<String, Object>> teacherBatchBorrow(@RequestBody Map<String, Object> batchCreateRequest,
+                                                          @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        //1.提取请求中的teacherId、journalIds、borrowDays
+        Integer borrowerId;
+        Integer borrowDays;
+        List<Integer> journalIds = new ArrayList<>();
+        try {
+            borrowerId = Integer.parseInt(batchCreateRequest.get("teacherId").toString());
+            borrowDays = Integer.parseInt(batchCreateRequest.get("borrowDays").toString());
+            for (Object journalId : (List<?>) batchCreateRequest.get("journalIds")) {
+                journalIds.add(Integer.parseInt(journalId.toString()));
+            }
+        } catch (NullPointerException | ClassCastException | NumberFormatException e) {
+            throw new BusinessException(400, "请求参数格式错误");
+        }
+
+        //2.计算endDate，整批在一个事务中借阅
+        LocalDate endDate = LocalDate.now().plusDays(borrowDays);
+        List<BorrowItemResultDTO> results = idempotencyStore.execute("batchBorrowJournals", borrowerId, idempotencyKey,
+                List.of(journalIds, borrowDays),
+                () -> retryExecutor.execute("batchBorrowJournals",
+                        () -> borrowService.batchBorrowJournals(borrowerId, journalIds, endDate)));
 
+        //3.组装响应数据
+        long successCount = results.stream().filter(BorrowItemResultDTO::getSuccess).count();
+        Map<String, Object> responseData = new HashMap<>();
+        responseData.put("success", successCount);
+        responseData.put("failed", results.size() - successCount);
+        responseData.put("results", results);
+        return Result.success(responseData, "批量借阅完成");
     }
 
     /**
      * 教师归还期刊接口
      *
      * @param borrowReturnRequest 包含borrowId的请求体
+     * @param idempotencyKey 可选的幂等键请求头，重复请求直接返回首次结果；同一个键携带不同参数时返回422
      * @return 统一响应结果：
      * 成功：
      * {code:200,msg:"归还办理成功"}
@@ -220,7 +354,8 @@ public class BorrowController {
      * {code:400,msg:"借阅记录不存在"}
      */
     @PutMapping("/teacher/return")
-    public Result<String> teacherReturn(@RequestBody Map<String, Object> borrowReturnRequest) {
+    public Result<String> teacherReturn(@RequestBody Map<String, Object> borrowReturnRequest,
+                                        @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         //1.提取borrowReturnRequest中的borrowId
         Integer borrowId=null;
         try {
@@ -230,12 +365,84 @@ public class BorrowController {
         }
 
         //2.调用方法返回期刊
-        borrowService.returnJournal(borrowId);
+        Integer returnBorrowId = borrowId;
+        idempotencyStore.execute("returnJournal", null, idempotencyKey, returnBorrowId,
+                () -> retryExecutor.execute("returnJournal", () -> borrowService.returnJournal(returnBorrowId)));
 
         //3.返回成功结果
         return Result.success(null,"归还办理成功");
     }
 
+    /**
+     * 教师一键续借接口：续借该教师全部借出中的期刊
+     *
+     * @param renewRequest 包含teacherId、可选days（续借天数，默认及上限为续借策略天数）的请求体
+     * @return 统一响应结果：
+     * 成功：
+     * {code:200,msg:"续借完成",data:{success:1,failed:1,results:[{borrowId:10010001,journalId:1,success:true,endDate:"2026-11-30"},{borrowId:10010002,journalId:2,success:false,reason:"该期刊有人预约，无法续借"}]}}
+     * 失败：
+     * {code:400,msg:"当前没有可续借的期刊"}
+     */
+    @PutMapping("/teacher/renew-all")
+    public Result<Map<String, Object>> teacherRenewAll(@RequestBody Map<String, Object> renewRequest) {
+        //1.提取teacherId和days
+        Integer teacherId;
+        Integer days = null;
+        try {
+            teacherId = Integer.parseInt(renewRequest.get("teacherId").toString());
+            if (renewRequest.get("days") != null) {
+                days = Integer.parseInt(renewRequest.get("days").toString());
+            }
+        } catch (NullPointerException | NumberFormatException e) {
+            throw new BusinessException(400, "teacherId或days格式错误");
+        }
+
+        //2.一条UPDATE续借全部符合条件的记录，与并发归还冲突时整批重试
+        Integer renewDays = days;
+        List<BorrowItemResultDTO> results = retryExecutor.execute("renewAllByTeacherId",
+                () -> borrowService.renewAllByTeacherId(teacherId, renewDays));
+
+        //3.组装响应数据
+        long successCount = results.stream().filter(BorrowItemResultDTO::getSuccess).count();
+        Map<String, Object> responseData = new HashMap<>();
+        responseData.put("success", successCount);
+        responseData.put("failed", results.size() - successCount);
+        responseData.put("results", results);
+        return Result.success(responseData, "续借完成");
+    }
+
+    /**
+     * 管理员批量归还期刊接口（还书台/扫码枪）
+     *
+     * @param items 归还条目列表，每项为{borrowId}或{issn,teacherId}
+     * @param idempotencyKey 可选的幂等键请求头，重复请求直接返回首次的处理结果；同一个键携带不同参数时返回422
+     * @return 统一响应结果：
+     * 成功：
+     * {code:200,msg:"批量归还完成",data:{success:2,failed:1,results:[{borrowId:10010001,journalId:1,success:true},{borrowId:10010002,success:false,reason:"借阅记录不存在"}]}}
+     * 失败：
+     * {code:400,msg:"请选择要归还的借阅记录"}
+     */
+    @PutMapping("/admin/batch-return")
+    public Result<Map<String, Object>> batchReturn(@RequestBody List<BorrowReturnItemDTO> items,
+                                                   @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        //1.整批在一个事务中归还，与并发归还冲突时整批重试；同一幂等键的重复请求返回首次结果，
+        //  请求指纹为各条目的(borrowId, issn, teacherId)，同一个键换了归还条目时返回422
+        List<List<Object>> fingerprint = new ArrayList<>();
+        for (BorrowReturnItemDTO item : items) {
+            fingerprint.add(Arrays.asList(item.getBorrowId(), item.getIssn(), item.getTeacherId()));
+        }
+        List<BorrowItemResultDTO> results = idempotencyStore.execute("batchReturnJournals", null, idempotencyKey, fingerprint,
+                () -> retryExecutor.execute("batchReturnJournals", () -> borrowService.batchReturnJournals(items)));
+
+        //2.组装响应数据
+        long successCount = results.stream().filter(BorrowItemResultDTO::getSuccess).count();
+        Map<String, Object> responseData = new HashMap<>();
+        responseData.put("success", successCount);
+        responseData.put("failed", results.size() - successCount);
+        responseData.put("results", results);
+        return Result.success(responseData, "批量归还完成");
+    }
+
     /**
      * 教师查询借阅状态接口
      *
@@ -0,0 +1,111 @@
+package com.journalsystem.springprogram.controller;
+
+import com.journalsystem.springprogram.common.Result;
+import com.journalsystem.springprogram.dto.HoldDTO;
+import com.journalsystem.springprogram.exception.BusinessException;
+import com.journalsystem.springprogram.service.HoldService;
+import com.journalsystem.springprogram.util.OptimisticLockRetryExecutor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 预约相关接口
+ * 期刊无可用数量时教师预约排队，归还时系统按先后顺序自动分配，分配后教师在保留期限内借阅即可
+ */
+@RestController
+@RequestMapping("/api/hold")
+public class HoldController {
+    private final HoldService holdService;
+    private final OptimisticLockRetryExecutor retryExecutor;
+
+    @Autowired
+    public HoldController(HoldService holdService, OptimisticLockRetryExecutor retryExecutor) {
+        this.holdService = holdService;
+        this.retryExecutor = retryExecutor;
+    }
+
+    /**
+     * 教师预约期刊接口
+     *
+     * @param holdCreateRequest 包含teacherId、journalId的请求体
+     * @return 统一响应结果：
+     * 成功：
+     * {code:200,msg:"预约成功",data:{holdId:1,journalId:1,journalName:"数学期刊",status:"waiting",queuePosition:2}}
+     * 失败：
+     * {code:400,msg:"期刊有可用数量，请直接借阅"}
+     */
+    @PostMapping("/teacher/create")
+    public Result<HoldDTO> createHold(@RequestBody Map<String, Object> holdCreateRequest) {
+        //1.提取请求中的teacherId、journalId
+        Integer teacherId;
+        Integer journalId;
+        try {
+            teacherId = Integer.parseInt(holdCreateRequest.get("teacherId").toString());
+            journalId = Integer.parseInt(holdCreateRequest.get("journalId").toString());
+        } catch (NullPointerException | NumberFormatException e) {
+            throw new BusinessException(400, "请求参数格式错误");
+        }
+
+        //2.加入预约队列，返回排队位置
+        return Result.success(holdService.placeHold(teacherId, journalId), "预约成功");
+    }
+
+    /**
+     * 取消预约接口
+     *
+     * @param holdCancelRequest 包含holdId的请求体，教师取消时需同时传teacherId
+     * @return 统一响应结果：
+     * 成功：
+     * {code:200,msg:"取消预约成功"}
+     * 失败：
+     * {code:400,msg:"预约已结束，无法取消"}
+     */
+    @PutMapping("/cancel")
+    public Result<String> cancelHold(@RequestBody Map<String, Object> holdCancelRequest) {
+        //1.提取请求中的holdId、teacherId
+        Long holdId;
+        Integer teacherId;
+        try {
+            holdId = Long.parseLong(holdCancelRequest.get("holdId").toString());
+            Object teacherIdValue = holdCancelRequest.get("teacherId");
+            teacherId = teacherIdValue == null ? null : Integer.parseInt(teacherIdValue.toString());
+        } catch (NullPointerException | NumberFormatException e) {
+            throw new BusinessException(400, "请求参数格式错误");
+        }
+
+        //2.取消预约，已分配的副本会转给下一位
+        retryExecutor.execute("cancelHold", () -> holdService.cancelHold(holdId, teacherId));
+        return Result.success(null, "取消预约成功");
+    }
+
+    /**
+     * 教师查询自己的预约接口
+     *
+     * @param teacherId 教师ID
+     * @return 统一响应结果：
+     * 成功：
+     * {code:200,msg:"查询成功",data:[{holdId:1,journalId:1,journalName:"数学期刊",status:"waiting",queuePosition:0},{holdId:2,journalId:2,status:"ready",expireAt:"..."}]}
+     */
+    @GetMapping("/teacher/list")
+    public Result<List<HoldDTO>> teacherHolds(@RequestParam Integer teacherId) {
+        return Result.success(holdService.getHoldsByTeacherId(teacherId), "查询成功");
+    }
+
+    /**
+     * 管理员查询期刊预约队列接口
+     *
+     * @param journalId 期刊ID
+     * @return 统一响应结果：
+     * 成功：
+     * {code:200,msg:"查询成功",data:[{holdId:1,teacherId:1001,status:"ready",expireAt:"..."},{holdId:3,teacherId:1002,status:"waiting",queuePosition:0}]}
+     * 失败：
+     * {code:400,msg:"期刊不存在"}
+     */
+    @GetMapping("/admin/journal/{journalId}")
+    public Result<List<HoldDTO>> journalQueue(@PathVariable Integer journalId) {
+        return Result.success(holdService.getQueueByJournalId(journalId), "查询成功");
+    }
+}
@@ -4,7 +4,11 @@ package com.journalsystem.springprogram.controller;
 import com.journalsystem.springprogram.common.PageRequest;
 import com.journalsystem.springprogram.common.PageResult;
 import com.journalsystem.springprogram.common.Result;
+import com.journalsystem.springprogram.dto.JournalAvailabilityDTO;
 import com.journalsystem.springprogram.dto.JournalDTO;
+import com.journalsystem.springprogram.dto.JournalNameMatchDTO;
+import com.journalsystem.springprogram.dto.JournalSearchPageDTO;
+import com.journalsystem.springprogram.dto.JournalSuggestionDTO;
 import com.journalsystem.springprogram.pojo.JournalInfo;
 import com.journalsystem.springprogram.service.JournalService;
 import com.journalsystem.springprogram.util.DtoUtil;
@@ -13,6 +17,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * 期刊相关接口
@@ -34,6 +39,9 @@ public class JournalController {
      * @param page 当前页码（默认第1页）
      * @param pageSize 每页显示数量（默认10条）
      * @param issn ISSN搜索字符串（可选）
+     * @param cursor 游标（可选），上一页返回的nextCursor，携带时按游标分页
+     * @param seek 是否使用游标分页（可选），首页没有游标时传true
+     * @param countTotal 游标分页时是否统计总数（可选）
      * @return 分页结果（包含期刊列表和分页信息）
      *        成功：{
      *            "code": 200,
@@ -62,7 +70,11 @@ public class JournalController {
                                                       @RequestParam(required = true, defaultValue = "1") Integer page,
                                                       @RequestParam(required = true, defaultValue = "10") Integer pageSize,
                                                         // 可选参数：ISSN搜索
-                                                            @RequestParam(required = false) String issn
+                                                            @RequestParam(required = false) String issn,
+                                                        // 可选参数：游标分页
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(defaultValue = "false") Boolean seek,
+                                                            @RequestParam(defaultValue = "true") Boolean countTotal
     ) {
         try {
             // 1. 封装分页请求对象（排序字段/方向默认空，用Service默认排序）
@@ -71,6 +83,9 @@ public class JournalController {
             pageRequest.setPageSize(pageSize);
             pageRequest.setSortField(null);
             pageRequest.setSortOrder(null);
+            pageRequest.setSeek(seek);
+            pageRequest.setCursor(cursor);
+            pageRequest.setCountTotal(countTotal);
 
             // 2. 调用Service查询（传入分页参数+ISSN参数）
             PageResult<JournalInfo> pageResult = journalService.getJournalsByPage(pageRequest, issn);
@@ -126,7 +141,7 @@ public class JournalController {
      *        成功：{
      *            "code": 200,
      *            "msg": "添加期刊成功",
-     *            "data": null
+     *            "data": 1001（期刊ID，请求未指定ID时由服务端分配）
      *        }
      *        失败：{
      *            "code": 500,
@@ -134,10 +149,10 @@ public class JournalController {
      *        }
      */
     @PostMapping("/admin/add")
-    public Result<String>  addJournal(@RequestBody JournalDTO journalDTO) {
+    public Result<Integer>  addJournal(@RequestBody JournalDTO journalDTO) {
         try {
             journalService.addJournal(journalDTO);
-            return Result.success(null,"添加期刊成功");
+            return Result.success(journalDTO.getId(),"添加期刊成功");
         } catch (Exception e) {
             return Result.fail(500, "添加期刊失败：" + e.getMessage() );
         }
@@ -192,15 +207,94 @@ public class JournalController {
     }
 
 
+    /**
+     * 期刊输入提示（搜索框每次输入时调用）
+     * 按名称、名称中的单词、拼音首字母或ISSN前缀匹配，按借阅热度排序；直接读取内存字典树，不访问数据库
+     * @param q 已输入的前缀
+     * @param limit 最多返回条数（默认10）
+     * @return 提示列表
+     *        成功：{
+     *            "code": 200,
+     *            "msg": "查询输入提示成功",
+     *            "data": [
+     *                {"id": 12, "name": "计算机学报", "issn": "0254-4164", "popularity": 356},
+     *                {"id": 30, "name": "计算机研究与发展", "issn": "1000-1239", "popularity": 120}
+     *            ]
+     *        }
+     */
+    @GetMapping("/suggest")
+    public Result<List<JournalSuggestionDTO>> suggestJournals(@RequestParam(required = false) String q,
+                                                             @RequestParam(required = false) Integer limit) {
+        return Result.success(journalService.suggestJournals(q, limit), "查询输入提示成功");
+    }
+
+    /**
+     * 按多个名称批量搜索期刊（分页）
+     * 名称包含任一输入名称的期刊都会返回，同一期刊只出现一次，matchedTerms列出它命中的名称
+     * @param names 名称列表（逗号分隔，最多100个）
+     * @param page 当前页码（从1开始）
+     * @param pageSize 每页条数
+     * @return 分页结果，按期刊ID降序
+     *        成功：{
+     *            "code": 200,
+     *            "msg": "查询期刊列表成功",
+     *            "data": {
+     *                "total": 2,
+     *                "data": [
+     *                    {"id": 12, "name": "计算机学报", "status": "available", "matchedTerms": ["计算机", "学报"]},
+     *                    {"id": 7, "name": "软件学报", "status": "available", "matchedTerms": ["学报"]}
+     *                ]
+     *            }
+     *        }
+     */
+    @GetMapping("/journals/by-names")
+    public Result<PageResult<JournalNameMatchDTO>> searchJournalsByNames(
+            @RequestParam Set<String> names,
+            @RequestParam(required = true, defaultValue = "1") Integer page,
+            @RequestParam(required = true, defaultValue = "10") Integer pageSize) {
+        PageRequest pageRequest = new PageRequest();
+        pageRequest.setPageNum(page);
+        pageRequest.setPageSize(pageSize);
+        // 参数校验失败抛出BusinessException，由全局异常处理返回400
+        return Result.success(journalService.searchJournalsByNames(names, pageRequest), "查询期刊列表成功");
+    }
+
+    /**
+     * 批量查询期刊可借预测
+     * @param ids 期刊ID列表（逗号分隔，最多100个）
+     * @return 按期刊ID升序的可借预测
+     *        成功：{
+     *            "code": 200,
+     *            "msg": "查询期刊可借预测成功",
+     *            "data": [
+     *                {"journalId": 1, "journalName": "期刊A", "status": "available", "availableQuantity": 2, "borrowedCount": 3},
+     *                {"journalId": 2, "journalName": "期刊B", "status": "unavailable", "availableQuantity": 0, "borrowedCount": 5,
+     *                 "earliestReturnDate": "2026-11-02", "queuePosition": 1}
+     *            ]
+     *        }
+     *        失败：{
+     *            "code": 400,
+     *            "msg": "一次最多查询100个期刊"
+     *        }
+     */
+    @GetMapping("/availability")
+    public Result<List<JournalAvailabilityDTO>> getAvailabilityForecast(@RequestParam List<Integer> ids) {
+        // 参数校验失败抛出BusinessException，由全局异常处理返回400
+        return Result.success(journalService.getAvailabilityForecast(ids), "查询期刊可借预测成功");
+    }
+
+
     /**
      * 多条件搜索期刊（分页）
      * @param keyword 期刊名称模糊查询
      * @param category 期刊类别精确匹配
      * @param issn ISSN号精确匹配
      * @param status 状态枚举精确匹配
+     * @param publisher 出版社精确匹配
+     * @param facets 是否同时返回分类、状态、出版社的分面统计（每个分面应用除自身以外的条件）
      * @param page 当前页码（从1开始）
      * @param pageSize 每页条数（固定10）
-     * @return 分页结果（包含期刊列表和分页信息）
+     * @return 分页结果（包含期刊列表和分页信息，facets=true时附带分面统计）
      */
     @GetMapping("/journals/multi-search")
     public Result<PageResult<JournalDTO>> getAllJournalsByMultiSearch(
@@ -208,6 +302,8 @@ public class JournalController {
             @RequestParam(required = false) String category,
             @RequestParam(required = false) String issn,
             @RequestParam(required = false) String status,
+            @RequestParam(required = false) String publisher,
+            @RequestParam(required = false, defaultValue = "false") Boolean facets,
             @RequestParam(required = true, defaultValue = "1") Integer page,
             @RequestParam(required = true, defaultValue = "10") Integer pageSize) {
         try {
@@ -224,18 +320,23 @@ public class JournalController {
 
     
             // 2. 调用Service查询
-            PageResult<JournalInfo> pageResult = journalService.getJournalsByPage(pageRequest, keyword, category, issn, status);
+            PageResult<JournalInfo> pageResult = journalService.getJournalsByPage(pageRequest, keyword, category, issn, status, publisher);
     
             // 3. 将JournalInfo转换为JournalDTO
             List<JournalDTO> journalDTOs = DtoUtil.convertList(pageResult.getData(), JournalDTO.class);
     
             // 4. 构建返回的分页结果
-            PageResult<JournalDTO> result = new PageResult<>();
+            JournalSearchPageDTO result = new JournalSearchPageDTO();
             result.setData(journalDTOs);
             result.setTotal(pageResult.getTotal());
             result.setPageNum(page);
             result.setPageSize(pageSize);
             result.setTotalPages((int) Math.ceil((double) pageResult.getTotal() / pageSize));
+
+            // 5. 按需附带分面统计
+            if (Boolean.TRUE.equals(facets)) {
+                result.setFacets(journalService.getJournalFacets(keyword, category, issn, status, publisher));
+            }
     
             return Result.success(result, "查询期刊列表成功");
     
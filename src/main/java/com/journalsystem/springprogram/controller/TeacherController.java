@@ -91,28 +91,18 @@ public class TeacherController {
         Integer maxBorrow=teacherInfo.getMaxBorrow();
         Integer remainingBorrow=maxBorrow-currentBorrow;
 
-        //4.获取该教师的借阅信息list
-        List<BorrowInfo> borrowInfoList=borrowService.getBorrowsByTeacherId(teacherId);
-
-        //5.计算快到期数量(一天)，已经到期数量
-        Integer soonExpireCount=0;
-        Integer expiredCount=0;
-        for(BorrowInfo borrowInfo:borrowInfoList){
-            if(borrowInfo.getStatus().equals(Constants.BORROW_STATUS_OVERDUE)||DateUtil.isOverdue(borrowInfo.getEndDate())){
-                expiredCount++;
-            }else if(DateUtil.isSoonExpire(borrowInfo.getEndDate())){
-                //快到期数量(一天或者当天)
-                soonExpireCount++;
-            }
-        }
-        //6.将统计信息转换为Map
+        //4.计算快到期数量(一天或者当天)，已经到期数量，直接在数据库中count，不加载借阅记录
+        Integer expiredCount=borrowService.getOverdueCountByTeacherId(teacherId);
+        Integer soonExpireCount=borrowService.getUpcomingDueCountByTeacherId(teacherId);
+
+        //5.将统计信息转换为Map
         Map<String,String> data=new HashMap<>();
         data.put("currentBorrowCount",currentBorrow.toString());
         data.put("renewableCount",remainingBorrow.toString());
         data.put("upcomingExpireCount",soonExpireCount.toString());
         data.put("overdueCount",expiredCount.toString());
         data.put("maxBorrowCount",maxBorrow.toString());
-        //7.返回统计信息Map
+        //6.返回统计信息Map
         return Result.success(data,"获取借阅统计数据成功");
     }
 
@@ -175,6 +165,9 @@ public class TeacherController {
      * 获取所有教师接口
      * @param pageNum 页码
      * @param pageSize 每页大小
+     * @param cursor 游标（可选），上一页返回的nextCursor，携带时按游标分页
+     * @param seek 是否使用游标分页（可选），首页没有游标时传true
+     * @param countTotal 游标分页时是否统计总数（可选）
      * @return 统一响应结果：
      *       成功：
      *       {code:200,msg:"获取所有教师成功",data:{teacherList}}
@@ -184,11 +177,17 @@ public class TeacherController {
     @GetMapping("/admin/list")
     public Result<PageResult<TeacherDTO>> getAllTeacher(
             @RequestParam(defaultValue = "1") Integer pageNum,
-            @RequestParam(defaultValue = "10") Integer pageSize) {
+            @RequestParam(defaultValue = "10") Integer pageSize,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") Boolean seek,
+            @RequestParam(defaultValue = "true") Boolean countTotal) {
         // 1. 构造分页请求
         PageRequest pageRequest = new PageRequest();
         pageRequest.setPageNum(pageNum);
         pageRequest.setPageSize(pageSize);
+        pageRequest.setSeek(seek);
+        pageRequest.setCursor(cursor);
+        pageRequest.setCountTotal(countTotal);
 
         // 2. 分页查询教师信息
         PageResult<TeacherInfo> pageResult = teacherService.getTeachersByPage(pageRequest);
@@ -196,13 +195,8 @@ public class TeacherController {
         // 3. 转换为DTO
         List<TeacherDTO> teacherDTOList = DtoUtil.convertList(pageResult.getData(), TeacherDTO.class);
 
-        // 4. 构造分页结果返回
-        PageResult<TeacherDTO> resultPage = PageResult.build(
-                pageResult.getPageNum(),
-                pageResult.getPageSize(),
-                pageResult.getTotal(),
-                teacherDTOList
-        );
+        // 4. 构造分页结果返回（保留分页信息和游标）
+        PageResult<TeacherDTO> resultPage = pageResult.withData(teacherDTOList);
         return Result.success(resultPage, "获取所有教师成功");
     }
     /**
@@ -47,6 +47,14 @@ public class BorrowDTO {
         this.status = status;
     }
 
+    // JPQL构造器投影使用（SELECT new ...BorrowDTO(...)），只查询DTO需要的列
+    public BorrowDTO(Integer id, Integer journalId, String journalName, Integer borrowerId,
+                   String borrowerName, String borrowerDepartment, String borrowerPhone, LocalDate startDate,
+                   LocalDate endDate, LocalDate returnDate, String status) {
+        this(id, journalId, journalName, borrowerId, borrowerName, borrowerDepartment, borrowerPhone,
+                startDate, endDate, returnDate, null, status);
+    }
+
     // Getters and Setters
     public Integer getId() {
         return id;
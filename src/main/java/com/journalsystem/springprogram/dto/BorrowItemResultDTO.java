@@ -0,0 +1,90 @@
+package com.journalsystem.springprogram.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDate;
+
+/**
+ * 批量借阅/归还等批量操作中单项的处理结果
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL) // 序列化时忽略值为null的字段
+public class BorrowItemResultDTO {
+    private Integer borrowId;
+    private Integer journalId;
+    private Boolean success;
+    private String reason; // 失败原因，成功时为null
+    private LocalDate endDate; // 续借成功后的应还日期，其余操作为null
+
+    public BorrowItemResultDTO() {
+    }
+
+    public BorrowItemResultDTO(Integer borrowId, Integer journalId, Boolean success, String reason) {
+        this.borrowId = borrowId;
+        this.journalId = journalId;
+        this.success = success;
+        this.reason = reason;
+    }
+
+    /**
+     * 构建成功结果
+     */
+    public static BorrowItemResultDTO success(Integer borrowId, Integer journalId) {
+        return new BorrowItemResultDTO(borrowId, journalId, true, null);
+    }
+
+    /**
+     * 构建续借成功结果
+     */
+    public static BorrowItemResultDTO renewed(Integer borrowId, Integer journalId, LocalDate endDate) {
+        BorrowItemResultDTO result = success(borrowId, journalId);
+        result.setEndDate(endDate);
+        return result;
+    }
+
+    /**
+     * 构建失败结果
+     */
+    public static BorrowItemResultDTO fail(Integer borrowId, Integer journalId, String reason) {
+        return new BorrowItemResultDTO(borrowId, journalId, false, reason);
+    }
+
+    public Integer getBorrowId() {
+        return borrowId;
+    }
+
+    public void setBorrowId(Integer borrowId) {
+        this.borrowId = borrowId;
+    }
+
+    public Integer getJournalId() {
+        return journalId;
+    }
+
+    public void setJournalId(Integer journalId) {
+        this.journalId = journalId;
+    }
+
+    public Boolean getSuccess() {
+        return success;
+    }
+
+    public void setSuccess(Boolean success) {
+        this.success = success;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+}
@@ -0,0 +1,44 @@
+package com.journalsystem.springprogram.dto;
+
+/**
+ * 批量归还中的单个条目
+ * 可直接指定borrowId，也可由扫码枪提供期刊ISSN+教师ID（两者都提供时以borrowId为准）
+ */
+public class BorrowReturnItemDTO {
+    private Integer borrowId;
+    private String issn;
+    private Integer teacherId;
+
+    public BorrowReturnItemDTO() {
+    }
+
+    public BorrowReturnItemDTO(Integer borrowId, String issn, Integer teacherId) {
+        this.borrowId = borrowId;
+        this.issn = issn;
+        this.teacherId = teacherId;
+    }
+
+    public Integer getBorrowId() {
+        return borrowId;
+    }
+
+    public void setBorrowId(Integer borrowId) {
+        this.borrowId = borrowId;
+    }
+
+    public String getIssn() {
+        return issn;
+    }
+
+    public void setIssn(String issn) {
+        this.issn = issn;
+    }
+
+    public Integer getTeacherId() {
+        return teacherId;
+    }
+
+    public void setTeacherId(Integer teacherId) {
+        this.teacherId = teacherId;
+    }
+}
@@ -0,0 +1,68 @@
+package com.journalsystem.springprogram.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * 计数对账发现的一处不一致
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL) // 序列化时忽略值为null的字段
+public class CounterDiscrepancyDTO {
+    public static final String TEACHER_CURRENT_BORROW = "teacher.currentBorrow";
+    public static final String JOURNAL_AVAILABLE_QUANTITY = "journal.availableQuantity";
+
+    private String counter;       // 计数字段：teacher.currentBorrow / journal.availableQuantity
+    private Integer id;           // 教师ID或期刊ID
+    private Integer storedValue;  // 表中记录的值
+    private Integer actualValue;  // 按借阅记录重新计算的值
+    private Boolean fixed;        // 是否已修正，false表示对账期间该行被并发修改，留待下次对账
+
+    public CounterDiscrepancyDTO() {
+    }
+
+    public CounterDiscrepancyDTO(String counter, Integer id, Integer storedValue, Integer actualValue) {
+        this.counter = counter;
+        this.id = id;
+        this.storedValue = storedValue;
+        this.actualValue = actualValue;
+    }
+
+    public String getCounter() {
+        return counter;
+    }
+
+    public void setCounter(String counter) {
+        this.counter = counter;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public Integer getStoredValue() {
+        return storedValue;
+    }
+
+    public void setStoredValue(Integer storedValue) {
+        this.storedValue = storedValue;
+    }
+
+    public Integer getActualValue() {
+        return actualValue;
+    }
+
+    public void setActualValue(Integer actualValue) {
+        this.actualValue = actualValue;
+    }
+
+    public Boolean getFixed() {
+        return fixed;
+    }
+
+    public void setFixed(Boolean fixed) {
+        this.fixed = fixed;
+    }
+}
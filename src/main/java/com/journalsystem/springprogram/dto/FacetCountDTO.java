@@ -0,0 +1,36 @@
+package com.journalsystem.springprogram.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * 分面统计项：取值和命中的期刊数
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL) // 序列化时忽略值为null的字段
+public class FacetCountDTO {
+    private String value;
+    private Long count;
+
+    public FacetCountDTO() {
+    }
+
+    public FacetCountDTO(String value, Long count) {
+        this.value = value;
+        this.count = count;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+
+    public Long getCount() {
+        return count;
+    }
+
+    public void setCount(Long count) {
+        this.count = count;
+    }
+}
@@ -0,0 +1,78 @@
+package com.journalsystem.springprogram.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDate;
+
+/**
+ * 期刊可借预测：当前可借数量，以及无可借副本时最早的预计归还日期和排队人数
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL) // 序列化时忽略值为null的字段
+public class JournalAvailabilityDTO {
+    private Integer journalId;
+    private String journalName;
+    private String status;
+    private Integer availableQuantity;
+    private Long borrowedCount;            // 当前借出（未归还）数量
+    private LocalDate earliestReturnDate;  // 无可借副本时，新预约预计可借的日期：今天及以后第(排队人数+1)个到期的应还日期，无法预计时为空
+    private Long queuePosition;            // 无可借副本时，新预约前面的排队人数，0表示预约后下一个分配
+
+    public JournalAvailabilityDTO() {
+    }
+
+    public Integer getJournalId() {
+        return journalId;
+    }
+
+    public void setJournalId(Integer journalId) {
+        this.journalId = journalId;
+    }
+
+    public String getJournalName() {
+        return journalName;
+    }
+
+    public void setJournalName(String journalName) {
+        this.journalName = journalName;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Integer getAvailableQuantity() {
+        return availableQuantity;
+    }
+
+    public void setAvailableQuantity(Integer availableQuantity) {
+        this.availableQuantity = availableQuantity;
+    }
+
+    public Long getBorrowedCount() {
+        return borrowedCount;
+    }
+
+    public void setBorrowedCount(Long borrowedCount) {
+        this.borrowedCount = borrowedCount;
+    }
+
+    public LocalDate getEarliestReturnDate() {
+        return earliestReturnDate;
+    }
+
+    public void setEarliestReturnDate(LocalDate earliestReturnDate) {
+        this.earliestReturnDate = earliestReturnDate;
+    }
+
+    public Long getQueuePosition() {
+        return queuePosition;
+    }
+
+    public void setQueuePosition(Long queuePosition) {
+        this.queuePosition = queuePosition;
+    }
+}
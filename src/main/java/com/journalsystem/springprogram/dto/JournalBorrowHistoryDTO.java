@@ -0,0 +1,84 @@
+package com.journalsystem.springprogram.dto;
+
+import java.util.List;
+
+/**
+ * 期刊借阅历史：一页借阅记录加该期刊的借阅汇总
+ */
+public class JournalBorrowHistoryDTO {
+    private Integer journalId;
+    private Long totalBorrows;     // 借阅总次数
+    private Long currentlyOut;     // 当前借出（未归还）数量
+    private Double averageLoanDays; // 已归还记录的平均借阅天数，没有已归还记录时为null
+    private Integer pageNum;
+    private Integer pageSize;
+    private Integer totalPages;
+    private List<BorrowDTO> records;
+
+    public JournalBorrowHistoryDTO() {
+    }
+
+    public Integer getJournalId() {
+        return journalId;
+    }
+
+    public void setJournalId(Integer journalId) {
+        this.journalId = journalId;
+    }
+
+    public Long getTotalBorrows() {
+        return totalBorrows;
+    }
+
+    public void setTotalBorrows(Long totalBorrows) {
+        this.totalBorrows = totalBorrows;
+    }
+
+    public Long getCurrentlyOut() {
+        return currentlyOut;
+    }
+
+    public void setCurrentlyOut(Long currentlyOut) {
+        this.currentlyOut = currentlyOut;
+    }
+
+    public Double getAverageLoanDays() {
+        return averageLoanDays;
+    }
+
+    public void setAverageLoanDays(Double averageLoanDays) {
+        this.averageLoanDays = averageLoanDays;
+    }
+
+    public Integer getPageNum() {
+        return pageNum;
+    }
+
+    public void setPageNum(Integer pageNum) {
+        this.pageNum = pageNum;
+    }
+
+    public Integer getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(Integer pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public Integer getTotalPages() {
+        return totalPages;
+    }
+
+    public void setTotalPages(Integer totalPages) {
+        this.totalPages = totalPages;
+    }
+
+    public List<BorrowDTO> getRecords() {
+        return records;
+    }
+
+    public void setRecords(List<BorrowDTO> records) {
+        this.records = records;
+    }
+}
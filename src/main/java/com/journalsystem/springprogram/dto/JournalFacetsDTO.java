@@ -0,0 +1,40 @@
+package com.journalsystem.springprogram.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * 多条件搜索的分面统计：分类、状态、出版社各取值的期刊数，按期刊数降序
+ * 每个分面应用除自身以外的全部搜索条件
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL) // 序列化时忽略值为null的字段
+public class JournalFacetsDTO {
+    private List<FacetCountDTO> category;
+    private List<FacetCountDTO> status;
+    private List<FacetCountDTO> publisher;
+
+    public List<FacetCountDTO> getCategory() {
+        return category;
+    }
+
+    public void setCategory(List<FacetCountDTO> category) {
+        this.category = category;
+    }
+
+    public List<FacetCountDTO> getStatus() {
+        return status;
+    }
+
+    public void setStatus(List<FacetCountDTO> status) {
+        this.status = status;
+    }
+
+    public List<FacetCountDTO> getPublisher() {
+        return publisher;
+    }
+
+    public void setPublisher(List<FacetCountDTO> publisher) {
+        this.publisher = publisher;
+    }
+}
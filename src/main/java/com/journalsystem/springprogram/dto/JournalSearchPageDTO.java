@@ -0,0 +1,20 @@
+package com.journalsystem.springprogram.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.journalsystem.springprogram.common.PageResult;
+
+/**
+ * 多条件搜索结果：分页数据，请求分面统计时附带facets
+ */
+public class JournalSearchPageDTO extends PageResult<JournalDTO> {
+    @JsonInclude(JsonInclude.Include.NON_NULL) // 未请求分面统计时不输出
+    private JournalFacetsDTO facets;
+
+    public JournalFacetsDTO getFacets() {
+        return facets;
+    }
+
+    public void setFacets(JournalFacetsDTO facets) {
+        this.facets = facets;
+    }
+}
@@ -0,0 +1,56 @@
+package com.journalsystem.springprogram.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * 期刊输入提示：期刊ID、名称、ISSN和借阅热度
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL) // 序列化时忽略值为null的字段
+public class JournalSuggestionDTO {
+    private Integer id;
+    private String name;
+    private String issn;
+    private Long popularity; // 累计借阅次数
+
+    public JournalSuggestionDTO() {
+    }
+
+    public JournalSuggestionDTO(Integer id, String name, String issn, Long popularity) {
+        this.id = id;
+        this.name = name;
+        this.issn = issn;
+        this.popularity = popularity;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getIssn() {
+        return issn;
+    }
+
+    public void setIssn(String issn) {
+        this.issn = issn;
+    }
+
+    public Long getPopularity() {
+        return popularity;
+    }
+
+    public void setPopularity(Long popularity) {
+        this.popularity = popularity;
+    }
+}
@@ -0,0 +1,92 @@
+package com.journalsystem.springprogram.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 计数对账报告
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL) // 序列化时忽略值为null的字段
+public class ReconciliationReportDTO {
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private Long teachersChecked = 0L;
+    private Long journalsChecked = 0L;
+    private Long fixedCount = 0L;    // 已修正的行数
+    private Long skippedCount = 0L;  // 对账期间被并发修改、未修正的行数
+    private List<CounterDiscrepancyDTO> discrepancies = new ArrayList<>();
+
+    public ReconciliationReportDTO() {
+    }
+
+    /**
+     * 记录一处不一致及其修正结果
+     */
+    public void addDiscrepancy(CounterDiscrepancyDTO discrepancy) {
+        discrepancies.add(discrepancy);
+        if (Boolean.TRUE.equals(discrepancy.getFixed())) {
+            fixedCount++;
+        } else {
+            skippedCount++;
+        }
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public Long getTeachersChecked() {
+        return teachersChecked;
+    }
+
+    public void setTeachersChecked(Long teachersChecked) {
+        this.teachersChecked = teachersChecked;
+    }
+
+    public Long getJournalsChecked() {
+        return journalsChecked;
+    }
+
+    public void setJournalsChecked(Long journalsChecked) {
+        this.journalsChecked = journalsChecked;
+    }
+
+    public Long getFixedCount() {
+        return fixedCount;
+    }
+
+    public void setFixedCount(Long fixedCount) {
+        this.fixedCount = fixedCount;
+    }
+
+    public Long getSkippedCount() {
+        return skippedCount;
+    }
+
+    public void setSkippedCount(Long skippedCount) {
+        this.skippedCount = skippedCount;
+    }
+
+    public List<CounterDiscrepancyDTO> getDiscrepancies() {
+        return discrepancies;
+    }
+
+    public void setDiscrepancies(List<CounterDiscrepancyDTO> discrepancies) {
+        this.discrepancies = discrepancies;
+    }
+}
@@ -1,6 +1,7 @@
 package com.journalsystem.springprogram.exception;
 
 import com.journalsystem.springprogram.common.Result;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.validation.BindException;
 import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -16,6 +17,12 @@ public class GlobalExceptionHandler {
         return Result.fail(e.getCode(), e.getMessage());
     }
 
+    //处理未经重试的乐观锁冲突（数据已被其他请求修改）,返回409
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public Result<?> handleOptimisticLockingFailureException(OptimisticLockingFailureException e) {
+        return Result.fail(409, "数据已被其他请求修改，请刷新后重试");
+    }
+
     //处理其他异常,返回自定义的Result对象,状态码为500,提示信息为"系统繁忙,请稍后再试"
     @ExceptionHandler(Exception.class)
     public Result<?> handleException(Exception e) {
@@ -0,0 +1,41 @@
+package com.journalsystem.springprogram.interceptor;
+
+import com.journalsystem.springprogram.util.SqlStatementCounter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * SQL条数拦截器：统计每个请求执行的SQL条数，超过阈值时输出警告，便于发现N+1查询
+ */
+@Component
+public class SqlStatementCountInterceptor implements HandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementCountInterceptor.class);
+
+    /**
+     * 单个请求允许的SQL条数，超过时输出警告
+     */
+    @Value("${journal.sql.statement-warn-threshold:20}")
+    private int warnThreshold;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        SqlStatementCounter.reset();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, @Nullable Exception ex) {
+        int count = SqlStatementCounter.getCount();
+        if (count > warnThreshold) {
+            log.warn("请求{} {}执行了{}条SQL，超过阈值{}，可能存在N+1查询", request.getMethod(), request.getRequestURI(), count, warnThreshold);
+        }
+        // 结束时不清零（下一个请求开始时清零），同一线程中发起请求的测试可在请求结束后调用assertAtMost
+    }
+}
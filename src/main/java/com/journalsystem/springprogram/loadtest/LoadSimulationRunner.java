@@ -0,0 +1,249 @@
+package com.journalsystem.springprogram.loadtest;
+
+import com.journalsystem.springprogram.common.Constants;
+import com.journalsystem.springprogram.common.Result;
+import com.journalsystem.springprogram.controller.BorrowController;
+import com.journalsystem.springprogram.exception.BusinessException;
+import com.journalsystem.springprogram.util.IdBlockAllocator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 借阅高峰压测（仅loadtest环境，启动参数 --spring.profiles.active=loadtest）
+ * 启动后在独立的压测库中生成教师、期刊和历史借阅记录，然后用concurrency个线程按比例混合调用
+ * 借阅、归还、借阅列表接口（直接调用BorrowController，与HTTP请求走相同的重试、幂等和事务逻辑），
+ * 结束后输出每类操作的吞吐量、p50/p99耗时和平均SQL语句数
+ */
+@Component
+@Profile("loadtest")
+public class LoadSimulationRunner implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadSimulationRunner.class);
+
+    private static final String OP_BORROW = "borrow";
+    private static final String OP_RETURN = "return";
+    private static final String OP_LIST = "list";
+
+    private final BorrowController borrowController;
+    private final JdbcTemplate jdbcTemplate;
+    private final IdBlockAllocator idBlockAllocator;
+    private final ApplicationContext applicationContext;
+
+    @Value("${journal.loadtest.teachers:500}")
+    private int teacherCount;
+    @Value("${journal.loadtest.journals:2000}")
+    private int journalCount;
+    @Value("${journal.loadtest.copies-per-journal:3}")
+    private int copiesPerJournal;
+    @Value("${journal.loadtest.history-per-teacher:20}")
+    private int historyPerTeacher;
+    @Value("${journal.loadtest.concurrency:50}")
+    private int concurrency;
+    @Value("${journal.loadtest.duration-seconds:60}")
+    private int durationSeconds;
+    // 操作比例，格式为 操作:权重，逗号分隔
+    @Value("${journal.loadtest.mix:borrow:40,return:30,list:30}")
+    private String mix;
+    @Value("${journal.loadtest.exit-on-finish:true}")
+    private boolean exitOnFinish;
+
+    private List<Integer> teacherIds;
+    private List<Integer> journalIds;
+    // 压测期间每位教师借出中的借阅ID，归还操作从这里取
+    private final Map<Integer, Queue<Integer>> activeBorrows = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LoadSimulationRunner(BorrowController borrowController, JdbcTemplate jdbcTemplate,
+                                IdBlockAllocator idBlockAllocator, ApplicationContext applicationContext) {
+        this.borrowController = borrowController;
+        this.jdbcTemplate = jdbcTemplate;
+        this.idBlockAllocator = idBlockAllocator;
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        seed();
+        simulate();
+        if (exitOnFinish) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+
+    /**
+     * 生成压测数据：教师、期刊（每种copiesPerJournal本）、每位教师historyPerTeacher条已归还记录
+     */
+    private void seed() {
+        long start = System.currentTimeMillis();
+        teacherIds = idBlockAllocator.nextIds(IdBlockAllocator.Sequence.TEACHER, teacherCount);
+        journalIds = idBlockAllocator.nextIds(IdBlockAllocator.Sequence.JOURNAL, journalCount);
+        List<String> departments = Constants.DEPARTMENT_TEACHERS;
+
+        jdbcTemplate.batchUpdate("INSERT INTO teacher_info (teacher_id, name, department, email, phone, max_borrow, " +
+                        "current_borrow, STATUS, version) VALUES (?, ?, ?, ?, ?, ?, 0, ?, 0)",
+                teacherIds, Constants.MAX_BATCH_SIZE, (ps, id) -> {
+                    ps.setInt(1, id);
+                    ps.setString(2, "压测教师" + id);
+                    ps.setString(3, departments.get(id % departments.size()));
+                    ps.setString(4, "t" + id + "@loadtest.local");
+                    ps.setString(5, String.format("138%08d", id));
+                    ps.setInt(6, Constants.DEFAULT_TEACHER_MAX_BORROW);
+                    ps.setString(7, Constants.STATUS_ACTIVE);
+                });
+        jdbcTemplate.batchUpdate("INSERT INTO journal_info (id, NAME, ISSN, category, publisher, publish_date, issue_number, " +
+                        "total_quantity, available_quantity, STATUS, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)",
+                journalIds, Constants.MAX_BATCH_SIZE, (ps, id) -> {
+                    ps.setInt(1, id);
+                    ps.setString(2, "压测期刊" + id);
+                    ps.setString(3, String.format("%04d-%04d", id / 10000 % 10000, id % 10000));
+                    ps.setString(4, "category" + id % 20);
+                    ps.setString(5, "publisher" + id % 50);
+                    ps.setDate(6, Date.valueOf(LocalDate.of(2020, 1, 1).plusDays(id % 1500)));
+                    ps.setString(7, String.valueOf(id % 12 + 1));
+                    ps.setInt(8, copiesPerJournal);
+                    ps.setInt(9, copiesPerJournal);
+                    ps.setString(10, Constants.JOURNAL_STATUS_AVAILABLE);
+                });
+
+        List<Integer> historyIds = idBlockAllocator.nextIds(IdBlockAllocator.Sequence.BORROW, teacherCount * historyPerTeacher);
+        jdbcTemplate.batchUpdate("INSERT INTO borrow_info (borrow_id, journal_id, borrower_id, start_date, end_date, return_date, STATUS) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?)",
+                historyIds, Constants.MAX_BATCH_SIZE, (ps, id) -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    LocalDate startDate = LocalDate.now().minusDays(random.nextInt(30, 720));
+                    ps.setInt(1, id);
+                    ps.setInt(2, journalIds.get(random.nextInt(journalIds.size())));
+                    ps.setInt(3, teacherIds.get(random.nextInt(teacherIds.size())));
+                    ps.setDate(4, Date.valueOf(startDate));
+                    ps.setDate(5, Date.valueOf(startDate.plusDays(Constants.DEFAULT_BORROW_DAYS)));
+                    ps.setDate(6, Date.valueOf(startDate.plusDays(random.nextInt(1, Constants.DEFAULT_BORROW_DAYS))));
+                    ps.setString(7, Constants.BORROW_STATUS_RETURNED);
+                });
+        log.info("压测数据生成完成：教师{}个，期刊{}种，历史借阅{}条，耗时{}ms",
+                teacherCount, journalCount, historyIds.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 按比例混合执行借阅、归还、列表操作，直到达到压测时长，输出每类操作的统计
+     */
+    private void simulate() throws InterruptedException {
+        Map<String, Integer> weights = parseMix(mix);
+        int totalWeight = weights.values().stream().mapToInt(Integer::intValue).sum();
+        Map<String, OperationStats> stats = new LinkedHashMap<>();
+        weights.keySet().forEach(op -> stats.put(op, new OperationStats(op)));
+
+        log.info("压测开始：并发{}，时长{}秒，操作比例{}", concurrency, durationSeconds, weights);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    String op = pick(weights, random.nextInt(totalWeight));
+                    Integer teacherId = teacherIds.get(random.nextInt(teacherIds.size()));
+                    execute(op, teacherId, stats.get(op));
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(durationSeconds + 60L, TimeUnit.SECONDS);
+        double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        log.info("压测结束：实际时长{}秒，并发{}", String.format("%.1f", elapsedSeconds), concurrency);
+        stats.values().forEach(s -> log.info(s.report(elapsedSeconds)));
+    }
+
+    /**
+     * 执行一次操作并记录耗时、结果和SQL语句数
+     */
+    private void execute(String op, Integer teacherId, OperationStats stats) {
+        JdbcStatementCounter.reset();
+        long begin = System.nanoTime();
+        int outcome;
+        try {
+            outcome = switch (op) {
+                case OP_BORROW -> borrow(teacherId);
+                case OP_RETURN -> giveBack(teacherId);
+                default -> isOk(borrowController.teacherBorrowList(teacherId, null, 1, Constants.DEFAULT_PAGE_SIZE,
+                        null, false, true));
+            };
+        } catch (BusinessException e) {
+            outcome = 1;
+        } catch (RuntimeException e) {
+            log.debug("压测操作{}异常", op, e);
+            outcome = 2;
+        }
+        stats.record(outcome, System.nanoTime() - begin, JdbcStatementCounter.getCount());
+    }
+
+    private int borrow(Integer teacherId) {
+        Integer journalId = journalIds.get(ThreadLocalRandom.current().nextInt(journalIds.size()));
+        Result<Integer> result = borrowController.teacherBorrow(Map.<String, Object>of(
+                "teacherId", teacherId, "journalId", journalId, "borrowDays", Constants.DEFAULT_BORROW_DAYS), null);
+        if (result.getData() != null) {
+            activeBorrows.computeIfAbsent(teacherId, k -> new ConcurrentLinkedQueue<>()).add(result.getData());
+        }
+        return isOk(result);
+    }
+
+    private int giveBack(Integer teacherId) {
+        Queue<Integer> borrows = activeBorrows.get(teacherId);
+        Integer borrowId = borrows == null ? null : borrows.poll();
+        if (borrowId == null) {
+            // 该教师没有借出中的记录，计为业务拒绝
+            return 1;
+        }
+        return isOk(borrowController.teacherReturn(Map.<String, Object>of("borrowId", borrowId), null));
+    }
+
+    private static int isOk(Result<?> result) {
+        return result.getCode() != null && result.getCode() == 200 ? 0 : 1;
+    }
+
+    private static String pick(Map<String, Integer> weights, int roll) {
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        return OP_LIST;
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        List<String> supported = List.of(OP_BORROW, OP_RETURN, OP_LIST);
+        for (String part : mix.split(",")) {
+            String[] kv = part.trim().split(":");
+            if (kv.length == 2 && supported.contains(kv[0].trim()) && Integer.parseInt(kv[1].trim()) > 0) {
+                weights.put(kv[0].trim(), Integer.parseInt(kv[1].trim()));
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("journal.loadtest.mix格式错误：" + mix);
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,73 @@
+package com.journalsystem.springprogram.loadtest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单类操作的压测统计：成功/业务拒绝/异常次数、耗时分位数、每次操作的平均SQL语句数
+ */
+public class OperationStats {
+
+    private final String name;
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder rejected = new LongAdder(); // 业务校验不通过（额度已满、无库存等），属于正常结果
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder statements = new LongAdder();
+    private final List<Long> latencies = new ArrayList<>(); // 纳秒
+
+    public OperationStats(String name) {
+        this.name = name;
+    }
+
+    /**
+     * 记录一次操作
+     * @param outcome 结果：0成功，1业务拒绝，2异常
+     * @param nanos 耗时（纳秒）
+     * @param statementCount 执行的SQL语句数
+     */
+    public void record(int outcome, long nanos, int statementCount) {
+        (outcome == 0 ? succeeded : outcome == 1 ? rejected : failed).increment();
+        statements.add(statementCount);
+        synchronized (latencies) {
+            latencies.add(nanos);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return succeeded.sum() + rejected.sum() + failed.sum();
+    }
+
+    /**
+     * 生成一行报告
+     * @param elapsedSeconds 压测总时长（秒）
+     * @return 报告行：操作、次数、成功/拒绝/异常、吞吐量、p50/p99/最大耗时、平均SQL语句数
+     */
+    public String report(double elapsedSeconds) {
+        List<Long> sorted;
+        synchronized (latencies) {
+            sorted = new ArrayList<>(latencies);
+        }
+        Collections.sort(sorted);
+        long count = getCount();
+        return String.format("%-8s 次数=%-7d 成功=%-7d 拒绝=%-6d 异常=%-5d 吞吐=%8.1f/s p50=%7.2fms p99=%7.2fms max=%7.2fms SQL/次=%.2f",
+                name, count, succeeded.sum(), rejected.sum(), failed.sum(),
+                elapsedSeconds > 0 ? count / elapsedSeconds : 0,
+                percentile(sorted, 0.50), percentile(sorted, 0.99),
+                sorted.isEmpty() ? 0 : sorted.get(sorted.size() - 1) / 1_000_000.0,
+                count == 0 ? 0 : (double) statements.sum() / count);
+    }
+
+    private static double percentile(List<Long> sorted, double p) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1))) / 1_000_000.0;
+    }
+}
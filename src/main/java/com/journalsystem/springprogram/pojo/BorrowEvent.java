@@ -0,0 +1,171 @@
+package com.journalsystem.springprogram.pojo;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 借阅事件（只追加，不修改不删除）
+ * 借阅、归还、延期、状态修改时与borrow_info的修改在同一事务中写入，
+ * 由BorrowStatService按event_id顺序投影到借阅统计表
+ */
+@Entity
+@Table(name = "borrow_event")
+public class BorrowEvent {
+    public static final String TYPE_BORROWED = "borrowed";
+    public static final String TYPE_RETURNED = "returned";
+    public static final String TYPE_EXTENDED = "extended";
+    public static final String TYPE_STATUS_CHANGED = "status_changed";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "event_id", nullable = false)
+    private Long id;
+
+    @Column(name = "borrow_id", nullable = false)
+    private Integer borrowId;
+
+    @Column(name = "teacher_id", nullable = false)
+    private Integer teacherId;
+
+    @Column(name = "journal_id", nullable = false)
+    private Integer journalId;
+
+    //事件类型：borrowed/returned/extended/status_changed
+    @Column(name = "event_type", nullable = false, length = 20)
+    private String eventType;
+
+    //事件发生前的借阅状态，新借阅时为null
+    @Column(name = "from_status", length = 20)
+    private String fromStatus;
+
+    //事件发生后的借阅状态
+    @Column(name = "to_status", length = 20)
+    private String toStatus;
+
+    @Column(name = "start_date")
+    private LocalDate startDate;
+
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    @Column(name = "return_date")
+    private LocalDate returnDate;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    public BorrowEvent() {
+    }
+
+    /**
+     * 根据借阅记录当前内容构建事件
+     * @param eventType 事件类型
+     * @param fromStatus 事件发生前的状态
+     * @param borrowInfo 修改后的借阅记录，borrower和journal只需包含ID
+     * @return 借阅事件
+     */
+    public static BorrowEvent of(String eventType, String fromStatus, BorrowInfo borrowInfo) {
+        BorrowEvent event = new BorrowEvent();
+        event.setBorrowId(borrowInfo.getId());
+        event.setTeacherId(borrowInfo.getBorrower().getId());
+        event.setJournalId(borrowInfo.getJournal().getId());
+        event.setEventType(eventType);
+        event.setFromStatus(fromStatus);
+        event.setToStatus(borrowInfo.getStatus());
+        event.setStartDate(borrowInfo.getStartDate());
+        event.setEndDate(borrowInfo.getEndDate());
+        event.setReturnDate(borrowInfo.getReturnDate());
+        event.setOccurredAt(LocalDateTime.now());
+        return event;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Integer getBorrowId() {
+        return borrowId;
+    }
+
+    public void setBorrowId(Integer borrowId) {
+        this.borrowId = borrowId;
+    }
+
+    public Integer getTeacherId() {
+        return teacherId;
+    }
+
+    public void setTeacherId(Integer teacherId) {
+        this.teacherId = teacherId;
+    }
+
+    public Integer getJournalId() {
+        return journalId;
+    }
+
+    public void setJournalId(Integer journalId) {
+        this.journalId = journalId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public String getFromStatus() {
+        return fromStatus;
+    }
+
+    public void setFromStatus(String fromStatus) {
+        this.fromStatus = fromStatus;
+    }
+
+    public String getToStatus() {
+        return toStatus;
+    }
+
+    public void setToStatus(String toStatus) {
+        this.toStatus = toStatus;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public LocalDate getReturnDate() {
+        return returnDate;
+    }
+
+    public void setReturnDate(LocalDate returnDate) {
+        this.returnDate = returnDate;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+}
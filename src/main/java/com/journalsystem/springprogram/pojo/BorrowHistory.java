@@ -0,0 +1,123 @@
+package com.journalsystem.springprogram.pojo;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 已归档的借阅记录（冷数据）
+ * 归还超过保留天数的borrow_info记录由归档任务移入本表，列与borrow_info一致；
+ * 早期的借阅记录按(教师, 期刊)复用借阅ID，归档后borrow_id不保证唯一，主键为自增的history_id
+ */
+@Entity
+@Table(name = "borrow_history", indexes = {
+        //按教师查询完整借阅历史使用的组合索引
+        @Index(name = "idx_history_borrower_start", columnList = "borrower_id, start_date"),
+        //按期刊查询完整借阅历史使用的组合索引
+        @Index(name = "idx_history_journal_start", columnList = "journal_id, start_date")
+})
+public class BorrowHistory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "history_id", nullable = false)
+    private Long id;
+
+    @Column(name = "borrow_id", nullable = false)
+    private Integer borrowId;
+
+    @Column(name = "journal_id", nullable = false)
+    private Integer journalId;
+
+    @Column(name = "borrower_id", nullable = false)
+    private Integer borrowerId;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    @Column(name = "return_date")
+    private LocalDate returnDate;
+
+    @Column(name = "STATUS", length = 20)
+    private String status;
+
+    //归档时间
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Integer getBorrowId() {
+        return borrowId;
+    }
+
+    public void setBorrowId(Integer borrowId) {
+        this.borrowId = borrowId;
+    }
+
+    public Integer getJournalId() {
+        return journalId;
+    }
+
+    public void setJournalId(Integer journalId) {
+        this.journalId = journalId;
+    }
+
+    public Integer getBorrowerId() {
+        return borrowerId;
+    }
+
+    public void setBorrowerId(Integer borrowerId) {
+        this.borrowerId = borrowerId;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public LocalDate getReturnDate() {
+        return returnDate;
+    }
+
+    public void setReturnDate(LocalDate returnDate) {
+        this.returnDate = returnDate;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    public void setArchivedAt(LocalDateTime archivedAt) {
+        this.archivedAt = archivedAt;
+    }
+}
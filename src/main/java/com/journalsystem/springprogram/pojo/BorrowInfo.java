@@ -7,10 +7,28 @@ import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDate;
 
 @Entity
+//列表查询使用的实体图：一次join查询出借阅人和期刊，避免逐行触发延迟加载（N+1）
+@NamedEntityGraph(name = BorrowInfo.GRAPH_BORROWER_JOURNAL, attributeNodes = {
+        @NamedAttributeNode("borrower"),
+        @NamedAttributeNode("journal")
+})
 @DynamicInsert
 @DynamicUpdate
-@Table(name = "borrow_info")
+@Table(name = "borrow_info", indexes = {
+        //按教师查询借阅记录、统计借阅数量时使用的组合索引
+        @Index(name = "idx_borrow_borrower_status_end", columnList = "borrower_id, STATUS, end_date"),
+        //逾期扫描任务和逾期列表查询使用的组合索引
+        @Index(name = "idx_borrow_status_end", columnList = "STATUS, end_date"),
+        //按期刊查询借阅历史（按借阅日期排序分页）使用的组合索引
+        @Index(name = "idx_borrow_journal_start", columnList = "journal_id, start_date"),
+        //期刊可借预测按期刊取未归还记录的最早应还日期使用的组合索引
+        @Index(name = "idx_borrow_journal_status_end", columnList = "journal_id, STATUS, end_date"),
+        //归档任务按归还日期选取已归还记录使用的组合索引
+        @Index(name = "idx_borrow_status_return", columnList = "STATUS, return_date")
+})
 public class BorrowInfo {
+    public static final String GRAPH_BORROWER_JOURNAL = "BorrowInfo.borrowerAndJournal";
+
     @Id
     @Column(name = "borrow_id", nullable = false,unique = true)
     private Integer id;
@@ -0,0 +1,83 @@
+package com.journalsystem.springprogram.pojo;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.MappedSuperclass;
+
+import java.time.LocalDateTime;
+
+/**
+ * 借阅统计读模型的公共字段
+ * 按教师、期刊、部门三个维度各有一张表，由借阅事件投影维护，只读
+ */
+@MappedSuperclass
+public abstract class BorrowStat {
+
+    //累计借阅次数
+    @Column(name = "total_borrows", nullable = false)
+    private Long totalBorrows;
+
+    //当前借出（未归还）数量
+    @Column(name = "current_borrows", nullable = false)
+    private Long currentBorrows;
+
+    //累计归还次数
+    @Column(name = "returned_count", nullable = false)
+    private Long returnedCount;
+
+    //已归还记录的借阅天数之和，除以returnedCount即平均借阅天数
+    @Column(name = "total_loan_days", nullable = false)
+    private Long totalLoanDays;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * 平均借阅天数（只统计已归还记录），没有已归还记录时为null
+     */
+    public Double getAverageLoanDays() {
+        if (returnedCount == null || returnedCount == 0) {
+            return null;
+        }
+        return (double) totalLoanDays / returnedCount;
+    }
+
+    public Long getTotalBorrows() {
+        return totalBorrows;
+    }
+
+    public void setTotalBorrows(Long totalBorrows) {
+        this.totalBorrows = totalBorrows;
+    }
+
+    public Long getCurrentBorrows() {
+        return currentBorrows;
+    }
+
+    public void setCurrentBorrows(Long currentBorrows) {
+        this.currentBorrows = currentBorrows;
+    }
+
+    public Long getReturnedCount() {
+        return returnedCount;
+    }
+
+    public void setReturnedCount(Long returnedCount) {
+        this.returnedCount = returnedCount;
+    }
+
+    public Long getTotalLoanDays() {
+        return totalLoanDays;
+    }
+
+    public void setTotalLoanDays(Long totalLoanDays) {
+        this.totalLoanDays = totalLoanDays;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,22 @@
+package com.journalsystem.springprogram.pojo;
+
+import jakarta.persistence.*;
+
+/**
+ * 按部门汇总的借阅统计（读模型）
+ */
+@Entity
+@Table(name = "department_borrow_stat")
+public class DepartmentBorrowStat extends BorrowStat {
+    @Id
+    @Column(name = "department", nullable = false, length = 50)
+    private String department;
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+}
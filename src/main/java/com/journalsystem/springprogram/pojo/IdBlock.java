@@ -0,0 +1,33 @@
+package com.journalsystem.springprogram.pojo;
+
+import jakarta.persistence.*;
+
+/**
+ * 主键号段：记录每张表下一个未分配的ID，各应用实例每次取走一段（next_id += 号段大小），在内存中逐个分配
+ */
+@Entity
+@Table(name = "id_block")
+public class IdBlock {
+    @Id
+    @Column(name = "name", nullable = false, length = 50)
+    private String name;
+
+    @Column(name = "next_id", nullable = false)
+    private Long nextId;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Long getNextId() {
+        return nextId;
+    }
+
+    public void setNextId(Long nextId) {
+        this.nextId = nextId;
+    }
+}
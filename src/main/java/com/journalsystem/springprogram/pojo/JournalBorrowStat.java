@@ -0,0 +1,22 @@
+package com.journalsystem.springprogram.pojo;
+
+import jakarta.persistence.*;
+
+/**
+ * 按期刊汇总的借阅统计（读模型）
+ */
+@Entity
+@Table(name = "journal_borrow_stat")
+public class JournalBorrowStat extends BorrowStat {
+    @Id
+    @Column(name = "journal_id", nullable = false)
+    private Integer journalId;
+
+    public Integer getJournalId() {
+        return journalId;
+    }
+
+    public void setJournalId(Integer journalId) {
+        this.journalId = journalId;
+    }
+}
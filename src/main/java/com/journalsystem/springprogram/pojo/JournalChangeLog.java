@@ -0,0 +1,64 @@
+package com.journalsystem.springprogram.pojo;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 期刊变更日志：期刊被修改时写入一行，其他实例据此失效本地的期刊缓存、检索索引和输入提示
+ * 读写都通过JournalChangeLogRepository（JdbcTemplate）完成，实体只用于描述表结构
+ */
+@Entity
+@Table(name = "journal_change_log", indexes = {
+        //按写入时间读取最近的变更、清理过期的变更
+        @Index(name = "idx_journal_change_time", columnList = "changed_at")
+})
+public class JournalChangeLog {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "change_id", nullable = false)
+    private Long id;
+
+    @Column(name = "journal_id", nullable = false)
+    private Integer journalId;
+
+    //写入变更的应用实例
+    @Column(name = "node_id", nullable = false, length = 36)
+    private String nodeId;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Integer getJournalId() {
+        return journalId;
+    }
+
+    public void setJournalId(Integer journalId) {
+        this.journalId = journalId;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(LocalDateTime changedAt) {
+        this.changedAt = changedAt;
+    }
+}
@@ -0,0 +1,103 @@
+package com.journalsystem.springprogram.pojo;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 期刊预约记录
+ * 期刊无可用数量时教师排队预约，按hold_id先后顺序分配归还的副本；
+ * 分配后副本从可借数量中扣除，只有该教师可以借阅，超过保留期限未借阅则过期并分配给下一位
+ */
+@Entity
+@Table(name = "journal_hold", indexes = {
+        //按期刊取排队队列（FIFO）使用的组合索引
+        @Index(name = "idx_hold_journal_status", columnList = "journal_id, STATUS, hold_id"),
+        //按教师查询预约使用的组合索引
+        @Index(name = "idx_hold_teacher_status", columnList = "teacher_id, STATUS"),
+        //过期扫描使用的组合索引
+        @Index(name = "idx_hold_status_expire", columnList = "STATUS, expire_at")
+})
+public class JournalHold {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "hold_id", nullable = false)
+    private Long id;
+
+    @Column(name = "journal_id", nullable = false)
+    private Integer journalId;
+
+    @Column(name = "teacher_id", nullable = false)
+    private Integer teacherId;
+
+    //预约状态：waiting/ready/fulfilled/expired/cancelled
+    @Column(name = "STATUS", nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    //分配副本的时间
+    @Column(name = "ready_at")
+    private LocalDateTime readyAt;
+
+    //保留截止时间，超过后未借阅则过期
+    @Column(name = "expire_at")
+    private LocalDateTime expireAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Integer getJournalId() {
+        return journalId;
+    }
+
+    public void setJournalId(Integer journalId) {
+        this.journalId = journalId;
+    }
+
+    public Integer getTeacherId() {
+        return teacherId;
+    }
+
+    public void setTeacherId(Integer teacherId) {
+        this.teacherId = teacherId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getReadyAt() {
+        return readyAt;
+    }
+
+    public void setReadyAt(LocalDateTime readyAt) {
+        this.readyAt = readyAt;
+    }
+
+    public LocalDateTime getExpireAt() {
+        return expireAt;
+    }
+
+    public void setExpireAt(LocalDateTime expireAt) {
+        this.expireAt = expireAt;
+    }
+}
@@ -0,0 +1,33 @@
+package com.journalsystem.springprogram.pojo;
+
+import jakarta.persistence.*;
+
+/**
+ * 事件投影检查点：记录每个投影已处理到的事件ID，与投影结果在同一事务中更新
+ */
+@Entity
+@Table(name = "projection_checkpoint")
+public class ProjectionCheckpoint {
+    @Id
+    @Column(name = "name", nullable = false, length = 50)
+    private String name;
+
+    @Column(name = "last_event_id", nullable = false)
+    private Long lastEventId;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Long getLastEventId() {
+        return lastEventId;
+    }
+
+    public void setLastEventId(Long lastEventId) {
+        this.lastEventId = lastEventId;
+    }
+}
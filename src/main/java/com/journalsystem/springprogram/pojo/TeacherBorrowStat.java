@@ -0,0 +1,22 @@
+package com.journalsystem.springprogram.pojo;
+
+import jakarta.persistence.*;
+
+/**
+ * 按教师汇总的借阅统计（读模型）
+ */
+@Entity
+@Table(name = "teacher_borrow_stat")
+public class TeacherBorrowStat extends BorrowStat {
+    @Id
+    @Column(name = "teacher_id", nullable = false)
+    private Integer teacherId;
+
+    public Integer getTeacherId() {
+        return teacherId;
+    }
+
+    public void setTeacherId(Integer teacherId) {
+        this.teacherId = teacherId;
+    }
+}
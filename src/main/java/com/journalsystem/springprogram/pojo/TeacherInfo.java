@@ -42,6 +42,13 @@ public class TeacherInfo {
     @Column(name = "STATUS")
     private String status;
 
+    //乐观锁版本号：实体保存时校验并自增，借阅额度/库存的条件UPDATE也会同时自增
+    @Version
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Integer version;
+
     /**
      * 教师借阅信息列表
      * 一个教师可以有多个借阅记录
@@ -122,4 +129,11 @@ public class TeacherInfo {
         this.borrowInfos = borrowInfos;
     }
 
-}
\ No newline at end of file
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,64 @@
+package com.journalsystem.springprogram.repository;
+
+import com.journalsystem.springprogram.pojo.BorrowEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 借阅事件批量写入仓库
+ * event_id为自增主键，JPA的IDENTITY策略无法批量插入，批量借阅/归还时每条记录都会单独INSERT，
+ * 这里改用JDBC批处理，与借阅记录的修改共用同一个事务连接
+ */
+@Repository
+public class BorrowEventBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO borrow_event (borrow_id, teacher_id, journal_id, event_type, from_status, to_status, " +
+            "start_date, end_date, return_date, occurred_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public BorrowEventBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 批量追加借阅事件
+     * @param events 借阅事件
+     */
+    public void batchInsert(List<BorrowEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+            ps.setInt(1, event.getBorrowId());
+            ps.setInt(2, event.getTeacherId());
+            ps.setInt(3, event.getJournalId());
+            ps.setString(4, event.getEventType());
+            ps.setString(5, event.getFromStatus());
+            ps.setString(6, event.getToStatus());
+            setDate(ps, 7, event.getStartDate());
+            setDate(ps, 8, event.getEndDate());
+            setDate(ps, 9, event.getReturnDate());
+            ps.setTimestamp(10, Timestamp.valueOf(event.getOccurredAt()));
+        });
+    }
+
+    private static void setDate(PreparedStatement ps, int index, LocalDate date) throws SQLException {
+        if (date == null) {
+            ps.setNull(index, Types.DATE);
+        } else {
+            ps.setDate(index, Date.valueOf(date));
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.journalsystem.springprogram.repository;
+
+import com.journalsystem.springprogram.pojo.BorrowEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BorrowEventRepository extends JpaRepository<BorrowEvent, Long> {
+    //按事件ID升序取检查点之后的一批事件（走主键）
+    List<BorrowEvent> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    //当前最大事件ID，没有事件时为0
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM BorrowEvent e")
+    Long findMaxId();
+}
@@ -0,0 +1,154 @@
+package com.journalsystem.springprogram.repository;
+
+import com.journalsystem.springprogram.dto.BorrowDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 借阅记录归档仓库
+ * 归还超过保留天数的记录从borrow_info（热表）移入borrow_history（冷表），日常查询只访问热表；
+ * 需要完整历史时，用borrowSource生成两表UNION ALL的派生表，过滤条件下推到两个分支，各自走索引
+ */
+@Repository
+public class BorrowHistoryRepository {
+
+    private static final String COLUMNS = "borrow_id, journal_id, borrower_id, start_date, end_date, return_date, STATUS";
+
+    private static final String LOCK_ARCHIVABLE_SQL =
+            "SELECT borrow_id FROM borrow_info WHERE STATUS = 'returned' AND return_date < ? " +
+            "ORDER BY return_date, borrow_id LIMIT ? FOR UPDATE";
+
+    private static final String COPY_SQL =
+            "INSERT INTO borrow_history (" + COLUMNS + ", archived_at) " +
+            "SELECT " + COLUMNS + ", NOW() FROM borrow_info WHERE borrow_id IN (%s)";
+
+    private static final String DELETE_SQL = "DELETE FROM borrow_info WHERE borrow_id IN (%s)";
+
+    private static final String TEACHER_PAGE_SQL =
+            "SELECT b.borrow_id, b.journal_id, j.NAME AS journal_name, b.borrower_id, t.name, t.department, t.phone, " +
+            "b.start_date, b.end_date, b.return_date, b.STATUS " +
+            "FROM %s b JOIN journal_info j ON j.id = b.journal_id JOIN teacher_info t ON t.teacher_id = b.borrower_id " +
+            "ORDER BY b.start_date DESC, b.borrow_id DESC LIMIT ? OFFSET ?";
+
+    private static final String TEACHER_COUNT_SQL = "SELECT COUNT(*) FROM %s b";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public BorrowHistoryRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 生成按keyColumn过滤的借阅记录派生表，includeArchived为true时合并归档表
+     * SQL中每出现一次需要绑定的参数个数为paramCount(includeArchived)
+     * @param keyColumn 过滤列（borrower_id或journal_id）
+     * @param includeArchived 是否包含已归档记录
+     * @return 派生表SQL（含括号，不含别名）
+     */
+    static String borrowSource(String keyColumn, boolean includeArchived) {
+        String hot = "SELECT " + COLUMNS + " FROM borrow_info WHERE " + keyColumn + " = ?";
+        if (!includeArchived) {
+            return "(" + hot + ")";
+        }
+        return "(" + hot + " UNION ALL SELECT " + COLUMNS + " FROM borrow_history WHERE " + keyColumn + " = ?)";
+    }
+
+    /**
+     * borrowSource中需要绑定的参数个数
+     */
+    static int paramCount(boolean includeArchived) {
+        return includeArchived ? 2 : 1;
+    }
+
+    /**
+     * 锁定一批可归档的记录（已归还且归还日期早于cutoff），必须在事务中调用
+     * 走(STATUS, return_date)索引，只锁定命中的记录，期间并发的复用借阅会等待本批提交
+     * @param cutoff 归还日期上限（不含）
+     * @param limit 每批数量
+     * @return 借阅ID列表
+     */
+    public List<Integer> lockArchivable(LocalDate cutoff, int limit) {
+        return jdbcTemplate.queryForList(LOCK_ARCHIVABLE_SQL, Integer.class, Date.valueOf(cutoff), limit);
+    }
+
+    /**
+     * 把已锁定的记录复制到归档表，再从热表删除，与lockArchivable在同一事务中调用
+     * @param borrowIds 借阅ID列表
+     * @return 移动的记录数
+     */
+    public int moveToHistory(List<Integer> borrowIds) {
+        if (borrowIds.isEmpty()) {
+            return 0;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(borrowIds.size(), "?"));
+        Object[] args = borrowIds.toArray();
+        jdbcTemplate.update(String.format(COPY_SQL, placeholders), args);
+        return jdbcTemplate.update(String.format(DELETE_SQL, placeholders), args);
+    }
+
+    /**
+     * 统计教师已归档的借阅记录数量
+     * @param teacherId 教师ID
+     * @return 数量
+     */
+    public long countArchivedByBorrowerId(Integer teacherId) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM borrow_history WHERE borrower_id = ?",
+                Long.class, teacherId);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * 分页查询教师借阅历史，按借阅日期降序
+     * @param teacherId 教师ID
+     * @param offset 跳过的记录数
+     * @param limit 每页记录数
+     * @param includeArchived 是否包含已归档记录
+     * @return 借阅记录
+     */
+    public List<BorrowDTO> findByBorrowerId(Integer teacherId, int offset, int limit, boolean includeArchived) {
+        String sql = String.format(TEACHER_PAGE_SQL, borrowSource("borrower_id", includeArchived));
+        List<Object> args = new ArrayList<>(Collections.nCopies(paramCount(includeArchived), teacherId));
+        args.add(limit);
+        args.add(offset);
+        return jdbcTemplate.query(sql, (rs, rowNum) -> {
+            BorrowDTO dto = new BorrowDTO();
+            dto.setId(rs.getInt("borrow_id"));
+            dto.setJournalId(rs.getInt("journal_id"));
+            dto.setJournalName(rs.getString("journal_name"));
+            dto.setBorrowerId(rs.getInt("borrower_id"));
+            dto.setBorrowerName(rs.getString("name"));
+            dto.setBorrowerDepartment(rs.getString("department"));
+            dto.setBorrowerPhone(rs.getString("phone"));
+            dto.setStartDate(toLocalDate(rs.getDate("start_date")));
+            dto.setEndDate(toLocalDate(rs.getDate("end_date")));
+            dto.setReturnDate(toLocalDate(rs.getDate("return_date")));
+            dto.setStatus(rs.getString("STATUS"));
+            return dto;
+        }, args.toArray());
+    }
+
+    /**
+     * 统计教师借阅历史数量
+     * @param teacherId 教师ID
+     * @param includeArchived 是否包含已归档记录
+     * @return 数量
+     */
+    public long countByBorrowerId(Integer teacherId, boolean includeArchived) {
+        String sql = String.format(TEACHER_COUNT_SQL, borrowSource("borrower_id", includeArchived));
+        Long count = jdbcTemplate.queryForObject(sql, Long.class,
+                Collections.nCopies(paramCount(includeArchived), teacherId).toArray());
+        return count == null ? 0 : count;
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return date == null ? null : date.toLocalDate();
+    }
+}
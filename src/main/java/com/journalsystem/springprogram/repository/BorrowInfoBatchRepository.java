@@ -0,0 +1,48 @@
+package com.journalsystem.springprogram.repository;
+
+import com.journalsystem.springprogram.pojo.BorrowInfo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.util.List;
+
+/**
+ * 借阅记录批量写入仓库
+ * JPA对手动指定主键的实体saveAll时会逐条先查询再插入，批量借阅改用JDBC批处理，
+ * 配合连接参数rewriteBatchedStatements=true，MySQL驱动会将整批合并为一条多值INSERT
+ * 在@Transactional方法中调用时与JPA共用同一个事务连接
+ */
+@Repository
+public class BorrowInfoBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO borrow_info (borrow_id, journal_id, borrower_id, start_date, end_date, STATUS) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public BorrowInfoBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 批量插入借阅记录
+     * @param borrowInfos 借阅记录，borrower和journal只需包含ID
+     */
+    public void batchInsert(List<BorrowInfo> borrowInfos) {
+        if (borrowInfos.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, borrowInfos, borrowInfos.size(), (ps, borrow) -> {
+            ps.setInt(1, borrow.getId());
+            ps.setInt(2, borrow.getJournal().getId());
+            ps.setInt(3, borrow.getBorrower().getId());
+            ps.setDate(4, Date.valueOf(borrow.getStartDate()));
+            ps.setDate(5, Date.valueOf(borrow.getEndDate()));
+            ps.setString(6, borrow.getStatus());
+        });
+    }
+}
@@ -1,24 +1,173 @@
 package com.journalsystem.springprogram.repository;
 
+import com.journalsystem.springprogram.dto.BorrowDTO;
 import com.journalsystem.springprogram.pojo.BorrowInfo;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 // BorrowInfoRepository.java
 @Repository
 public interface BorrowInfoRepository extends JpaRepository<BorrowInfo, Integer> {
 
+    // 标注@EntityGraph的查询会join查询出借阅人和期刊，调用方读取getBorrower()/getJournal()不再逐行发SQL
+    @Override
+    @EntityGraph(BorrowInfo.GRAPH_BORROWER_JOURNAL)
+    List<BorrowInfo> findAll();
+
+    @Override
+    @EntityGraph(BorrowInfo.GRAPH_BORROWER_JOURNAL)
+    Page<BorrowInfo> findAll(Pageable pageable);
+
+    @EntityGraph(BorrowInfo.GRAPH_BORROWER_JOURNAL)
     List<BorrowInfo> findAllByStatus(String status);
+    @EntityGraph(BorrowInfo.GRAPH_BORROWER_JOURNAL)
     List<BorrowInfo> findAllByStatusIn(List<String> statuses);
+    @EntityGraph(BorrowInfo.GRAPH_BORROWER_JOURNAL)
     Page<BorrowInfo> findByBorrowerId(Integer teacherId, Pageable pageable);
-    
+
+    // 按教师ID查询全部借阅记录（走borrower_id索引）
+    @EntityGraph(BorrowInfo.GRAPH_BORROWER_JOURNAL)
+    List<BorrowInfo> findByBorrowerId(Integer teacherId);
+
+    // 按期刊ID查询全部借阅记录
+    @EntityGraph(BorrowInfo.GRAPH_BORROWER_JOURNAL)
+    List<BorrowInfo> findByJournalId(Integer journalId);
+
+    // 统计教师借阅次数
+    long countByBorrowerId(Integer teacherId);
+
+    // 统计教师逾期借阅数量（状态为逾期，或应还日期早于今天）
+    @Query("SELECT COUNT(b) FROM BorrowInfo b WHERE b.borrower.id = :teacherId " +
+           "AND (b.status = 'overdue' OR b.endDate < :today)")
+    long countOverdueByBorrowerId(@Param("teacherId") Integer teacherId, @Param("today") LocalDate today);
+
+    // 统计教师在指定日期区间内到期的借阅数量（不含已逾期记录）
+    @Query("SELECT COUNT(b) FROM BorrowInfo b WHERE b.borrower.id = :teacherId " +
+           "AND b.status <> 'overdue' AND b.endDate BETWEEN :from AND :to")
+    long countDueBetweenByBorrowerId(@Param("teacherId") Integer teacherId,
+                                     @Param("from") LocalDate from,
+                                     @Param("to") LocalDate to);
+
+    // 查询逾期记录：状态已标记为逾期，或仍为借出但应还日期早于今天（扫描任务尚未处理的部分）
+    @EntityGraph(BorrowInfo.GRAPH_BORROWER_JOURNAL)
+    @Query("SELECT b FROM BorrowInfo b WHERE b.status = 'overdue' " +
+           "OR (b.status = 'borrowed' AND b.endDate < :today)")
+    List<BorrowInfo> findOverdue(@Param("today") LocalDate today);
+
+    @EntityGraph(BorrowInfo.GRAPH_BORROWER_JOURNAL)
+    @Query("SELECT b FROM BorrowInfo b WHERE b.status = 'overdue' " +
+           "OR (b.status = 'borrowed' AND b.endDate < :today)")
+    Page<BorrowInfo> findOverdue(@Param("today") LocalDate today, Pageable pageable);
+
+    @Query("SELECT COUNT(b) FROM BorrowInfo b WHERE b.status = 'overdue' " +
+           "OR (b.status = 'borrowed' AND b.endDate < :today)")
+    long countOverdue(@Param("today") LocalDate today);
+
+    // 将应还日期在[from, today)之间的借出记录批量标记为逾期，返回更新行数
+    @Modifying
+    @Query("UPDATE BorrowInfo b SET b.status = 'overdue' " +
+           "WHERE b.status = 'borrowed' AND b.endDate >= :from AND b.endDate < :today")
+    int markOverdue(@Param("from") LocalDate from, @Param("today") LocalDate today);
+
+    // 批量标记为已归还，已归还的记录不会被重复更新，返回更新行数
+    @Modifying
+    @Query("UPDATE BorrowInfo b SET b.status = 'returned', b.returnDate = :today " +
+           "WHERE b.id IN :ids AND b.status <> 'returned'")
+    int markReturned(@Param("ids") Collection<Integer> ids, @Param("today") LocalDate today);
+
+    // 按教师ID+状态列表分页查询，直接投影为BorrowDTO（一条join查询，不触发延迟加载）
+    @Query(value = "SELECT new com.journalsystem.springprogram.dto.BorrowDTO(" +
+                   "b.id, j.id, j.name, t.id, t.name, t.department, t.phone, b.startDate, b.endDate, b.returnDate, b.status) " +
+                   "FROM BorrowInfo b JOIN b.journal j JOIN b.borrower t " +
+                   "WHERE t.id = :teacherId AND b.status IN :statuses",
+           countQuery = "SELECT COUNT(b) FROM BorrowInfo b WHERE b.borrower.id = :teacherId AND b.status IN :statuses")
+    Page<BorrowDTO> findDTOByBorrowerIdAndStatusIn(@Param("teacherId") Integer teacherId,
+                                                   @Param("statuses") Collection<String> statuses,
+                                                   Pageable pageable);
+
+    // 同上，按(end_date, id)降序取位于游标之后的一页
+    @Query("SELECT new com.journalsystem.springprogram.dto.BorrowDTO(" +
+           "b.id, j.id, j.name, t.id, t.name, t.department, t.phone, b.startDate, b.endDate, b.returnDate, b.status) " +
+           "FROM BorrowInfo b JOIN b.journal j JOIN b.borrower t " +
+           "WHERE t.id = :teacherId AND b.status IN :statuses " +
+           "AND (b.endDate < :endDate OR (b.endDate = :endDate AND b.id < :id)) " +
+           "ORDER BY b.endDate DESC, b.id DESC")
+    Slice<BorrowDTO> findDTOByBorrowerIdAndStatusInAfter(@Param("teacherId") Integer teacherId,
+                                                         @Param("statuses") Collection<String> statuses,
+                                                         @Param("endDate") LocalDate endDate,
+                                                         @Param("id") Integer id,
+                                                         Pageable pageable);
+
+    long countByBorrowerIdAndStatusIn(Integer teacherId, Collection<String> statuses);
+
+    // 按教师ID+状态列表查询借阅记录（走borrower_id+STATUS索引）
+    List<BorrowInfo> findByBorrowerIdAndStatusIn(Integer teacherId, Collection<String> statuses);
+
+    // 教师是否有该期刊处于指定状态的借阅记录
+    boolean existsByBorrowerIdAndJournalIdAndStatusIn(Integer teacherId, Integer journalId, Collection<String> statuses);
+
+    // 查询一批教师对一批期刊未归还的借阅记录，调用方再按(教师, 期刊)匹配
+    @Query("SELECT b FROM BorrowInfo b WHERE b.borrower.id IN :teacherIds AND b.journal.id IN :journalIds " +
+           "AND b.status <> 'returned'")
+    List<BorrowInfo> findActiveByBorrowerIdInAndJournalIdIn(@Param("teacherIds") Collection<Integer> teacherIds,
+                                                            @Param("journalIds") Collection<Integer> journalIds);
+
+    // 批量续借：一条UPDATE把应还日期顺延days天，且不超过借阅日期+maxLoanDays；只更新仍为借出状态的记录，返回更新行数
+    @Modifying
+    @Query(nativeQuery = true, value = "UPDATE borrow_info SET end_date = " +
+           "LEAST(DATE_ADD(end_date, INTERVAL :days DAY), DATE_ADD(start_date, INTERVAL :maxLoanDays DAY)) " +
+           "WHERE borrow_id IN (:ids) AND borrower_id = :teacherId AND STATUS = 'borrowed' " +
+           "AND end_date < DATE_ADD(start_date, INTERVAL :maxLoanDays DAY)")
+    int renewAll(@Param("teacherId") Integer teacherId,
+                 @Param("ids") Collection<Integer> ids,
+                 @Param("days") Integer days,
+                 @Param("maxLoanDays") Integer maxLoanDays);
+
     // 以下分页查询方法
+    @EntityGraph(BorrowInfo.GRAPH_BORROWER_JOURNAL)
     Page<BorrowInfo> findByStatus(String status, Pageable pageable);
+    @EntityGraph(BorrowInfo.GRAPH_BORROWER_JOURNAL)
     Page<BorrowInfo> findByStatusIn(List<String> statuses, Pageable pageable);
+    @EntityGraph(BorrowInfo.GRAPH_BORROWER_JOURNAL)
     Page<BorrowInfo> findByJournalId(Integer journalId, Pageable pageable);
+    @EntityGraph(BorrowInfo.GRAPH_BORROWER_JOURNAL)
     Page<BorrowInfo> findAllByStatusIn(List<String> statuses,Pageable pageable);
-}
\ No newline at end of file
+
+    // 以下游标分页（seek分页）方法，返回Slice，不执行count查询
+    // 按ID降序取id小于游标的一页
+    @EntityGraph(BorrowInfo.GRAPH_BORROWER_JOURNAL)
+    Slice<BorrowInfo> findByIdLessThan(Integer id, Pageable pageable);
+    @EntityGraph(BorrowInfo.GRAPH_BORROWER_JOURNAL)
+    Slice<BorrowInfo> findByStatusInAndIdLessThan(List<String> statuses, Integer id, Pageable pageable);
+    long countByStatusIn(List<String> statuses);
+
+    // 以下按Pageable取前N条，返回List，只执行一条带LIMIT的查询，不执行count查询
+    @EntityGraph(BorrowInfo.GRAPH_BORROWER_JOURNAL)
+    @Query("SELECT b FROM BorrowInfo b")
+    List<BorrowInfo> findLimited(Pageable pageable);
+
+    @EntityGraph(BorrowInfo.GRAPH_BORROWER_JOURNAL)
+    @Query("SELECT b FROM BorrowInfo b WHERE b.status IN :statuses")
+    List<BorrowInfo> findLimitedByStatusIn(@Param("statuses") Collection<String> statuses, Pageable pageable);
+
+    // 按(end_date, id)降序取教师借阅记录中位于游标之后的一页
+    @EntityGraph(BorrowInfo.GRAPH_BORROWER_JOURNAL)
+    @Query("SELECT b FROM BorrowInfo b WHERE b.borrower.id = :teacherId " +
+           "AND (b.endDate < :endDate OR (b.endDate = :endDate AND b.id < :id)) " +
+           "ORDER BY b.endDate DESC, b.id DESC")
+    Slice<BorrowInfo> findByBorrowerIdAfter(@Param("teacherId") Integer teacherId,
+                                            @Param("endDate") LocalDate endDate,
+                                            @Param("id") Integer id,
+                                            Pageable pageable);
+}
@@ -0,0 +1,120 @@
+package com.journalsystem.springprogram.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 借阅统计读模型写入仓库
+ * 投影按增量累加（INSERT ... ON DUPLICATE KEY UPDATE），一个维度一个JDBC批次；
+ * 检查点行用SELECT ... FOR UPDATE加锁，多实例部署时同一时刻只有一个投影在处理
+ */
+@Repository
+public class BorrowStatProjectionRepository {
+
+    /**
+     * 统计维度：表名和主键列
+     */
+    public enum Dimension {
+        TEACHER("teacher_borrow_stat", "teacher_id"),
+        JOURNAL("journal_borrow_stat", "journal_id"),
+        DEPARTMENT("department_borrow_stat", "department");
+
+        private final String table;
+        private final String keyColumn;
+
+        Dimension(String table, String keyColumn) {
+            this.table = table;
+            this.keyColumn = keyColumn;
+        }
+    }
+
+    // 增量数组下标
+    public static final int TOTAL_BORROWS = 0;
+    public static final int CURRENT_BORROWS = 1;
+    public static final int RETURNED_COUNT = 2;
+    public static final int TOTAL_LOAN_DAYS = 3;
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO %1$s (%2$s, total_borrows, current_borrows, returned_count, total_loan_days, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, NOW()) ON DUPLICATE KEY UPDATE " +
+            "total_borrows = total_borrows + VALUES(total_borrows), " +
+            "current_borrows = current_borrows + VALUES(current_borrows), " +
+            "returned_count = returned_count + VALUES(returned_count), " +
+            "total_loan_days = total_loan_days + VALUES(total_loan_days), " +
+            "updated_at = VALUES(updated_at)";
+
+    // 从borrow_info全量重建统计，%1$s为表名，%2$s为主键列，%3$s为分组表达式（按第1列分组）
+    private static final String REBUILD_SQL =
+            "INSERT INTO %1$s (%2$s, total_borrows, current_borrows, returned_count, total_loan_days, updated_at) " +
+            "SELECT %3$s, COUNT(*), " +
+            "       SUM(b.STATUS <> 'returned'), " +
+            "       SUM(b.STATUS = 'returned'), " +
+            "       COALESCE(SUM(CASE WHEN b.STATUS = 'returned' THEN DATEDIFF(b.return_date, b.start_date) END), 0), " +
+            "       NOW() " +
+            "FROM (SELECT borrower_id, journal_id, start_date, return_date, STATUS FROM borrow_info " +
+            "      UNION ALL SELECT borrower_id, journal_id, start_date, return_date, STATUS FROM borrow_history) b " +
+            "LEFT JOIN teacher_info t ON t.teacher_id = b.borrower_id " +
+            "GROUP BY 1";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public BorrowStatProjectionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 锁定并读取投影检查点，检查点不存在时先创建
+     * @param name 投影名称
+     * @return 已处理到的事件ID
+     */
+    public long lockCheckpoint(String name) {
+        jdbcTemplate.update("INSERT IGNORE INTO projection_checkpoint (name, last_event_id) VALUES (?, 0)", name);
+        Long lastEventId = jdbcTemplate.queryForObject(
+                "SELECT last_event_id FROM projection_checkpoint WHERE name = ? FOR UPDATE", Long.class, name);
+        return lastEventId == null ? 0L : lastEventId;
+    }
+
+    /**
+     * 更新投影检查点
+     * @param name 投影名称
+     * @param lastEventId 已处理到的事件ID
+     */
+    public void saveCheckpoint(String name, long lastEventId) {
+        jdbcTemplate.update("UPDATE projection_checkpoint SET last_event_id = ? WHERE name = ?", lastEventId, name);
+    }
+
+    /**
+     * 按维度累加统计增量
+     * @param dimension 统计维度
+     * @param deltas 主键 → 增量数组（下标见TOTAL_BORROWS等常量）
+     */
+    public void applyDeltas(Dimension dimension, Map<?, long[]> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        deltas.forEach((key, delta) -> args.add(new Object[]{
+                key, delta[TOTAL_BORROWS], delta[CURRENT_BORROWS], delta[RETURNED_COUNT], delta[TOTAL_LOAN_DAYS]}));
+        jdbcTemplate.batchUpdate(String.format(UPSERT_SQL, dimension.table, dimension.keyColumn), args);
+    }
+
+    /**
+     * 清空读模型并从borrow_info和归档表borrow_history全量重建
+     * @param unknownDepartment 教师未填写部门（NULL或空字符串）时使用的部门名称，与增量投影一致
+     */
+    public void rebuildFromBorrowInfo(String unknownDepartment) {
+        for (Dimension dimension : Dimension.values()) {
+            jdbcTemplate.update("DELETE FROM " + dimension.table);
+        }
+        jdbcTemplate.update(String.format(REBUILD_SQL, Dimension.TEACHER.table, Dimension.TEACHER.keyColumn, "b.borrower_id"));
+        jdbcTemplate.update(String.format(REBUILD_SQL, Dimension.JOURNAL.table, Dimension.JOURNAL.keyColumn, "b.journal_id"));
+        jdbcTemplate.update(String.format(REBUILD_SQL, Dimension.DEPARTMENT.table, Dimension.DEPARTMENT.keyColumn,
+                "COALESCE(NULLIF(t.department, ''), ?)"), unknownDepartment);
+    }
+}
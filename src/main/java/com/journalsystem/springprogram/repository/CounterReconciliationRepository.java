@@ -0,0 +1,114 @@
+package com.journalsystem.springprogram.repository;
+
+import com.journalsystem.springprogram.dto.CounterDiscrepancyDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 计数对账仓库
+ * 按主键区间分块，每块用一条GROUP BY从borrow_info（期刊还包括journal_hold）重新计算计数，只返回与表中记录不一致的行；
+ * 修正时以读到的旧值为条件更新，对账期间被借阅/归还并发修改的行不会被覆盖
+ * 分块查询只按已有索引做区间扫描，不需要新增表结构：borrow_info按idx_borrow_borrower_status_end（教师）、
+ * idx_borrow_journal_start（期刊），journal_hold按idx_hold_journal_status（见schema.sql）
+ */
+@Repository
+public class CounterReconciliationRepository {
+
+    /**
+     * 需要对账的表
+     */
+    public enum Target {
+        TEACHER("teacher_info", "teacher_id"),
+        JOURNAL("journal_info", "id");
+
+        private final String table;
+        private final String idColumn;
+
+        Target(String table, String idColumn) {
+            this.table = table;
+            this.idColumn = idColumn;
+        }
+    }
+
+    private static final String CHUNK_IDS_SQL = "SELECT %2$s FROM %1$s WHERE %2$s > ? ORDER BY %2$s LIMIT ?";
+
+    // 教师当前借阅数量 = 未归还的借阅记录数
+    private static final String TEACHER_DIFF_SQL =
+            "SELECT t.teacher_id AS id, t.current_borrow AS stored, COALESCE(b.cnt, 0) AS actual " +
+            "FROM teacher_info t " +
+            "LEFT JOIN (SELECT borrower_id, COUNT(*) AS cnt FROM borrow_info " +
+            "           WHERE borrower_id > ? AND borrower_id <= ? AND STATUS <> 'returned' GROUP BY borrower_id) b " +
+            "       ON b.borrower_id = t.teacher_id " +
+            "WHERE t.teacher_id > ? AND t.teacher_id <= ? AND NOT (t.current_borrow <=> COALESCE(b.cnt, 0))";
+
+    // 期刊可借数量 = 总数量 - 未归还的借阅记录数 - 为预约保留的副本数（不小于0）
+    private static final String JOURNAL_DIFF_SQL =
+            "SELECT j.id AS id, j.available_quantity AS stored, " +
+            "       GREATEST(COALESCE(j.total_quantity, 0) - COALESCE(b.cnt, 0) - COALESCE(h.cnt, 0), 0) AS actual " +
+            "FROM journal_info j " +
+            "LEFT JOIN (SELECT journal_id, COUNT(*) AS cnt FROM borrow_info " +
+            "           WHERE journal_id > ? AND journal_id <= ? AND STATUS <> 'returned' GROUP BY journal_id) b " +
+            "       ON b.journal_id = j.id " +
+            "LEFT JOIN (SELECT journal_id, COUNT(*) AS cnt FROM journal_hold " +
+            "           WHERE journal_id > ? AND journal_id <= ? AND STATUS = 'ready' GROUP BY journal_id) h " +
+            "       ON h.journal_id = j.id " +
+            "WHERE j.id > ? AND j.id <= ? " +
+            "AND NOT (j.available_quantity <=> GREATEST(COALESCE(j.total_quantity, 0) - COALESCE(b.cnt, 0) - COALESCE(h.cnt, 0), 0))";
+
+    private static final String FIX_TEACHER_SQL =
+            "UPDATE teacher_info SET current_borrow = ?, version = version + 1 WHERE teacher_id = ? AND current_borrow <=> ?";
+
+    private static final String FIX_JOURNAL_SQL =
+            "UPDATE journal_info SET available_quantity = ?, version = version + 1 WHERE id = ? AND available_quantity <=> ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public CounterReconciliationRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 取主键大于afterId的一块ID
+     * @param target 目标表
+     * @param afterId 上一块的最大ID
+     * @param limit 块大小
+     * @return 升序的ID列表，为空时表示已处理完
+     */
+    public List<Integer> findChunkIds(Target target, Integer afterId, int limit) {
+        return jdbcTemplate.queryForList(String.format(CHUNK_IDS_SQL, target.table, target.idColumn),
+                Integer.class, afterId, limit);
+    }
+
+    /**
+     * 查询主键在(fromId, toId]之间计数不一致的行
+     * @param target 目标表
+     * @param fromId 区间下界（不含）
+     * @param toId 区间上界（含）
+     * @return 不一致的行，fixed尚未设置
+     */
+    public List<CounterDiscrepancyDTO> findDiscrepancies(Target target, Integer fromId, Integer toId) {
+        if (target == Target.TEACHER) {
+            return jdbcTemplate.query(TEACHER_DIFF_SQL, (rs, rowNum) -> new CounterDiscrepancyDTO(
+                    CounterDiscrepancyDTO.TEACHER_CURRENT_BORROW, rs.getInt("id"), rs.getObject("stored", Integer.class),
+                    rs.getInt("actual")), fromId, toId, fromId, toId);
+        }
+        return jdbcTemplate.query(JOURNAL_DIFF_SQL, (rs, rowNum) -> new CounterDiscrepancyDTO(
+                CounterDiscrepancyDTO.JOURNAL_AVAILABLE_QUANTITY, rs.getInt("id"), rs.getObject("stored", Integer.class),
+                rs.getInt("actual")), fromId, toId, fromId, toId, fromId, toId);
+    }
+
+    /**
+     * 修正一处不一致：仅当表中的值仍为读到的旧值时更新（不一致的行很少，逐行更新以得到准确的更新结果）
+     * @param target 目标表
+     * @param discrepancy 不一致的行
+     * @return 是否已修正
+     */
+    public boolean fix(Target target, CounterDiscrepancyDTO discrepancy) {
+        String sql = target == Target.TEACHER ? FIX_TEACHER_SQL : FIX_JOURNAL_SQL;
+        return jdbcTemplate.update(sql, discrepancy.getActualValue(), discrepancy.getId(), discrepancy.getStoredValue()) > 0;
+    }
+}
@@ -0,0 +1,14 @@
+package com.journalsystem.springprogram.repository;
+
+import com.journalsystem.springprogram.pojo.DepartmentBorrowStat;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface DepartmentBorrowStatRepository extends JpaRepository<DepartmentBorrowStat, String> {
+    //按累计借阅次数降序查询部门借阅统计
+    List<DepartmentBorrowStat> findAllByOrderByTotalBorrowsDesc(Pageable pageable);
+}
@@ -0,0 +1,93 @@
+package com.journalsystem.springprogram.repository;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * 主键号段仓库
+ * 取号段用一条UPDATE完成：next_id加上号段大小，同时通过LAST_INSERT_ID(expr)把新值记在当前连接上，
+ * 随后的SELECT LAST_INSERT_ID()不访问表；多个实例并发取号段时由id_block行锁串行，号段互不重叠
+ * 使用独立的小连接池（与业务连接池的数据库配置相同，不注册为DataSource Bean）：取号段发生在借阅事务中，
+ * 外层事务已占用一个业务连接并持有期刊/教师的行锁，业务连接池被并发借阅占满时也能取到连接，不会等待连接超时
+ * 每条语句单独自动提交，id_block的行锁只持有一条UPDATE的时间
+ */
+@Repository
+public class IdBlockRepository implements DisposableBean {
+
+    // 号段行不存在时按目标表当前最大ID初始化，已存在时忽略
+    private static final String INIT_SQL =
+            "INSERT IGNORE INTO id_block (name, next_id) SELECT ?, COALESCE(MAX(%s), 0) + 1 FROM %s";
+
+    private static final String RESERVE_SQL =
+            "UPDATE id_block SET next_id = LAST_INSERT_ID(next_id + ?) WHERE name = ?";
+
+    private final HikariDataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public IdBlockRepository(DataSourceProperties dataSourceProperties,
+                             @Value("${journal.id-block.pool-size:2}") int poolSize) {
+        this.dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        this.dataSource.setPoolName("id-block");
+        this.dataSource.setMaximumPoolSize(Math.max(1, poolSize));
+        this.dataSource.setMinimumIdle(0);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * 初始化号段行，应用每个实例对每张表只需执行一次
+     * @param name 号段名称
+     * @param table 目标表
+     * @param idColumn 目标表主键列
+     */
+    public void init(String name, String table, String idColumn) {
+        jdbcTemplate.update(String.format(INIT_SQL, idColumn, table), name);
+    }
+
+    /**
+     * 查询号段下一个未分配的ID
+     * @param name 号段名称
+     * @return 下一个未分配的ID，号段行不存在时为null
+     */
+    public Long findNextId(String name) {
+        List<Long> nextIds = jdbcTemplate.queryForList("SELECT next_id FROM id_block WHERE name = ?", Long.class, name);
+        return nextIds.isEmpty() ? null : nextIds.get(0);
+    }
+
+    /**
+     * 取走一个号段，UPDATE与SELECT LAST_INSERT_ID()在同一个连接上执行
+     * @param name 号段名称
+     * @param size 号段大小
+     * @return 号段的第一个ID，号段为[返回值, 返回值+size)；号段行不存在时返回null
+     */
+    public Long reserve(String name, int size) {
+        return jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try (PreparedStatement update = connection.prepareStatement(RESERVE_SQL)) {
+                update.setInt(1, size);
+                update.setString(2, name);
+                if (update.executeUpdate() == 0) {
+                    return null;
+                }
+            }
+            try (PreparedStatement select = connection.prepareStatement("SELECT LAST_INSERT_ID()");
+                 ResultSet rs = select.executeQuery()) {
+                return rs.next() ? rs.getLong(1) - size : null;
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        dataSource.close();
+    }
+}
@@ -0,0 +1,87 @@
+package com.journalsystem.springprogram.repository;
+
+import com.journalsystem.springprogram.dto.JournalAvailabilityDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 期刊可借预测查询仓库
+ * 一批期刊在一条SQL中返回：期刊表LEFT JOIN按期刊分组的借出汇总、排队汇总和预计归还日期
+ * 新预约前面有waiting_count人排队，归还的副本按排队顺序分配，新预约拿到的是今天及以后第(waiting_count + 1)个到期的副本，
+ * 因此按应还日期给每本期刊未来到期的借出记录编号，取编号为waiting_count + 1的应还日期；已逾期的记录归还时间无法预计，不参与预测，
+ * 未来到期的记录不够时不返回预计日期
+ * 借出汇总和到期编号按(journal_id, STATUS)过滤，走idx_borrow_journal_status_end索引；
+ * 排队汇总走idx_hold_journal_status索引，都只扫描请求的期刊
+ */
+@Repository
+public class JournalAvailabilityRepository {
+
+    private static final String AVAILABILITY_SQL =
+            "SELECT j.id, j.NAME, j.STATUS, j.available_quantity, " +
+            "b.borrowed_count, r.end_date AS expected_end, h.waiting_count " +
+            "FROM journal_info j " +
+            "LEFT JOIN (SELECT journal_id, COUNT(*) AS borrowed_count " +
+            "           FROM borrow_info WHERE journal_id IN (%1$s) AND STATUS IN ('borrowed', 'overdue') " +
+            "           GROUP BY journal_id) b ON b.journal_id = j.id " +
+            "LEFT JOIN (SELECT journal_id, COUNT(*) AS waiting_count " +
+            "           FROM journal_hold WHERE journal_id IN (%1$s) AND STATUS = 'waiting' " +
+            "           GROUP BY journal_id) h ON h.journal_id = j.id " +
+            "LEFT JOIN (SELECT journal_id, end_date, " +
+            "                  ROW_NUMBER() OVER (PARTITION BY journal_id ORDER BY end_date, borrow_id) AS rn " +
+            "           FROM borrow_info WHERE journal_id IN (%1$s) AND STATUS IN ('borrowed', 'overdue') " +
+            "           AND end_date >= ?) r ON r.journal_id = j.id AND r.rn = COALESCE(h.waiting_count, 0) + 1 " +
+            "WHERE j.id IN (%1$s) " +
+            "ORDER BY j.id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public JournalAvailabilityRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 查询一批期刊的可借预测
+     * 有可借副本的期刊只返回可借数量和借出数量；无可借副本时再填写新预约的预计归还日期和排队人数
+     * @param journalIds 期刊ID列表，不存在的ID不返回
+     * @return 按期刊ID升序的可借预测
+     */
+    public List<JournalAvailabilityDTO> findAvailability(Collection<Integer> journalIds) {
+        if (journalIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(journalIds.size(), "?"));
+        String sql = String.format(AVAILABILITY_SQL, placeholders);
+        // 四处IN条件各绑定一次期刊ID列表，到期编号只统计今天及以后到期的记录
+        List<Object> args = new ArrayList<>(4 * journalIds.size() + 1);
+        args.addAll(journalIds);
+        args.addAll(journalIds);
+        args.addAll(journalIds);
+        args.add(Date.valueOf(LocalDate.now()));
+        args.addAll(journalIds);
+
+        return jdbcTemplate.query(sql, (rs, rowNum) -> {
+            JournalAvailabilityDTO dto = new JournalAvailabilityDTO();
+            dto.setJournalId(rs.getInt("id"));
+            dto.setJournalName(rs.getString("NAME"));
+            dto.setStatus(rs.getString("STATUS"));
+            int available = rs.getInt("available_quantity");
+            dto.setAvailableQuantity(available);
+            dto.setBorrowedCount(rs.getLong("borrowed_count"));
+            if (available <= 0) {
+                Date expectedEnd = rs.getDate("expected_end");
+                dto.setEarliestReturnDate(expectedEnd == null ? null : expectedEnd.toLocalDate());
+                dto.setQueuePosition(rs.getLong("waiting_count"));
+            }
+            return dto;
+        }, args.toArray());
+    }
+}
@@ -0,0 +1,99 @@
+package com.journalsystem.springprogram.repository;
+
+import com.journalsystem.springprogram.dto.BorrowDTO;
+import com.journalsystem.springprogram.dto.JournalBorrowHistoryDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 期刊借阅历史查询仓库
+ * 汇总子查询与分页子查询LEFT JOIN在一条SQL中返回：每行都带汇总列，页为空时仍返回一行汇总
+ * 两个子查询都按journal_id过滤，分页按(start_date, borrow_id)排序，走idx_borrow_journal_start索引
+ * 默认只查询热表borrow_info，查询完整历史时合并归档表borrow_history（见BorrowHistoryRepository.borrowSource）
+ */
+@Repository
+public class JournalBorrowHistoryRepository {
+
+    private static final String HISTORY_SQL =
+            "SELECT s.total_borrows, s.currently_out, s.avg_loan_days, " +
+            "p.borrow_id, p.borrower_id, t.name, t.department, t.phone, p.start_date, p.end_date, p.return_date, p.STATUS " +
+            "FROM (SELECT COUNT(*) AS total_borrows, " +
+            "             COALESCE(SUM(STATUS <> 'returned'), 0) AS currently_out, " +
+            "             AVG(CASE WHEN STATUS = 'returned' THEN DATEDIFF(return_date, start_date) END) AS avg_loan_days " +
+            "      FROM %2$s a) s " +
+            "LEFT JOIN (SELECT borrow_id, borrower_id, start_date, end_date, return_date, STATUS " +
+            "           FROM %2$s b " +
+            "           ORDER BY start_date %1$s, borrow_id %1$s LIMIT ? OFFSET ?) p ON TRUE " +
+            "LEFT JOIN teacher_info t ON t.teacher_id = p.borrower_id " +
+            "ORDER BY p.start_date %1$s, p.borrow_id %1$s";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public JournalBorrowHistoryRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 查询期刊的一页借阅记录及借阅汇总
+     * @param journalId 期刊ID
+     * @param offset 跳过的记录数
+     * @param limit 每页记录数
+     * @param ascending 是否按借阅日期升序，false为降序（最近的在前）
+     * @param includeArchived 是否包含已归档记录
+     * @return 借阅历史，分页字段由调用方填写
+     */
+    public JournalBorrowHistoryDTO findHistory(Integer journalId, int offset, int limit, boolean ascending,
+                                               boolean includeArchived) {
+        String sql = String.format(HISTORY_SQL, ascending ? "ASC" : "DESC",
+                BorrowHistoryRepository.borrowSource("journal_id", includeArchived));
+        // 汇总子查询和分页子查询各绑定一次期刊ID，最后是分页参数
+        List<Object> args = new ArrayList<>(Collections.nCopies(
+                2 * BorrowHistoryRepository.paramCount(includeArchived), journalId));
+        args.add(limit);
+        args.add(offset);
+        JournalBorrowHistoryDTO history = new JournalBorrowHistoryDTO();
+        history.setJournalId(journalId);
+        history.setRecords(new ArrayList<>());
+
+        jdbcTemplate.query(sql, rs -> {
+            // 汇总列每行相同，取第一行即可
+            if (history.getTotalBorrows() == null) {
+                history.setTotalBorrows(rs.getLong("total_borrows"));
+                history.setCurrentlyOut(rs.getLong("currently_out"));
+                double avg = rs.getDouble("avg_loan_days");
+                history.setAverageLoanDays(rs.wasNull() ? null : avg);
+            }
+            // LEFT JOIN没有匹配到分页记录时borrow_id为null
+            int borrowId = rs.getInt("borrow_id");
+            if (rs.wasNull()) {
+                return;
+            }
+            BorrowDTO dto = new BorrowDTO();
+            dto.setId(borrowId);
+            dto.setJournalId(journalId);
+            dto.setBorrowerId(rs.getInt("borrower_id"));
+            dto.setBorrowerName(rs.getString("name"));
+            dto.setBorrowerDepartment(rs.getString("department"));
+            dto.setBorrowerPhone(rs.getString("phone"));
+            dto.setStartDate(toLocalDate(rs.getDate("start_date")));
+            dto.setEndDate(toLocalDate(rs.getDate("end_date")));
+            dto.setReturnDate(toLocalDate(rs.getDate("return_date")));
+            dto.setStatus(rs.getString("STATUS"));
+            history.getRecords().add(dto);
+        }, args.toArray());
+
+        return history;
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return date == null ? null : date.toLocalDate();
+    }
+}
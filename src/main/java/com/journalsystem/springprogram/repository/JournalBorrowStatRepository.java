@@ -0,0 +1,14 @@
+package com.journalsystem.springprogram.repository;
+
+import com.journalsystem.springprogram.pojo.JournalBorrowStat;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface JournalBorrowStatRepository extends JpaRepository<JournalBorrowStat, Integer> {
+    //按累计借阅次数降序查询期刊借阅统计
+    List<JournalBorrowStat> findAllByOrderByTotalBorrowsDesc(Pageable pageable);
+}
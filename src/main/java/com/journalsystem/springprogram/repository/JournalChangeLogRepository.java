@@ -0,0 +1,92 @@
+package com.journalsystem.springprogram.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 期刊变更日志仓库
+ * 期刊字段被修改或期刊被删除时，与修改在同一事务中写入一行（期刊ID、写入的实例）；只修改库存的借阅/归还不写入，
+ * 其他实例的库存由期刊缓存的短过期时间刷新（见JournalCatalogCache）
+ * 其他实例定时读取最近的变更，使本地的期刊缓存、检索索引和输入提示失效/更新（见JournalCatalogSyncTask）
+ * 按写入时间读取，走idx_journal_change_time索引；时间取数据库时钟，与各实例的本地时钟无关
+ */
+@Repository
+public class JournalChangeLogRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO journal_change_log (journal_id, node_id, changed_at) VALUES (?, ?, NOW(6))";
+
+    private static final String RECENT_SQL =
+            "SELECT change_id, journal_id FROM journal_change_log " +
+            "WHERE changed_at >= NOW(6) - INTERVAL ? SECOND AND node_id <> ? ORDER BY change_id";
+
+    private static final String PURGE_SQL =
+            "DELETE FROM journal_change_log WHERE changed_at < NOW(6) - INTERVAL ? MINUTE LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public JournalChangeLogRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 记录期刊变更，有事务时随事务提交/回滚
+     * @param nodeId 写入的实例
+     * @param journalIds 被修改的期刊ID
+     */
+    public void record(String nodeId, Collection<Integer> journalIds) {
+        List<Object[]> args = new ArrayList<>(journalIds.size());
+        for (Integer journalId : journalIds) {
+            args.add(new Object[]{journalId, nodeId});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, args);
+    }
+
+    /**
+     * 查询最近一段时间内其他实例写入的变更
+     * @param excludeNodeId 本实例标识，本实例的变更已在本地生效，不再读取
+     * @param lookbackSeconds 回看的秒数
+     * @return 按change_id升序的变更
+     */
+    public List<Change> findRecent(String excludeNodeId, int lookbackSeconds) {
+        return jdbcTemplate.query(RECENT_SQL, (rs, rowNum) -> new Change(rs.getLong("change_id"), rs.getInt("journal_id")),
+                lookbackSeconds, excludeNodeId);
+    }
+
+    /**
+     * 删除一批早于保留时间的变更
+     * @param retentionMinutes 保留的分钟数
+     * @param limit 本批最多删除的行数
+     * @return 删除的行数
+     */
+    public int purge(int retentionMinutes, int limit) {
+        return jdbcTemplate.update(PURGE_SQL, retentionMinutes, limit);
+    }
+
+    /**
+     * 一条期刊变更
+     */
+    public static final class Change {
+        private final long changeId;
+        private final int journalId;
+
+        public Change(long changeId, int journalId) {
+            this.changeId = changeId;
+            this.journalId = journalId;
+        }
+
+        public long getChangeId() {
+            return changeId;
+        }
+
+        public int getJournalId() {
+            return journalId;
+        }
+    }
+}
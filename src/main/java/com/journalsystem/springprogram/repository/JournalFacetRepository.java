@@ -0,0 +1,82 @@
+package com.journalsystem.springprogram.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 多条件搜索的分面统计仓库
+ * 分类、状态、出版社三个分组统计用UNION ALL拼成一条SQL，一次往返返回全部分面，
+ * 代替按每个取值分别调用findByMultiConditions；每个分面应用除自身以外的全部过滤条件
+ */
+@Repository
+public class JournalFacetRepository {
+
+    // 关键词语义与findByMultiConditions一致：名称LIKE '%keyword%'
+    private static final String KEYWORD_CONDITION = "(? IS NULL OR NAME LIKE CONCAT('%', ?, '%'))";
+    private static final String ISSN_CONDITION = "(? IS NULL OR ISSN = ?)";
+    private static final String CATEGORY_CONDITION = "(? IS NULL OR category = ?)";
+    private static final String STATUS_CONDITION = "(? IS NULL OR STATUS = ?)";
+    private static final String PUBLISHER_CONDITION = "(? IS NULL OR publisher = ?)";
+
+    private static final String FACET_SQL =
+            "SELECT 'category' AS facet, category AS val, COUNT(*) AS cnt FROM journal_info " +
+            "WHERE category IS NOT NULL AND " + KEYWORD_CONDITION + " AND " + ISSN_CONDITION + " AND " +
+            STATUS_CONDITION + " AND " + PUBLISHER_CONDITION + " GROUP BY category " +
+            "UNION ALL " +
+            "SELECT 'status', STATUS, COUNT(*) FROM journal_info " +
+            "WHERE STATUS IS NOT NULL AND " + KEYWORD_CONDITION + " AND " + ISSN_CONDITION + " AND " +
+            CATEGORY_CONDITION + " AND " + PUBLISHER_CONDITION + " GROUP BY STATUS " +
+            "UNION ALL " +
+            "SELECT 'publisher', publisher, COUNT(*) FROM journal_info " +
+            "WHERE publisher IS NOT NULL AND " + KEYWORD_CONDITION + " AND " + ISSN_CONDITION + " AND " +
+            CATEGORY_CONDITION + " AND " + STATUS_CONDITION + " GROUP BY publisher";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public JournalFacetRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 统计分类、状态、出版社各取值的期刊数
+     * @param keyword 名称模糊匹配，为null时不过滤
+     * @param category 分类精确匹配，为null时不过滤
+     * @param issn ISSN精确匹配，为null时不过滤
+     * @param status 状态精确匹配，为null时不过滤
+     * @param publisher 出版社精确匹配，为null时不过滤
+     * @return 分面名（category/status/publisher） → (取值 → 期刊数)，取值为空的期刊不计入
+     */
+    public Map<String, Map<String, Long>> countFacets(String keyword, String category, String issn,
+                                                      String status, String publisher) {
+        // 1. 按SQL中条件出现的顺序绑定参数，每个条件绑定两次（判空一次、比较一次）
+        List<Object> args = new ArrayList<>();
+        addArgs(args, keyword, issn, status, publisher);
+        addArgs(args, keyword, issn, category, publisher);
+        addArgs(args, keyword, issn, category, status);
+
+        // 2. 按分面名归类
+        Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        facets.put("category", new HashMap<>());
+        facets.put("status", new HashMap<>());
+        facets.put("publisher", new HashMap<>());
+        jdbcTemplate.query(FACET_SQL, rs -> {
+            facets.get(rs.getString("facet")).put(rs.getString("val"), rs.getLong("cnt"));
+        }, args.toArray());
+        return facets;
+    }
+
+    private static void addArgs(List<Object> args, String... values) {
+        for (String value : values) {
+            args.add(value);
+            args.add(value);
+        }
+    }
+}
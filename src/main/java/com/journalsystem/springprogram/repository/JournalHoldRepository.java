@@ -0,0 +1,57 @@
+package com.journalsystem.springprogram.repository;
+
+import com.journalsystem.springprogram.pojo.JournalHold;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface JournalHoldRepository extends JpaRepository<JournalHold, Long> {
+    //按排队顺序取期刊指定状态的预约
+    List<JournalHold> findByJournalIdAndStatusOrderByIdAsc(Integer journalId, String status, Pageable pageable);
+
+    //查询期刊指定状态列表的全部预约（管理员查看队列）
+    List<JournalHold> findByJournalIdAndStatusInOrderByIdAsc(Integer journalId, Collection<String> statuses);
+
+    //查询教师指定状态列表的预约
+    List<JournalHold> findByTeacherIdAndStatusInOrderByIdDesc(Integer teacherId, Collection<String> statuses);
+
+    //查询教师对一批期刊处于指定状态的预约
+    List<JournalHold> findByTeacherIdAndStatusAndJournalIdIn(Integer teacherId, String status, Collection<Integer> journalIds);
+
+    //教师对该期刊是否已有未完成的预约
+    boolean existsByTeacherIdAndJournalIdAndStatusIn(Integer teacherId, Integer journalId, Collection<String> statuses);
+
+    //排在该预约前面的人数
+    long countByJournalIdAndStatusAndIdLessThan(Integer journalId, String status, Long id);
+
+    //查询一批期刊中有排队预约的期刊ID
+    @Query("SELECT DISTINCT h.journalId FROM JournalHold h WHERE h.journalId IN :journalIds AND h.status = 'waiting'")
+    List<Integer> findJournalIdsWithWaitingHolds(@Param("journalIds") Collection<Integer> journalIds);
+
+    //查询已超过保留期限的待借阅预约
+    List<JournalHold> findByStatusAndExpireAtBeforeOrderByIdAsc(String status, LocalDateTime now, Pageable pageable);
+
+    //条件更新预约状态：仅当当前状态为fromStatus时更新，返回受影响行数（0表示已被并发处理）
+    @Modifying
+    @Query("UPDATE JournalHold h SET h.status = :toStatus WHERE h.id = :id AND h.status = :fromStatus")
+    int updateStatus(@Param("id") Long id, @Param("fromStatus") String fromStatus, @Param("toStatus") String toStatus);
+
+    //分配副本：排队中的预约转为待借阅，并设置保留截止时间
+    @Modifying
+    @Query("UPDATE JournalHold h SET h.status = 'ready', h.readyAt = :now, h.expireAt = :expireAt " +
+           "WHERE h.id = :id AND h.status = 'waiting'")
+    int markReady(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("expireAt") LocalDateTime expireAt);
+
+    //批量完成预约：教师借阅了已分配的期刊
+    @Modifying
+    @Query("UPDATE JournalHold h SET h.status = 'fulfilled' WHERE h.id IN :ids AND h.status = 'ready'")
+    int markFulfilled(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,91 @@
+package com.journalsystem.springprogram.repository;
+
+import com.journalsystem.springprogram.common.PageResult;
+import com.journalsystem.springprogram.dto.JournalNameMatchDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 按多个名称批量模糊搜索期刊的仓库
+ * 输入名称拼成一张派生表与journal_info按LIKE连接，按期刊ID分组去重并用GROUP_CONCAT记录命中了哪些名称；
+ * 匹配结果作为CTE只计算一次，总数子查询与分页子查询LEFT JOIN在一条SQL中返回，页为空时仍返回一行总数
+ */
+@Repository
+public class JournalNameSearchRepository {
+
+    private static final String MATCH_SQL =
+            "WITH m AS (SELECT j.id, GROUP_CONCAT(t.idx ORDER BY t.idx) AS matched " +
+            "           FROM journal_info j JOIN (%s) t ON j.NAME LIKE t.pattern " +
+            "           GROUP BY j.id) " +
+            "SELECT s.total, p.id, p.NAME, p.ISSN, p.category, p.publisher, p.STATUS, " +
+            "p.total_quantity, p.available_quantity, p.matched " +
+            "FROM (SELECT COUNT(*) AS total FROM m) s " +
+            "LEFT JOIN (SELECT j.id, j.NAME, j.ISSN, j.category, j.publisher, j.STATUS, " +
+            "                  j.total_quantity, j.available_quantity, m.matched " +
+            "           FROM m JOIN journal_info j ON j.id = m.id " +
+            "           ORDER BY j.id DESC LIMIT ? OFFSET ?) p ON TRUE " +
+            "ORDER BY p.id DESC";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public JournalNameSearchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 查询名称包含任一输入名称的期刊（按期刊ID降序分页）
+     * @param terms 输入名称，非空；%、_按普通字符匹配
+     * @param offset 跳过的记录数
+     * @param limit 每页记录数
+     * @return 分页数据和去重后的总数，分页字段由调用方填写
+     */
+    public PageResult<JournalNameMatchDTO> findByNames(List<String> terms, int offset, int limit) {
+        // 1. 输入名称拼成 (idx, pattern) 派生表，idx为名称在列表中的下标，由代码生成，直接写入SQL
+        StringBuilder termTable = new StringBuilder();
+        List<Object> args = new ArrayList<>();
+        for (int i = 0; i < terms.size(); i++) {
+            termTable.append(i == 0 ? "SELECT 0 AS idx, ? AS pattern" : " UNION ALL SELECT " + i + ", ?");
+            args.add("%" + escapeLike(terms.get(i)) + "%");
+        }
+        args.add(limit);
+        args.add(offset);
+
+        // 2. 总数列每行相同；LEFT JOIN没有匹配到分页记录时id为null
+        PageResult<JournalNameMatchDTO> result = new PageResult<>();
+        List<JournalNameMatchDTO> data = new ArrayList<>();
+        result.setData(data);
+        jdbcTemplate.query(String.format(MATCH_SQL, termTable), rs -> {
+            result.setTotal(rs.getLong("total"));
+            int id = rs.getInt("id");
+            if (rs.wasNull()) {
+                return;
+            }
+            JournalNameMatchDTO dto = new JournalNameMatchDTO();
+            dto.setId(id);
+            dto.setName(rs.getString("NAME"));
+            dto.setIssn(rs.getString("ISSN"));
+            dto.setCategory(rs.getString("category"));
+            dto.setPublisher(rs.getString("publisher"));
+            dto.setStatus(rs.getString("STATUS"));
+            dto.setTotalQuantity(rs.getInt("total_quantity"));
+            dto.setAvailableQuantity(rs.getInt("available_quantity"));
+            List<String> matched = new ArrayList<>();
+            for (String idx : rs.getString("matched").split(",")) {
+                matched.add(terms.get(Integer.parseInt(idx)));
+            }
+            dto.setMatchedTerms(matched);
+            data.add(dto);
+        }, args.toArray());
+        return result;
+    }
+
+    // 转义LIKE通配符，输入名称按字面匹配
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
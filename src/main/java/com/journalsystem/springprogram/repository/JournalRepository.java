@@ -3,12 +3,15 @@ package com.journalsystem.springprogram.repository;
 import com.journalsystem.springprogram.pojo.JournalInfo;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository//标记为仓库层组件
@@ -36,19 +39,57 @@ public interface JournalRepository extends JpaRepository<JournalInfo, Integer> {
     // 分页查询可借阅期刊
     Page<JournalInfo> findByStatus(String status, Pageable pageable);
 
+    // 只查询可借数量，供期刊缓存刷新库存（期刊不存在时为null）
+    @Query("SELECT j.availableQuantity FROM JournalInfo j WHERE j.id = :id")
+    Integer findAvailableQuantityById(@Param("id") Integer id);
+
+    // 原子扣减可借数量：仅当可借数量大于0时扣减，返回受影响行数（0表示库存不足或期刊不存在）
+    @Modifying
+    @Query("UPDATE JournalInfo j SET j.availableQuantity = j.availableQuantity - 1, j.version = j.version + 1 " +
+           "WHERE j.id = :id AND j.availableQuantity > 0")
+    int decrementAvailableQuantity(@Param("id") Integer id);
+
+    // 批量扣减可借数量：一条UPDATE处理多本期刊，返回实际扣减的期刊数（少于传入数量说明有期刊已被并发借完）
+    @Modifying
+    @Query("UPDATE JournalInfo j SET j.availableQuantity = j.availableQuantity - 1, j.version = j.version + 1 " +
+           "WHERE j.id IN :ids AND j.availableQuantity > 0")
+    int decrementAvailableQuantityIn(@Param("ids") Collection<Integer> ids);
+
+    // 批量归还可借数量：同一批中归还数量相同的期刊合并为一条UPDATE
+    @Modifying
+    @Query("UPDATE JournalInfo j SET j.availableQuantity = j.availableQuantity + :count, j.version = j.version + 1 " +
+           "WHERE j.id IN :ids")
+    int incrementAvailableQuantityIn(@Param("ids") Collection<Integer> ids, @Param("count") Integer count);
+
+    // 根据ISSN批量查询期刊
+    List<JournalInfo> findByIssnIn(Collection<String> issns);
+
+    // 原子归还可借数量：在数据库中+1，不覆盖并发扣减的结果
+    @Modifying
+    @Query("UPDATE JournalInfo j SET j.availableQuantity = j.availableQuantity + 1, j.version = j.version + 1 " +
+           "WHERE j.id = :id")
+    int incrementAvailableQuantity(@Param("id") Integer id);
+
     // 新增：按ISSN模糊查询（忽略大小写）+ 分页
     Page<JournalInfo> findByIssnContainingIgnoreCase(String issn, Pageable pageable);
 
+    // 游标分页（seek分页）：按ID降序取id小于游标的一页，不执行count查询
+    Slice<JournalInfo> findByIdLessThan(Integer id, Pageable pageable);
+    Slice<JournalInfo> findByIssnContainingIgnoreCaseAndIdLessThan(String issn, Integer id, Pageable pageable);
+    long countByIssnContainingIgnoreCase(String issn);
+
     // 新增：多条件搜索期刊（支持部分条件为null）+ 分页
     @Query("SELECT j FROM JournalInfo j WHERE " +
            "(:#{#keyword} IS NULL OR j.name LIKE %:#{#keyword}%) AND " +
            "(:#{#category} IS NULL OR j.category = :#{#category}) AND " +
            "(:#{#issn} IS NULL OR j.issn = :#{#issn}) AND " +
-           "(:#{#status} IS NULL OR j.status = :#{#status})")
+           "(:#{#status} IS NULL OR j.status = :#{#status}) AND " +
+           "(:#{#publisher} IS NULL OR j.publisher = :#{#publisher})")
     Page<JournalInfo> findByMultiConditions(
         @Param("keyword") String keyword,
         @Param("category") String category,
         @Param("issn") String issn,
         @Param("status") String status,
+        @Param("publisher") String publisher,
         Pageable pageable);
 }
\ No newline at end of file
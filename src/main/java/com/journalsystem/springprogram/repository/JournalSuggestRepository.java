@@ -0,0 +1,38 @@
+package com.journalsystem.springprogram.repository;
+
+import com.journalsystem.springprogram.dto.JournalSuggestionDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 期刊输入提示数据仓库
+ * 只读取名称、ISSN和借阅统计中的累计借阅次数，不加载期刊简介等大字段
+ */
+@Repository
+public class JournalSuggestRepository {
+
+    private static final String SELECT_SQL =
+            "SELECT j.id, j.NAME, j.ISSN, COALESCE(s.total_borrows, 0) AS popularity " +
+            "FROM journal_info j LEFT JOIN journal_borrow_stat s ON s.journal_id = j.id";
+
+    private static final RowMapper<JournalSuggestionDTO> ROW_MAPPER = (rs, rowNum) -> new JournalSuggestionDTO(
+            rs.getInt("id"), rs.getString("NAME"), rs.getString("ISSN"), rs.getLong("popularity"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public JournalSuggestRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 查询全部期刊的提示数据
+     */
+    public List<JournalSuggestionDTO> findAll() {
+        return jdbcTemplate.query(SELECT_SQL, ROW_MAPPER);
+    }
+}
@@ -0,0 +1,14 @@
+package com.journalsystem.springprogram.repository;
+
+import com.journalsystem.springprogram.pojo.TeacherBorrowStat;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TeacherBorrowStatRepository extends JpaRepository<TeacherBorrowStat, Integer> {
+    //按累计借阅次数降序查询教师借阅统计
+    List<TeacherBorrowStat> findAllByOrderByTotalBorrowsDesc(Pageable pageable);
+}
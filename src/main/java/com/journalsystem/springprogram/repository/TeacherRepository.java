@@ -1,11 +1,18 @@
 package com.journalsystem.springprogram.repository;
 
 import com.journalsystem.springprogram.pojo.TeacherInfo;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
+//借阅额度的条件UPDATE同时自增version，使并发的实体保存（如修改教师信息）能检测到冲突
 @Repository
 public interface TeacherRepository extends JpaRepository<TeacherInfo, Integer> {
     //根据姓名查询教师信息，返回教师列表
@@ -13,4 +20,38 @@ public interface TeacherRepository extends JpaRepository<TeacherInfo, Integer> {
 
     //根据手机号查询教师信息，返回教师实体
     TeacherInfo findByPhone(String phone);
+
+    //按数量占用借阅额度：整批借阅只校验一次限额，超过限额时不生效
+    @Modifying
+    @Query("UPDATE TeacherInfo t SET t.currentBorrow = t.currentBorrow + :count, t.version = t.version + 1 " +
+           "WHERE t.id = :id AND t.currentBorrow + :count <= t.maxBorrow")
+    int incrementCurrentBorrowBy(@Param("id") Integer id, @Param("count") Integer count);
+
+    //按数量释放借阅额度
+    @Modifying
+    @Query("UPDATE TeacherInfo t SET t.currentBorrow = t.currentBorrow - :count, t.version = t.version + 1 " +
+           "WHERE t.id = :id AND t.currentBorrow >= :count")
+    int decrementCurrentBorrowBy(@Param("id") Integer id, @Param("count") Integer count);
+
+    //批量释放借阅额度：同一批中归还数量相同的教师合并为一条UPDATE；
+    //当前借阅数小于归还数量（计数已偏差）的教师不更新，返回实际更新的行数，偏差留给计数对账报告和修正
+    @Modifying
+    @Query("UPDATE TeacherInfo t SET t.currentBorrow = t.currentBorrow - :count, t.version = t.version + 1 " +
+           "WHERE t.id IN :ids AND t.currentBorrow >= :count")
+    int decrementCurrentBorrowIn(@Param("ids") Collection<Integer> ids, @Param("count") Integer count);
+
+    //游标分页（seek分页）：按ID升序取id大于游标的一页，不执行count查询
+    Slice<TeacherInfo> findByIdGreaterThan(Integer id, Pageable pageable);
+
+    //原子占用借阅额度：仅当当前借阅数量小于最大借阅数量时+1，返回受影响行数（0表示已达限额或教师不存在）
+    @Modifying
+    @Query("UPDATE TeacherInfo t SET t.currentBorrow = t.currentBorrow + 1, t.version = t.version + 1 " +
+           "WHERE t.id = :id AND t.currentBorrow < t.maxBorrow")
+    int incrementCurrentBorrow(@Param("id") Integer id);
+
+    //原子释放借阅额度：仅当当前借阅数量大于0时-1
+    @Modifying
+    @Query("UPDATE TeacherInfo t SET t.currentBorrow = t.currentBorrow - 1, t.version = t.version + 1 " +
+           "WHERE t.id = :id AND t.currentBorrow > 0")
+    int decrementCurrentBorrow(@Param("id") Integer id);
 }
@@ -0,0 +1,373 @@
+package com.journalsystem.springprogram.search;
+
+import com.journalsystem.springprogram.pojo.JournalInfo;
+import com.journalsystem.springprogram.repository.JournalRepository;
+import com.journalsystem.springprogram.util.TransactionUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * 期刊全文检索内存倒排索引
+ * 对名称、出版社、简介分词（中文按二元切分，见JournalTokenizer）建立 词 → 期刊ID 的倒排表，
+ * 多条件搜索按关键词取倒排表求交集，代替无法使用索引的 name LIKE '%keyword%' 全表扫描
+ * 启动完成后从数据库全量加载，之后由JournalServiceImpl在新增/修改/删除期刊时增量更新（有事务时在提交后更新）
+ * 全量加载完成前isReady()返回false，调用方回退到数据库查询
+ * 其他实例的修改由JournalCatalogSyncTask按期刊变更日志同步到本实例的索引
+ */
+@Component
+public class JournalSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(JournalSearchIndex.class);
+
+    // 各字段中的词频权重：名称命中比出版社、简介命中更相关
+    private static final int NAME_WEIGHT = 3;
+    private static final int PUBLISHER_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final JournalRepository journalRepository;
+    private final boolean enabled;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // 倒排表：词 → (期刊ID → 加权词频)，按词排序以支持前缀匹配
+    private final TreeMap<String, Map<Integer, Integer>> postings = new TreeMap<>();
+    // 正排表：期刊ID → 过滤字段和词表，修改/删除时据此从倒排表移除旧词
+    private final Map<Integer, Doc> docs = new HashMap<>();
+    private volatile boolean ready;
+
+    @Autowired
+    public JournalSearchIndex(JournalRepository journalRepository,
+                              @Value("${journal.search.index-enabled:true}") boolean enabled) {
+        this.journalRepository = journalRepository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * 应用启动完成后全量加载索引
+     * 加载期间持有写锁，并发的增量更新等待加载完成后再应用，不会被全量结果覆盖
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            postings.clear();
+            docs.clear();
+            // 按ID分批读取，避免一次加载全部实体
+            int pageNum = 0;
+            Page<JournalInfo> page;
+            do {
+                page = journalRepository.findAll(PageRequest.of(pageNum++, LOAD_BATCH_SIZE, Sort.by("id")));
+                for (JournalInfo journal : page.getContent()) {
+                    put(toDoc(journal));
+                }
+            } while (page.hasNext());
+            ready = true;
+        } catch (RuntimeException e) {
+            log.error("期刊检索索引加载失败，多条件搜索回退到数据库查询", e);
+            return;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("期刊检索索引加载完成：{}本期刊，{}个词，耗时{}ms", docs.size(), postings.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 索引是否可用（已启用且全量加载完成）
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 新增或更新期刊的索引
+     * 立即对期刊当前字段分词；处于事务中时在提交后才写入索引，回滚时索引保持不变
+     * @param journal 已保存的期刊
+     */
+    public void index(JournalInfo journal) {
+        if (!enabled || journal == null || journal.getId() == null) {
+            return;
+        }
+        Doc doc = toDoc(journal);
+        TransactionUtil.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                put(doc);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * 从索引中移除期刊
+     * @param ids 已删除的期刊ID
+     */
+    public void remove(Collection<Integer> ids) {
+        if (!enabled || ids == null || ids.isEmpty()) {
+            return;
+        }
+        List<Integer> copy = new ArrayList<>(ids);
+        TransactionUtil.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                for (Integer id : copy) {
+                    delete(id);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * 按关键词检索期刊ID
+     * 关键词分词后各词都须命中（AND）；最后一个非中文词按前缀匹配，输入过程中的半个单词也能命中
+     * 结果按相关度（加权词频 × 逆文档频率之和）降序，相同时按ID降序
+     * @param keyword 关键词
+     * @param category 分类精确匹配，为空时不过滤
+     * @param issn ISSN精确匹配，为空时不过滤
+     * @param status 状态精确匹配，为空时不过滤
+     * @param publisher 出版社精确匹配，为空时不过滤
+     * @param offset 跳过的结果数
+     * @param limit 返回的结果数
+     * @return 命中总数和当前页的期刊ID
+     */
+    public SearchHits search(String keyword, String category, String issn, String status, String publisher,
+                             int offset, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(JournalTokenizer.tokenizeQuery(keyword)));
+        if (terms.isEmpty()) {
+            return new SearchHits(0, new ArrayList<>());
+        }
+        Map<Integer, Double> scores;
+        lock.readLock().lock();
+        try {
+            scores = intersect(terms, doc -> matches(doc, category, issn, status, publisher));
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // 按得分降序、ID降序排序
+        List<Map.Entry<Integer, Double>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort((a, b) -> {
+            int cmp = Double.compare(b.getValue(), a.getValue());
+            return cmp != 0 ? cmp : Integer.compare(b.getKey(), a.getKey());
+        });
+        List<Integer> ids = new ArrayList<>();
+        for (int i = offset; i < ranked.size() && ids.size() < limit; i++) {
+            ids.add(ranked.get(i).getKey());
+        }
+        return new SearchHits(ranked.size(), ids);
+    }
+
+    /**
+     * 按关键词统计分类、状态、出版社各取值的命中期刊数（分面统计）
+     * 关键词求交集后遍历一次命中的期刊，三个分面同时累加；每个分面应用除自身以外的全部过滤条件，
+     * 已选中某个分类时仍能看到其他分类各有多少本，与search的命中总数一致
+     * @param keyword 关键词
+     * @param category 分类过滤，为空时不过滤
+     * @param issn ISSN过滤，为空时不过滤
+     * @param status 状态过滤，为空时不过滤
+     * @param publisher 出版社过滤，为空时不过滤
+     * @return 分面名（category/status/publisher） → (取值 → 期刊数)，取值为空的期刊不计入
+     */
+    public Map<String, Map<String, Long>> facetCounts(String keyword, String category, String issn,
+                                                      String status, String publisher) {
+        Map<String, Long> categoryCounts = new HashMap<>();
+        Map<String, Long> statusCounts = new HashMap<>();
+        Map<String, Long> publisherCounts = new HashMap<>();
+        Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        facets.put("category", categoryCounts);
+        facets.put("status", statusCounts);
+        facets.put("publisher", publisherCounts);
+
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(JournalTokenizer.tokenizeQuery(keyword)));
+        if (terms.isEmpty()) {
+            return facets;
+        }
+        lock.readLock().lock();
+        try {
+            // ISSN不是分面，求交集时直接过滤；其余条件逐个分面判断
+            for (Integer id : intersect(terms, doc -> matches(doc, null, issn, null, null)).keySet()) {
+                Doc doc = docs.get(id);
+                boolean categoryOk = category == null || category.equalsIgnoreCase(doc.category);
+                boolean statusOk = status == null || status.equalsIgnoreCase(doc.status);
+                boolean publisherOk = publisher == null || publisher.equalsIgnoreCase(doc.publisher);
+                if (statusOk && publisherOk && doc.category != null) {
+                    categoryCounts.merge(doc.category, 1L, Long::sum);
+                }
+                if (categoryOk && publisherOk && doc.status != null) {
+                    statusCounts.merge(doc.status, 1L, Long::sum);
+                }
+                if (categoryOk && statusOk && doc.publisher != null) {
+                    publisherCounts.merge(doc.publisher, 1L, Long::sum);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return facets;
+    }
+
+    // 调用方持有读锁；返回同时命中全部词且满足filter的期刊ID及其得分
+    private Map<Integer, Double> intersect(List<String> terms, Predicate<Doc> filter) {
+        // 1. 取出每个词的倒排列表，任一词没有命中则结果为空
+        String last = terms.get(terms.size() - 1);
+        boolean prefixLast = !JournalTokenizer.isCjk(last.codePointAt(0));
+        List<Map<Integer, Integer>> lists = new ArrayList<>();
+        for (String term : terms) {
+            Map<Integer, Integer> list = prefixLast && term.equals(last) ? prefixPostings(term) : postings.get(term);
+            if (list == null || list.isEmpty()) {
+                return new HashMap<>();
+            }
+            lists.add(list);
+        }
+
+        // 2. 从最短的列表开始求交集，同时累加得分
+        lists.sort((a, b) -> Integer.compare(a.size(), b.size()));
+        int docCount = docs.size();
+        Map<Integer, Double> scores = new HashMap<>();
+        Map<Integer, Integer> shortest = lists.get(0);
+        double shortestIdf = Math.log(1 + (double) docCount / shortest.size());
+        for (Map.Entry<Integer, Integer> e : shortest.entrySet()) {
+            if (filter.test(docs.get(e.getKey()))) {
+                scores.put(e.getKey(), e.getValue() * shortestIdf);
+            }
+        }
+        for (int k = 1; k < lists.size() && !scores.isEmpty(); k++) {
+            Map<Integer, Integer> list = lists.get(k);
+            double idf = Math.log(1 + (double) docCount / list.size());
+            Iterator<Map.Entry<Integer, Double>> it = scores.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Integer, Double> e = it.next();
+                Integer weight = list.get(e.getKey());
+                if (weight == null) {
+                    it.remove();
+                } else {
+                    e.setValue(e.getValue() + weight * idf);
+                }
+            }
+        }
+        return scores;
+    }
+
+    // 合并以prefix开头的所有词的倒排列表，同一期刊的权重相加
+    private Map<Integer, Integer> prefixPostings(String prefix) {
+        Map<Integer, Integer> merged = new HashMap<>();
+        for (Map<Integer, Integer> list : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            list.forEach((id, weight) -> merged.merge(id, weight, Integer::sum));
+        }
+        return merged;
+    }
+
+    private static boolean matches(Doc doc, String category, String issn, String status, String publisher) {
+        return doc != null
+                && (category == null || category.equalsIgnoreCase(doc.category))
+                && (issn == null || issn.equalsIgnoreCase(doc.issn))
+                && (status == null || status.equalsIgnoreCase(doc.status))
+                && (publisher == null || publisher.equalsIgnoreCase(doc.publisher));
+    }
+
+    // 调用方持有写锁
+    private void put(Doc doc) {
+        delete(doc.id);
+        docs.put(doc.id, doc);
+        doc.terms.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(doc.id, weight));
+    }
+
+    // 调用方持有写锁
+    private void delete(Integer id) {
+        Doc old = docs.remove(id);
+        if (old == null) {
+            return;
+        }
+        for (String term : old.terms.keySet()) {
+            Map<Integer, Integer> list = postings.get(term);
+            if (list != null) {
+                list.remove(id);
+                if (list.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static Doc toDoc(JournalInfo journal) {
+        Map<String, Integer> terms = new HashMap<>();
+        addTerms(terms, journal.getName(), NAME_WEIGHT);
+        addTerms(terms, journal.getPublisher(), PUBLISHER_WEIGHT);
+        addTerms(terms, journal.getDescription(), DESCRIPTION_WEIGHT);
+        return new Doc(journal.getId(), journal.getCategory(), journal.getIssn(), journal.getStatus(),
+                journal.getPublisher(), terms);
+    }
+
+    private static void addTerms(Map<String, Integer> terms, String text, int weight) {
+        for (String token : JournalTokenizer.tokenizeForIndex(text)) {
+            terms.merge(token, weight, Integer::sum);
+        }
+    }
+
+    /**
+     * 检索结果：命中总数和当前页的期刊ID（按相关度排序）
+     */
+    public static final class SearchHits {
+        private final long total;
+        private final List<Integer> ids;
+
+        public SearchHits(long total, List<Integer> ids) {
+            this.total = total;
+            this.ids = ids;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public List<Integer> getIds() {
+            return ids;
+        }
+    }
+
+    private static final class Doc {
+        private final Integer id;
+        private final String category;
+        private final String issn;
+        private final String status;
+        private final String publisher;
+        private final Map<String, Integer> terms;
+
+        private Doc(Integer id, String category, String issn, String status, String publisher,
+                    Map<String, Integer> terms) {
+            this.id = id;
+            this.category = category;
+            this.issn = issn;
+            this.status = status;
+            this.publisher = publisher;
+            this.terms = terms;
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package com.journalsystem.springprogram.search;
+
+import com.journalsystem.springprogram.dto.JournalSuggestionDTO;
+import com.journalsystem.springprogram.pojo.JournalInfo;
+import com.journalsystem.springprogram.repository.JournalSuggestRepository;
+import com.journalsystem.springprogram.util.TransactionUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 期刊输入提示字典树（压缩前缀树/基数树）
+ * 键为期刊名称（及名称中每个单词开始的后缀）、名称的拼音首字母和ISSN（含/不含连字符），
+ * 每个节点保存子树中借阅热度最高的topK个期刊，查询只需沿前缀走到对应节点，不访问数据库
+ * 读取无锁：节点发布后不再修改，增量更新时复制根到目标节点路径上的节点，最后替换根节点
+ * 启动完成后全量构建，定时全量重建以刷新借阅热度；JournalServiceImpl新增/修改/删除期刊时增量更新，
+ * 其他实例的修改由JournalCatalogSyncTask按期刊变更日志增量同步
+ */
+@Component
+public class JournalSuggestTrie {
+
+    private static final Logger log = LoggerFactory.getLogger(JournalSuggestTrie.class);
+
+    private static final int[] NO_IDS = new int[0];
+    // 名称中单词开始的后缀最多取几个（第一个是完整名称）
+    private static final int MAX_WORD_KEYS = 8;
+
+    private final JournalSuggestRepository suggestRepository;
+    private final boolean enabled;
+    private final int topK;
+    private volatile Node root = new Node("");
+    private volatile Map<Integer, JournalSuggestionDTO> items = new ConcurrentHashMap<>();
+    // 期刊ID → 已写入的键，修改/删除时据此移除旧键；只在持有对象锁时访问
+    private Map<Integer, List<String>> keysById = new HashMap<>();
+
+    @Autowired
+    public JournalSuggestTrie(JournalSuggestRepository suggestRepository,
+                              @Value("${journal.suggest.enabled:true}") boolean enabled,
+                              @Value("${journal.suggest.top-k:10}") int topK) {
+        this.suggestRepository = suggestRepository;
+        this.enabled = enabled;
+        this.topK = topK;
+    }
+
+    /**
+     * 全量构建：一条SQL读取全部期刊的名称、ISSN和累计借阅次数，在新树上插入后计算各节点topK，再整体替换
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        Map<Integer, JournalSuggestionDTO> newItems = new ConcurrentHashMap<>();
+        Map<Integer, List<String>> newKeys = new HashMap<>();
+        Node newRoot = new Node("");
+        for (JournalSuggestionDTO item : suggestRepository.findAll()) {
+            List<String> keys = keysOf(item);
+            newItems.put(item.getId(), item);
+            newKeys.put(item.getId(), keys);
+            for (String key : keys) {
+                insert(newRoot, key, item.getId(), false, null);
+            }
+        }
+        computeTopAll(newRoot, ranking(newItems));
+
+        items = newItems;
+        keysById = newKeys;
+        root = newRoot;
+        log.info("期刊输入提示字典树构建完成：{}本期刊，耗时{}ms", newItems.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 新增或更新期刊的提示键（有事务时在提交后更新），借阅热度沿用原值，下次全量重建时刷新
+     * @param journal 已保存的期刊
+     */
+    public void put(JournalInfo journal) {
+        if (!enabled || journal == null || journal.getId() == null) {
+            return;
+        }
+        JournalSuggestionDTO item = new JournalSuggestionDTO(journal.getId(), journal.getName(), journal.getIssn(), 0L);
+        TransactionUtil.afterCommit(() -> apply(item.getId(), item));
+    }
+
+    /**
+     * 移除期刊的提示键（有事务时在提交后移除）
+     * @param journalIds 已删除的期刊ID
+     */
+    public void remove(Collection<Integer> journalIds) {
+        if (!enabled || journalIds == null || journalIds.isEmpty()) {
+            return;
+        }
+        List<Integer> ids = List.copyOf(journalIds);
+        TransactionUtil.afterCommit(() -> ids.forEach(id -> apply(id, null)));
+    }
+
+    /**
+     * 按前缀查询输入提示
+     * @param prefix 输入的前缀（名称、拼音首字母或ISSN，忽略大小写）
+     * @param limit 最多返回条数，不超过topK
+     * @return 按借阅热度降序的期刊
+     */
+    public List<JournalSuggestionDTO> suggest(String prefix, int limit) {
+        List<JournalSuggestionDTO> result = new ArrayList<>();
+        String rest = normalize(prefix);
+        if (rest.isEmpty() || limit <= 0) {
+            return result;
+        }
+        // 1. 沿前缀走到对应节点：前缀可能停在某条边的中间
+        Node node = root;
+        while (!rest.isEmpty()) {
+            Node child = node.children.get(rest.charAt(0));
+            if (child == null) {
+                return result;
+            }
+            if (rest.length() <= child.label.length()) {
+                if (!child.label.startsWith(rest)) {
+                    return result;
+                }
+                node = child;
+                break;
+            }
+            if (!rest.startsWith(child.label)) {
+                return result;
+            }
+            rest = rest.substring(child.label.length());
+            node = child;
+        }
+
+        // 2. 节点上已按热度排好序的topK即为结果
+        Map<Integer, JournalSuggestionDTO> snapshot = items;
+        for (int id : node.top) {
+            JournalSuggestionDTO item = snapshot.get(id);
+            if (item != null) {
+                result.add(new JournalSuggestionDTO(item.getId(), item.getName(), item.getIssn(), item.getPopularity()));
+                if (result.size() >= limit) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    // 用新的条目替换期刊的全部键，item为null时只移除
+    private synchronized void apply(Integer id, JournalSuggestionDTO item) {
+        Node newRoot = root;
+        JournalSuggestionDTO old = items.get(id);
+        List<String> oldKeys = keysById.remove(id);
+        Comparator<Integer> ranking = ranking(items);
+        if (oldKeys != null) {
+            for (String key : oldKeys) {
+                newRoot = removeCopy(newRoot, key, id, true, ranking);
+            }
+        }
+        if (item == null) {
+            items.remove(id);
+        } else {
+            item.setPopularity(old != null ? old.getPopularity() : 0L);
+            items.put(id, item);
+            List<String> keys = keysOf(item);
+            for (String key : keys) {
+                Node copy = newRoot.copy();
+                insert(copy, key, id, true, ranking);
+                newRoot = copy;
+            }
+            keysById.put(id, keys);
+        }
+        root = newRoot;
+    }
+
+    /**
+     * 在node下插入键
+     * copy为true时（增量更新）node已是新复制的节点，路径上的子节点先复制再修改，并重新计算路径上的topK；
+     * copy为false时（全量构建的私有树）直接修改，topK最后统一计算
+     */
+    private void insert(Node node, String rest, int id, boolean copy, Comparator<Integer> ranking) {
+        if (rest.isEmpty()) {
+            node.ids = addId(node.ids, id);
+        } else {
+            char first = rest.charAt(0);
+            Node child = node.children.get(first);
+            if (child == null) {
+                Node leaf = new Node(rest);
+                leaf.ids = new int[]{id};
+                leaf.top = leaf.ids;
+                node.children.put(first, leaf);
+            } else {
+                int common = commonPrefixLength(child.label, rest);
+                Node next;
+                if (common < child.label.length()) {
+                    // 键与边只有部分公共前缀：拆分出中间节点，原子节点截去公共前缀后挂到中间节点下
+                    String label = child.label;
+                    Node tail = copy ? child.copy() : child;
+                    tail.label = label.substring(common);
+                    next = new Node(label.substring(0, common));
+                    next.children.put(tail.label.charAt(0), tail);
+                    next.top = tail.top;
+                } else {
+                    next = copy ? child.copy() : child;
+                }
+                node.children.put(first, next);
+                insert(next, rest.substring(common), id, copy, ranking);
+            }
+        }
+        if (copy) {
+            node.top = computeTop(node, ranking);
+        }
+    }
+
+    // 复制路径上的节点并移除键；返回新节点，子树为空时返回null，只剩一个子节点时与子节点合并
+    private Node removeCopy(Node node, String rest, int id, boolean isRoot, Comparator<Integer> ranking) {
+        Node n = node.copy();
+        if (rest.isEmpty()) {
+            n.ids = removeId(n.ids, id);
+        } else {
+            char first = rest.charAt(0);
+            Node child = n.children.get(first);
+            if (child == null || !rest.startsWith(child.label)) {
+                return node;
+            }
+            Node newChild = removeCopy(child, rest.substring(child.label.length()), id, false, ranking);
+            if (newChild == null) {
+                n.children.remove(first);
+            } else {
+                n.children.put(first, newChild);
+            }
+        }
+        if (!isRoot && n.ids.length == 0) {
+            if (n.children.isEmpty()) {
+                return null;
+            }
+            if (n.children.size() == 1) {
+                Node only = n.children.values().iterator().next().copy();
+                only.label = n.label + only.label;
+                return only;
+            }
+        }
+        n.top = computeTop(n, ranking);
+        return n;
+    }
+
+    private void computeTopAll(Node node, Comparator<Integer> ranking) {
+        for (Node child : node.children.values()) {
+            computeTopAll(child, ranking);
+        }
+        node.top = computeTop(node, ranking);
+    }
+
+    // 节点topK = 本节点结束的期刊与各子节点topK合并后取前K个（同一期刊可能经多个键出现，去重）
+    private int[] computeTop(Node node, Comparator<Integer> ranking) {
+        Set<Integer> candidates = new LinkedHashSet<>();
+        for (int id : node.ids) {
+            candidates.add(id);
+        }
+        for (Node child : node.children.values()) {
+            for (int id : child.top) {
+                candidates.add(id);
+            }
+        }
+        List<Integer> sorted = new ArrayList<>(candidates);
+        sorted.sort(ranking);
+        int size = Math.min(topK, sorted.size());
+        int[] top = new int[size];
+        for (int i = 0; i < size; i++) {
+            top[i] = sorted.get(i);
+        }
+        return top;
+    }
+
+    // 按累计借阅次数降序，相同时按ID降序（新期刊在前）
+    private static Comparator<Integer> ranking(Map<Integer, JournalSuggestionDTO> items) {
+        return (a, b) -> {
+            JournalSuggestionDTO x = items.get(a);
+            JournalSuggestionDTO y = items.get(b);
+            long px = x == null || x.getPopularity() == null ? 0 : x.getPopularity();
+            long py = y == null || y.getPopularity() == null ? 0 : y.getPopularity();
+            return px != py ? Long.compare(py, px) : Integer.compare(b, a);
+        };
+    }
+
+    // 期刊的全部提示键：名称、名称中每个单词开始的后缀、拼音首字母、ISSN（含/不含连字符）
+    private static List<String> keysOf(JournalSuggestionDTO item) {
+        Set<String> keys = new LinkedHashSet<>();
+        String name = normalize(item.getName());
+        if (!name.isEmpty()) {
+            keys.add(name);
+            for (int i = name.indexOf(' '); i >= 0 && keys.size() < MAX_WORD_KEYS; i = name.indexOf(' ', i + 1)) {
+                keys.add(name.substring(i + 1));
+            }
+        }
+        String initials = PinyinInitials.of(item.getName());
+        if (initials != null) {
+            keys.add(initials);
+        }
+        String issn = normalize(item.getIssn());
+        if (!issn.isEmpty()) {
+            keys.add(issn);
+            keys.add(issn.replace("-", ""));
+        }
+        keys.remove("");
+        return new ArrayList<>(keys);
+    }
+
+    // 转小写，去掉首尾空白，连续空白合并为一个空格
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.trim().replaceAll("\\s+", " ").toLowerCase();
+    }
+
+    private static int commonPrefixLength(String a, String b) {
+        int n = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < n && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int[] addId(int[] ids, int id) {
+        for (int existing : ids) {
+            if (existing == id) {
+                return ids;
+            }
+        }
+        int[] result = new int[ids.length + 1];
+        System.arraycopy(ids, 0, result, 0, ids.length);
+        result[ids.length] = id;
+        return result;
+    }
+
+    private static int[] removeId(int[] ids, int id) {
+        int[] result = new int[ids.length];
+        int size = 0;
+        for (int existing : ids) {
+            if (existing != id) {
+                result[size++] = existing;
+            }
+        }
+        return size == ids.length ? ids : (size == 0 ? NO_IDS : Arrays.copyOf(result, size));
+    }
+
+    /**
+     * 字典树节点：label为从父节点到本节点的边上的字符串
+     * 发布到根节点之后不再修改，修改前先copy
+     */
+    private static final class Node {
+        private String label;
+        private final Map<Character, Node> children;
+        private int[] ids = NO_IDS;   // 键在本节点结束的期刊
+        private int[] top = NO_IDS;   // 子树中热度最高的topK个期刊，已排序
+
+        private Node(String label) {
+            this.label = label;
+            this.children = new HashMap<>();
+        }
+
+        private Node(Node source) {
+            this.label = source.label;
+            this.children = new HashMap<>(source.children);
+            this.ids = source.ids;
+            this.top = source.top;
+        }
+
+        private Node copy() {
+            return new Node(this);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.journalsystem.springprogram.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 期刊检索分词器
+ * 拉丁字母和数字按连续段切分为词并转小写；中日韩文字没有空格分词，连续段按相邻两字切分为二元词（bigram）
+ * 建索引时中文段额外保留单字，使单字查询也能命中；查询时两字以上的中文段只切二元词
+ */
+public final class JournalTokenizer {
+
+    private JournalTokenizer() {
+    }
+
+    /**
+     * 切分建索引的文本
+     * @param text 文本，可为null
+     * @return 词列表（可能重复，用于计算词频）
+     */
+    public static List<String> tokenizeForIndex(String text) {
+        return tokenize(text, true);
+    }
+
+    /**
+     * 切分查询文本
+     * @param text 查询文本，可为null
+     * @return 词列表（保持出现顺序）
+     */
+    public static List<String> tokenizeQuery(String text) {
+        return tokenize(text, false);
+    }
+
+    /**
+     * 判断字符是否按中日韩文字处理（二元切分）
+     */
+    public static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+
+    private static List<String> tokenize(String text, boolean forIndex) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        StringBuilder word = new StringBuilder();
+        List<Integer> cjkRun = new ArrayList<>();
+        int i = 0;
+        while (i < text.length()) {
+            int cp = text.codePointAt(i);
+            i += Character.charCount(cp);
+            if (isCjk(cp)) {
+                flushWord(word, tokens);
+                cjkRun.add(cp);
+            } else if (Character.isLetterOrDigit(cp)) {
+                flushCjk(cjkRun, tokens, forIndex);
+                word.appendCodePoint(Character.toLowerCase(cp));
+            } else {
+                flushWord(word, tokens);
+                flushCjk(cjkRun, tokens, forIndex);
+            }
+        }
+        flushWord(word, tokens);
+        flushCjk(cjkRun, tokens, forIndex);
+        return tokens;
+    }
+
+    private static void flushWord(StringBuilder word, List<String> tokens) {
+        if (word.length() > 0) {
+            tokens.add(word.toString());
+            word.setLength(0);
+        }
+    }
+
+    private static void flushCjk(List<Integer> run, List<String> tokens, boolean forIndex) {
+        if (run.isEmpty()) {
+            return;
+        }
+        // 1. 单字段直接作为一个词
+        if (run.size() == 1) {
+            tokens.add(new String(Character.toChars(run.get(0))));
+            run.clear();
+            return;
+        }
+        // 2. 相邻两字组成二元词；建索引时同时保留单字
+        for (int k = 0; k < run.size(); k++) {
+            if (forIndex) {
+                tokens.add(new String(Character.toChars(run.get(k))));
+            }
+            if (k + 1 < run.size()) {
+                tokens.add(new StringBuilder().appendCodePoint(run.get(k)).appendCodePoint(run.get(k + 1)).toString());
+            }
+        }
+        run.clear();
+    }
+}
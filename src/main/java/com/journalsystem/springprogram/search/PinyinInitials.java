@@ -0,0 +1,67 @@
+package com.journalsystem.springprogram.search;
+
+import java.nio.charset.Charset;
+
+/**
+ * 汉字拼音首字母
+ * GB2312一级汉字（3755个常用字）按拼音排序，按编码落在哪个字母的区间即可得到首字母，不需要拼音字库；
+ * 二级汉字按部首排序，无法用此方法取首字母，直接跳过
+ */
+public final class PinyinInitials {
+
+    private static final Charset GB2312 = Charset.forName("GB2312");
+    // 各首字母在GB2312一级汉字中的起始编码，最后一个是一级汉字的结束编码（不含）
+    private static final int[] BOUNDARIES = {
+            0xB0A1, 0xB0C5, 0xB2C1, 0xB4EE, 0xB6EA, 0xB7A2, 0xB8C1, 0xB9FE, 0xBBF7, 0xBFA6, 0xC0AC, 0xC2E8,
+            0xC4C3, 0xC5B6, 0xC5BE, 0xC6DA, 0xC8BB, 0xC8F6, 0xCBFA, 0xCDDA, 0xCEF4, 0xD1B9, 0xD4D1, 0xD7FA
+    };
+    private static final char[] LETTERS = "abcdefghjklmnopqrstwxyz".toCharArray();
+
+    private PinyinInitials() {
+    }
+
+    /**
+     * 取文本的拼音首字母串：汉字转为首字母，拉丁字母和数字转小写保留，其他字符跳过
+     * 例如"计算机学报" → "jsjxb"
+     * @param text 文本
+     * @return 首字母串，文本中没有汉字时返回null
+     */
+    public static String of(String text) {
+        if (text == null) {
+            return null;
+        }
+        StringBuilder initials = new StringBuilder();
+        boolean hasHan = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.UnicodeScript.of(c) == Character.UnicodeScript.HAN) {
+                hasHan = true;
+                char initial = initialOf(c);
+                if (initial != 0) {
+                    initials.append(initial);
+                }
+            } else if (c < 128 && Character.isLetterOrDigit(c)) {
+                initials.append(Character.toLowerCase(c));
+            }
+        }
+        return hasHan && initials.length() > 0 ? initials.toString() : null;
+    }
+
+    // 按GB2312编码查首字母，不是一级汉字时返回0
+    private static char initialOf(char c) {
+        byte[] bytes = String.valueOf(c).getBytes(GB2312);
+        if (bytes.length != 2) {
+            return 0;
+        }
+        int code = ((bytes[0] & 0xFF) << 8) | (bytes[1] & 0xFF);
+        if (code < BOUNDARIES[0] || code >= BOUNDARIES[BOUNDARIES.length - 1]) {
+            return 0;
+        }
+        for (int k = LETTERS.length - 1; k >= 0; k--) {
+            if (code >= BOUNDARIES[k]) {
+                return LETTERS[k];
+            }
+        }
+        return 0;
+    }
+}
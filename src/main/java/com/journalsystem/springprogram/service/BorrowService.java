@@ -2,6 +2,10 @@ package com.journalsystem.springprogram.service;
 
 import com.journalsystem.springprogram.common.PageResult;
 import com.journalsystem.springprogram.common.PageRequest;
+import com.journalsystem.springprogram.dto.BorrowDTO;
+import com.journalsystem.springprogram.dto.BorrowItemResultDTO;
+import com.journalsystem.springprogram.dto.BorrowReturnItemDTO;
+import com.journalsystem.springprogram.dto.JournalBorrowHistoryDTO;
 import com.journalsystem.springprogram.pojo.BorrowInfo;
 
 import java.time.LocalDate;
@@ -9,8 +13,8 @@ import java.util.List;
 
 //借阅服务接口，定义了借阅相关的业务操作
 public interface BorrowService {
-    //1.借阅期刊
-    Boolean borrowJournal(Integer borrowId, Integer teacherId, Integer journalId, LocalDate endDate);
+    //1.借阅期刊，借阅ID由服务端分配，返回新借阅记录的ID
+    Integer borrowJournal(Integer teacherId, Integer journalId, LocalDate endDate);
     
     //2.归还期刊
     Boolean returnJournal(Integer borrowId);
@@ -51,8 +55,45 @@ public interface BorrowService {
     //14.统计教师借阅次数
     Integer getBorrowCountByTeacherId(Integer teacherId);
 
-    //15.按状态查询并支持限制返回数量
+    //15.按状态查询并支持限制返回数量（limit下推为SQL LIMIT）
     List<BorrowInfo> getBorrowsByStatus(String status, Integer limit);
 
+    //16.统计教师逾期借阅数量
+    Integer getOverdueCountByTeacherId(Integer teacherId);
 
-}
\ No newline at end of file
+    //17.统计教师即将到期（今天或明天）的借阅数量
+    Integer getUpcomingDueCountByTeacherId(Integer teacherId);
+
+    //18.统计逾期未还的借阅数量
+    Long getOverdueCount();
+
+    //19.将应还日期在[fromDate, today)之间的借出记录标记为逾期，返回标记数量
+    Integer markOverdueBorrows(LocalDate fromDate, LocalDate today);
+
+    //20.按状态分页查询借阅记录（支持游标分页）
+    PageResult<BorrowInfo> getBorrowsByStatusAndPage(List<String> statuses, PageRequest pageRequest);
+
+    //21.批量借阅期刊，整批在一个事务中完成，返回每一项的处理结果
+    List<BorrowItemResultDTO> batchBorrowJournals(Integer teacherId, List<Integer> journalIds, LocalDate endDate);
+
+    //22.批量归还期刊（按borrowId或ISSN+教师ID），整批在一个事务中完成，返回每一项的处理结果
+    List<BorrowItemResultDTO> batchReturnJournals(List<BorrowReturnItemDTO> items);
+
+    //23.按教师ID和状态列表分页查询借阅记录，直接返回BorrowDTO（支持游标分页）
+    PageResult<BorrowDTO> getBorrowDTOsByTeacherIdAndStatus(Integer teacherId, List<String> statuses, PageRequest pageRequest);
+
+    //24.按状态统计借阅记录数量（多个状态用逗号分隔，为空时统计全部），结果短时缓存
+    Long countBorrowsByStatus(String status);
+
+    //25.分页查询期刊借阅历史，并返回借阅总次数、当前借出数量、平均借阅天数；includeArchived为true时包含已归档记录
+    JournalBorrowHistoryDTO getJournalBorrowHistory(Integer journalId, PageRequest pageRequest, boolean includeArchived);
+
+    //26.续借教师全部借出中的期刊，days为null时按续借策略的天数，返回每条记录的处理结果
+    List<BorrowItemResultDTO> renewAllByTeacherId(Integer teacherId, Integer days);
+
+    //27.按借阅日期降序分页查询教师借阅历史，includeArchived为true时包含已归档记录
+    PageResult<BorrowDTO> getTeacherBorrowHistory(Integer teacherId, PageRequest pageRequest, boolean includeArchived);
+
+    //28.归档一批归还日期早于cutoff的已归还记录（移入borrow_history），返回归档数量，为0时表示已全部归档
+    Integer archiveReturnedBorrows(LocalDate cutoff, Integer batchSize);
+}
@@ -1,115 +1,372 @@
 package com.journalsystem.springprogram.service;
 
 import com.journalsystem.springprogram.common.Constants;
+import com.journalsystem.springprogram.common.PageCursor;
 import com.journalsystem.springprogram.common.PageRequest;
 import com.journalsystem.springprogram.common.PageResult;
+import com.journalsystem.springprogram.dto.BorrowDTO;
+import com.journalsystem.springprogram.dto.BorrowItemResultDTO;
+import com.journalsystem.springprogram.dto.BorrowReturnItemDTO;
+import com.journalsystem.springprogram.dto.JournalBorrowHistoryDTO;
 import com.journalsystem.springprogram.exception.BusinessException;
+import com.journalsystem.springprogram.pojo.BorrowEvent;
 import com.journalsystem.springprogram.pojo.BorrowInfo;
 import com.journalsystem.springprogram.pojo.JournalInfo;
 import com.journalsystem.springprogram.pojo.TeacherInfo;
+import com.journalsystem.springprogram.repository.BorrowEventBatchRepository;
+import com.journalsystem.springprogram.repository.BorrowHistoryRepository;
+import com.journalsystem.springprogram.repository.BorrowInfoBatchRepository;
 import com.journalsystem.springprogram.repository.BorrowInfoRepository;
+import com.journalsystem.springprogram.repository.JournalBorrowHistoryRepository;
 import com.journalsystem.springprogram.repository.JournalRepository;
 import com.journalsystem.springprogram.repository.TeacherRepository;
 import com.journalsystem.springprogram.util.DateUtil;
+import com.journalsystem.springprogram.util.IdBlockAllocator;
+import com.journalsystem.springprogram.util.JournalCatalogCache;
+import com.journalsystem.springprogram.util.TransactionUtil;
+import com.journalsystem.springprogram.util.TtlCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class BorrowServiceImpl implements BorrowService {
 
+    private static final Logger log = LoggerFactory.getLogger(BorrowServiceImpl.class);
+
+    // 未归还的借阅状态
+    private static final List<String> ACTIVE_BORROW_STATUSES =
+            List.of(Constants.BORROW_STATUS_BORROWED, Constants.BORROW_STATUS_OVERDUE);
+
     private final BorrowInfoRepository borrowInfoRepository;
+    private final BorrowInfoBatchRepository borrowInfoBatchRepository;
     private final TeacherRepository teacherRepository;
     private final JournalRepository journalRepository;
+    private final JournalBorrowHistoryRepository journalBorrowHistoryRepository;
+    private final BorrowHistoryRepository borrowHistoryRepository;
+    private final BorrowEventBatchRepository borrowEventBatchRepository;
+    private final HoldService holdService;
+    private final IdBlockAllocator idBlockAllocator;
+    private final JournalCatalogCache journalCatalogCache;
+    // 按状态统计数量的缓存，键为排序后的状态列表；借阅/归还/逾期扫描时清空
+    private final TtlCache<String, Long> statusCountCache;
+    // 续借策略：单次续借的最大天数，以及从借阅日期起算的最长借阅天数
+    private final int renewDays;
+    private final int maxLoanDays;
 
     @Autowired
-    public BorrowServiceImpl(BorrowInfoRepository borrowInfoRepository, TeacherRepository teacherRepository, JournalRepository journalRepository) {
+    public BorrowServiceImpl(BorrowInfoRepository borrowInfoRepository, BorrowInfoBatchRepository borrowInfoBatchRepository,
+                             TeacherRepository teacherRepository, JournalRepository journalRepository,
+                             JournalBorrowHistoryRepository journalBorrowHistoryRepository,
+                             BorrowHistoryRepository borrowHistoryRepository,
+                             BorrowEventBatchRepository borrowEventBatchRepository, HoldService holdService,
+                             IdBlockAllocator idBlockAllocator, JournalCatalogCache journalCatalogCache,
+                             @Value("${journal.borrow.status-count-cache-seconds:30}") long statusCountCacheSeconds,
+                             @Value("${journal.renew.days:30}") int renewDays,
+                             @Value("${journal.renew.max-loan-days:90}") int maxLoanDays) {
         this.borrowInfoRepository = borrowInfoRepository;
+        this.borrowInfoBatchRepository = borrowInfoBatchRepository;
         this.teacherRepository = teacherRepository;
         this.journalRepository = journalRepository;
+        this.journalBorrowHistoryRepository = journalBorrowHistoryRepository;
+        this.borrowHistoryRepository = borrowHistoryRepository;
+        this.borrowEventBatchRepository = borrowEventBatchRepository;
+        this.holdService = holdService;
+        this.idBlockAllocator = idBlockAllocator;
+        this.journalCatalogCache = journalCatalogCache;
+        this.statusCountCache = new TtlCache<>(statusCountCacheSeconds * 1000);
+        this.renewDays = renewDays;
+        this.maxLoanDays = maxLoanDays;
     }
 
 
 
     @Override
-    public Boolean borrowJournal(Integer borrowId, Integer teacherId, Integer journalId, LocalDate endDate) {
-        // 1. 检查教师是否存在
-        TeacherInfo teacher = teacherRepository.findById(teacherId)
-                .orElseThrow(() -> new BusinessException(400, "教师不存在"));
-
-        // 2. 检查期刊是否存在
-        JournalInfo journal = journalRepository.findById(journalId)
-                .orElseThrow(() -> new BusinessException(400, "期刊不存在"));
-
-        // 3. 检查教师是否达到借阅限额
-        if (teacher.getCurrentBorrow() >= teacher.getMaxBorrow()) {
-            throw new BusinessException(400, "教师已达到最大借阅限额");
+    @Transactional
+    public Integer borrowJournal(Integer teacherId, Integer journalId, LocalDate endDate) {
+        // 1. 占用教师借阅额度（条件更新，已达限额时不生效）；教师行的行锁持有到事务结束，
+        //    同一教师的借阅请求在此串行，之后的重复借阅检查能看到并发请求已提交的记录
+        reserveTeacherQuota(teacherId);
+        if (borrowInfoRepository.existsByBorrowerIdAndJournalIdAndStatusIn(teacherId, journalId, ACTIVE_BORROW_STATUSES)) {
+            throw new BusinessException(400, "该期刊已借阅且未归还");
         }
 
-        // 4. 检查期刊是否有可借数量
-        if (journal.getAvailableQuantity() <= 0) {
-            journal.setStatus(Constants.JOURNAL_STATUS_UNAVAILABLE);
-            throw new BusinessException(400, "期刊已无可用数量");
+        // 2. 教师有该期刊已分配副本的预约时，副本已从可借数量中预留，完成预约即可；
+        //    否则扣减期刊可借数量（条件更新，库存为0时不生效），失败时事务回滚，第1步的额度占用一并撤销
+        if (holdService.fulfillHolds(teacherId, List.of(journalId)).isEmpty()) {
+            reserveJournalStock(journalId);
         }
 
-        // 5. 创建借阅记录
+        // 3. 创建借阅记录，借阅ID从号段中分配，教师和期刊只取引用，不再查询实体
         BorrowInfo borrowInfo = new BorrowInfo();
-        borrowInfo.setId(borrowId);
-        borrowInfo.setBorrower(teacher);
-        borrowInfo.setJournal(journal);
+        borrowInfo.setId(idBlockAllocator.nextId(IdBlockAllocator.Sequence.BORROW));
+        borrowInfo.setBorrower(teacherRepository.getReferenceById(teacherId));
+        borrowInfo.setJournal(journalRepository.getReferenceById(journalId));
         borrowInfo.setStartDate(LocalDate.now());
         borrowInfo.setEndDate(endDate);
         borrowInfo.setStatus(Constants.BORROW_STATUS_BORROWED);
 
-        // 6. 更新教师当前借阅数量
-        teacher.setCurrentBorrow(teacher.getCurrentBorrow() + 1);
+        // 4. 插入借阅记录（JDBC插入，手动指定主键时JPA会先查询再插入），并在同一事务中追加借阅事件
+        borrowInfoBatchRepository.batchInsert(List.of(borrowInfo));
+        borrowEventBatchRepository.batchInsert(List.of(BorrowEvent.of(BorrowEvent.TYPE_BORROWED, null, borrowInfo)));
+        invalidateStatusCounts();
 
-        // 7. 更新期刊可借数量
-        journal.setAvailableQuantity(journal.getAvailableQuantity() - 1);
+        return borrowInfo.getId();
+    }
 
-        // 8. 保存借阅记录、教师和期刊信息
-        borrowInfoRepository.save(borrowInfo);
-        teacherRepository.save(teacher);
-        journalRepository.save(journal);
+    @Override
+    @Transactional
+    public List<BorrowItemResultDTO> batchBorrowJournals(Integer teacherId, List<Integer> journalIds, LocalDate endDate) {
+        if (journalIds == null || journalIds.isEmpty()) {
+            throw new BusinessException(400, "请选择要借阅的期刊");
+        }
 
-        return true;
+        // 1. 去重并按ID升序排列，保证各请求更新期刊行的顺序一致
+        List<Integer> sortedIds = journalIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+
+        // 2. 按整批数量一次性占用教师额度（与单本借阅相同，先更新教师再更新期刊）
+        if (teacherRepository.incrementCurrentBorrowBy(teacherId, sortedIds.size()) == 0) {
+            if (!teacherRepository.existsById(teacherId)) {
+                throw new BusinessException(400, "教师不存在");
+            }
+            throw new BusinessException(400, "借阅数量超过教师剩余可借额度");
+        }
+
+        // 3. 完成该教师已分配副本的预约（这些期刊的副本已预留，不再校验和扣减可借数量）；
+        //    查询期刊（不加行锁，库存由第6步的条件UPDATE保证），并查询该教师未归还的借阅记录
+        //    （第2步已持有教师行锁，同一教师的并发借阅在此之前串行）
+        Set<Integer> heldJournalIds = holdService.fulfillHolds(teacherId, sortedIds);
+        Map<Integer, JournalInfo> journals = journalRepository.findAllById(sortedIds).stream()
+                .collect(Collectors.toMap(JournalInfo::getId, Function.identity()));
+        Set<Integer> activeJournalIds = borrowInfoRepository.findByBorrowerIdAndStatusIn(teacherId, ACTIVE_BORROW_STATUSES).stream()
+                .map(borrowInfo -> borrowInfo.getJournal().getId())
+                .collect(Collectors.toSet());
+
+        // 4. 逐项校验，生成每一项的处理结果
+        LocalDate today = LocalDate.now();
+        List<BorrowItemResultDTO> results = new ArrayList<>();
+        List<Integer> borrowedJournalIds = new ArrayList<>();
+        List<Integer> stockJournalIds = new ArrayList<>(); // 需要扣减可借数量的期刊（不含预约已预留的）
+        List<BorrowInfo> newBorrows = new ArrayList<>();
+        List<BorrowItemResultDTO> borrowedResults = new ArrayList<>(); // 与newBorrows一一对应
+        List<BorrowEvent> events = new ArrayList<>();
+        for (Integer journalId : sortedIds) {
+            JournalInfo journal = journals.get(journalId);
+            if (journal == null) {
+                results.add(BorrowItemResultDTO.fail(null, journalId, "期刊不存在"));
+                continue;
+            }
+            boolean held = heldJournalIds.contains(journalId);
+            if (!held && (journal.getAvailableQuantity() == null || journal.getAvailableQuantity() <= 0)) {
+                results.add(BorrowItemResultDTO.fail(null, journalId, "期刊已无可用数量"));
+                continue;
+            }
+            if (activeJournalIds.contains(journalId)) {
+                if (held) {
+                    // 预约已完成但未借出，预留的副本转给下一位或放回可借数量
+                    journalRepository.incrementAvailableQuantity(journalId);
+                    journalCatalogCache.invalidateStock(journalId);
+                    holdService.allocateReturnedCopies(journalId, 1);
+                }
+                results.add(BorrowItemResultDTO.fail(null, journalId, "该期刊已借阅且未归还"));
+                continue;
+            }
+
+            // 每次借阅都是一条新记录，借阅ID在校验完成后统一分配
+            BorrowInfo borrowInfo = new BorrowInfo();
+            borrowInfo.setBorrower(teacherRepository.getReferenceById(teacherId));
+            borrowInfo.setJournal(journal);
+            borrowInfo.setStartDate(today);
+            borrowInfo.setEndDate(endDate);
+            borrowInfo.setStatus(Constants.BORROW_STATUS_BORROWED);
+            newBorrows.add(borrowInfo);
+            borrowedJournalIds.add(journalId);
+            if (!held) {
+                stockJournalIds.add(journalId);
+            }
+            BorrowItemResultDTO result = BorrowItemResultDTO.success(null, journalId);
+            results.add(result);
+            borrowedResults.add(result);
+        }
+
+        // 5. 释放未使用的额度
+        int unused = sortedIds.size() - borrowedJournalIds.size();
+        if (unused > 0) {
+            teacherRepository.decrementCurrentBorrowBy(teacherId, unused);
+        }
+
+        // 6. 一条UPDATE扣减库存，一个JDBC批次插入全部新借阅记录，一个批次追加借阅事件
+        //    校验时读到的库存可能已被并发借阅扣完，条件UPDATE扣减数少于预期时整批回滚，由调用方重试
+        if (!borrowedJournalIds.isEmpty()) {
+            if (!stockJournalIds.isEmpty()
+                    && journalRepository.decrementAvailableQuantityIn(stockJournalIds) < stockJournalIds.size()) {
+                throw new OptimisticLockingFailureException("期刊库存已被并发借阅修改");
+            }
+            journalCatalogCache.invalidateStock(stockJournalIds);
+            //    整批借阅ID一次从号段中分配
+            List<Integer> borrowIds = idBlockAllocator.nextIds(IdBlockAllocator.Sequence.BORROW, newBorrows.size());
+            for (int i = 0; i < newBorrows.size(); i++) {
+                newBorrows.get(i).setId(borrowIds.get(i));
+                borrowedResults.get(i).setBorrowId(borrowIds.get(i));
+                events.add(BorrowEvent.of(BorrowEvent.TYPE_BORROWED, null, newBorrows.get(i)));
+            }
+            borrowInfoBatchRepository.batchInsert(newBorrows);
+            borrowEventBatchRepository.batchInsert(events);
+            invalidateStatusCounts();
+        }
+
+        return results;
     }
 
     @Override
+    @Transactional
     public Boolean returnJournal(Integer borrowId) {
         // 1. 检查借阅记录是否存在
         BorrowInfo borrowInfo = borrowInfoRepository.findById(borrowId)
                 .orElseThrow(() -> new BusinessException(400, "借阅记录不存在"));
 
-        // 2. 检查借阅记录是否已经归还
-        if (Constants.BORROW_STATUS_RETURNED.equals(borrowInfo.getStatus())) {
+        // 2. 条件更新借阅状态和实际归还日期，并发归还时只有一个请求能更新成功
+        LocalDate today = LocalDate.now();
+        if (borrowInfoRepository.markReturned(List.of(borrowId), today) == 0) {
             throw new BusinessException(400, "该借阅记录已归还");
         }
+        borrowEventBatchRepository.batchInsert(List.of(returnedEvent(borrowInfo, today)));
+        invalidateStatusCounts();
 
-        // 3. 更新借阅记录状态和实际归还日期
-        borrowInfo.setStatus(Constants.BORROW_STATUS_RETURNED);
-        borrowInfo.setReturnDate(LocalDate.now());
+        // 3. 释放教师借阅额度、归还期刊库存（条件更新，不覆盖并发借阅写入的计数）
+        if (teacherRepository.decrementCurrentBorrow(borrowInfo.getBorrower().getId()) == 0) {
+            log.warn("归还时教师当前借阅数已为0，计数未修改，等待计数对账修正：teacherId={}, borrowId={}",
+                    borrowInfo.getBorrower().getId(), borrowInfo.getId());
+        }
+        journalRepository.incrementAvailableQuantity(borrowInfo.getJournal().getId());
+        journalCatalogCache.invalidateStock(borrowInfo.getJournal().getId());
 
-        // 4. 更新教师当前借阅数量
-        TeacherInfo teacher = borrowInfo.getBorrower();
-        teacher.setCurrentBorrow(teacher.getCurrentBorrow() - 1);
+        // 4. 有人预约该期刊时，把归还的副本分配给队首
+        holdService.allocateReturnedCopies(borrowInfo.getJournal().getId(), 1);
 
-        // 5. 更新期刊可借数量
-        JournalInfo journal = borrowInfo.getJournal();
-        journal.setAvailableQuantity(journal.getAvailableQuantity() + 1);
+        return true;
+    }
 
-        // 6. 保存借阅记录、教师和期刊信息
-        borrowInfoRepository.save(borrowInfo);
-        teacherRepository.save(teacher);
-        journalRepository.save(journal);
+    @Override
+    @Transactional
+    public List<BorrowItemResultDTO> batchReturnJournals(List<BorrowReturnItemDTO> items) {
+        if (items == null || items.isEmpty()) {
+            throw new BusinessException(400, "请选择要归还的借阅记录");
+        }
+        if (items.size() > Constants.MAX_BATCH_SIZE) {
+            throw new BusinessException(400, "单次最多归还" + Constants.MAX_BATCH_SIZE + "条借阅记录");
+        }
 
-        return true;
+        // 1. 扫码枪条目（ISSN+教师ID）一次查询出期刊ID
+        Set<String> issns = items.stream()
+                .filter(item -> item.getBorrowId() == null && item.getIssn() != null)
+                .map(BorrowReturnItemDTO::getIssn)
+                .collect(Collectors.toSet());
+        Map<String, Integer> journalIdByIssn = issns.isEmpty() ? Map.of() : journalRepository.findByIssnIn(issns).stream()
+                .collect(Collectors.toMap(JournalInfo::getIssn, JournalInfo::getId, (first, second) -> first));
+
+        // 2. 扫码枪条目一次查询出对应教师未归还的借阅记录，换算每个条目的borrowId
+        Set<Integer> scanTeacherIds = items.stream()
+                .filter(item -> item.getBorrowId() == null && item.getTeacherId() != null)
+                .map(BorrowReturnItemDTO::getTeacherId)
+                .collect(Collectors.toSet());
+        Map<String, Integer> activeBorrowIds = new HashMap<>();
+        if (!scanTeacherIds.isEmpty() && !journalIdByIssn.isEmpty()) {
+            for (BorrowInfo active : borrowInfoRepository.findActiveByBorrowerIdInAndJournalIdIn(scanTeacherIds, journalIdByIssn.values())) {
+                activeBorrowIds.put(active.getBorrower().getId() + ":" + active.getJournal().getId(), active.getId());
+            }
+        }
+        List<Integer> itemBorrowIds = new ArrayList<>();
+        for (BorrowReturnItemDTO item : items) {
+            Integer borrowId = item.getBorrowId();
+            if (borrowId == null && item.getTeacherId() != null && journalIdByIssn.containsKey(item.getIssn())) {
+                borrowId = activeBorrowIds.get(item.getTeacherId() + ":" + journalIdByIssn.get(item.getIssn()));
+            }
+            itemBorrowIds.add(borrowId);
+        }
+
+        // 3. 查询全部借阅记录（不加行锁，重复归还由第5步的条件UPDATE检测），只取ID，不触发教师和期刊的延迟加载
+        List<Integer> queryIds = itemBorrowIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<Integer, BorrowInfo> borrows = queryIds.isEmpty() ? Map.of() : borrowInfoRepository.findAllById(queryIds).stream()
+                .collect(Collectors.toMap(BorrowInfo::getId, Function.identity()));
+
+        // 4. 逐项校验，统计每位教师、每本期刊的归还数量
+        List<BorrowItemResultDTO> results = new ArrayList<>();
+        Set<Integer> returnIds = new HashSet<>();
+        Map<Integer, Integer> teacherCounts = new HashMap<>();
+        Map<Integer, Integer> journalCounts = new HashMap<>();
+        List<BorrowEvent> events = new ArrayList<>();
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < items.size(); i++) {
+            Integer borrowId = itemBorrowIds.get(i);
+            BorrowInfo borrowInfo = borrowId != null ? borrows.get(borrowId) : null;
+            if (borrowInfo == null) {
+                results.add(BorrowItemResultDTO.fail(borrowId, null, "借阅记录不存在"));
+                continue;
+            }
+            Integer journalId = borrowInfo.getJournal().getId();
+            if (Constants.BORROW_STATUS_RETURNED.equals(borrowInfo.getStatus())) {
+                results.add(BorrowItemResultDTO.fail(borrowId, journalId, "该借阅记录已归还"));
+                continue;
+            }
+            if (!returnIds.add(borrowId)) {
+                results.add(BorrowItemResultDTO.fail(borrowId, journalId, "重复的归还条目"));
+                continue;
+            }
+            teacherCounts.merge(borrowInfo.getBorrower().getId(), 1, Integer::sum);
+            journalCounts.merge(journalId, 1, Integer::sum);
+            events.add(returnedEvent(borrowInfo, today));
+            results.add(BorrowItemResultDTO.success(borrowId, journalId));
+        }
+        if (returnIds.isEmpty()) {
+            return results;
+        }
+
+        // 5. 一条UPDATE更新全部借阅记录，教师额度和期刊库存按归还数量分组，每组一条UPDATE
+        //    更新行数少于预期说明部分记录已被并发归还，整批回滚，由调用方重试（重试时这些记录会报告为已归还）
+        if (borrowInfoRepository.markReturned(returnIds, today) < returnIds.size()) {
+            throw new OptimisticLockingFailureException("借阅记录已被并发归还");
+        }
+        borrowEventBatchRepository.batchInsert(events);
+        invalidateStatusCounts();
+        groupByCount(teacherCounts).forEach((count, teacherIds) -> {
+            if (teacherRepository.decrementCurrentBorrowIn(teacherIds, count) < teacherIds.size()) {
+                log.warn("批量归还时部分教师的当前借阅数小于归还数量，这些教师的计数未修改，等待计数对账修正：" +
+                        "teacherIds={}, count={}", teacherIds, count);
+            }
+        });
+        groupByCount(journalCounts).forEach((count, journalIds) -> journalRepository.incrementAvailableQuantityIn(journalIds, count));
+        journalCatalogCache.invalidateStock(journalCounts.keySet());
+
+        // 6. 有人预约的期刊，把归还的副本按排队顺序分配
+        holdService.allocateReturnedCopies(journalCounts);
+
+        return results;
     }
 
     @Override
@@ -121,27 +378,71 @@ public class BorrowServiceImpl implements BorrowService {
     @Override
     public List<BorrowInfo> getBorrowsByTeacherId(Integer teacherId) {
         // 检查教师是否存在
-        TeacherInfo teacher = teacherRepository.findById(teacherId)
-                .orElseThrow(() -> new BusinessException(400, "教师不存在"));
+        checkTeacherExists(teacherId);
 
-        // 查询该教师的所有借阅记录
-        return borrowInfoRepository.findAll()
-                .stream()
-                .filter(borrowInfo -> borrowInfo.getBorrower().getId().equals(teacherId))
-                .collect(Collectors.toList());
+        // 按borrower_id索引查询该教师的所有借阅记录
+        return borrowInfoRepository.findByBorrowerId(teacherId);
     }
 
     @Override
     public List<BorrowInfo> getBorrowsByJournalId(Integer journalId) {
         // 检查期刊是否存在
-        JournalInfo journal = journalRepository.findById(journalId)
-                .orElseThrow(() -> new BusinessException(400, "期刊不存在"));
+        if (!journalRepository.existsById(journalId)) {
+            throw new BusinessException(400, "期刊不存在");
+        }
 
-        // 查询该期刊的所有借阅记录
-        return borrowInfoRepository.findAll()
-                .stream()
-                .filter(borrowInfo -> borrowInfo.getJournal().getId().equals(journalId))
-                .collect(Collectors.toList());
+        // 查询该期刊的所有借阅记录（按journal_id过滤，并一次join出借阅人和期刊）
+        return borrowInfoRepository.findByJournalId(journalId);
+    }
+
+    @Override
+    public JournalBorrowHistoryDTO getJournalBorrowHistory(Integer journalId, PageRequest pageRequest, boolean includeArchived) {
+        // 1. 检查期刊是否存在
+        if (!journalRepository.existsById(journalId)) {
+            throw new BusinessException(400, "期刊不存在");
+        }
+
+        // 2. 校验分页参数，只支持按借阅日期排序（与索引顺序一致），默认最近的在前
+        pageRequest.validate();
+        boolean ascending = "asc".equalsIgnoreCase(pageRequest.getSortOrder());
+        int offset = (pageRequest.getPageNum() - 1) * pageRequest.getPageSize();
+
+        // 3. 一条SQL同时查询当前页记录和借阅汇总
+        JournalBorrowHistoryDTO history = journalBorrowHistoryRepository.findHistory(
+                journalId, offset, pageRequest.getPageSize(), ascending, includeArchived);
+        history.setPageNum(pageRequest.getPageNum());
+        history.setPageSize(pageRequest.getPageSize());
+        history.setTotalPages((int) Math.ceil((double) history.getTotalBorrows() / pageRequest.getPageSize()));
+        return history;
+    }
+
+    @Override
+    public PageResult<BorrowDTO> getTeacherBorrowHistory(Integer teacherId, PageRequest pageRequest, boolean includeArchived) {
+        // 1. 检查教师是否存在
+        checkTeacherExists(teacherId);
+
+        // 2. 校验分页参数，按借阅日期降序（最近的在前）
+        pageRequest.validate();
+        int offset = (pageRequest.getPageNum() - 1) * pageRequest.getPageSize();
+
+        // 3. 默认只查询热表，需要完整历史时合并归档表
+        List<BorrowDTO> records = borrowHistoryRepository.findByBorrowerId(
+                teacherId, offset, pageRequest.getPageSize(), includeArchived);
+        long total = borrowHistoryRepository.countByBorrowerId(teacherId, includeArchived);
+        return PageResult.build(pageRequest.getPageNum(), pageRequest.getPageSize(), total, records);
+    }
+
+    @Override
+    @Transactional
+    public Integer archiveReturnedBorrows(LocalDate cutoff, Integer batchSize) {
+        // 1. 锁定一批可归档的记录，每批一个事务，中断后下次执行从剩余记录继续
+        List<Integer> borrowIds = borrowHistoryRepository.lockArchivable(cutoff, batchSize);
+        if (borrowIds.isEmpty()) {
+            return 0;
+        }
+
+        // 2. 复制到归档表并从热表删除；归档不改变借阅统计，不追加借阅事件
+        return borrowHistoryRepository.moveToHistory(borrowIds);
     }
 
     @Override
@@ -153,6 +454,9 @@ public class BorrowServiceImpl implements BorrowService {
     public PageResult<BorrowInfo> getBorrowsByPage(PageRequest pageRequest) {
         // 1. 校验分页参数（修正页码、页大小、排序方向）
         pageRequest.validate();
+        if (pageRequest.isSeekMode()) {
+            return getBorrowsBySeek(null, pageRequest);
+        }
     
         // 2. 构建排序条件（支持自定义排序字段和方向）
         Sort sort = Sort.unsorted();
@@ -189,11 +493,13 @@ public class BorrowServiceImpl implements BorrowService {
     @Override
     public PageResult<BorrowInfo> getBorrowsByTeacherIdAndPage(Integer teacherId, PageRequest pageRequest) {
         // 1. 校验教师是否存在
-        TeacherInfo teacher = teacherRepository.findById(teacherId)
-                .orElseThrow(() -> new BusinessException(400, "教师不存在"));
+        checkTeacherExists(teacherId);
     
-        // 2. 校验分页参数
+        // 2. 校验分页参数，游标分页按(end_date, id)降序取下一页
         pageRequest.validate();
+        if (pageRequest.isSeekMode()) {
+            return getTeacherBorrowsBySeek(teacherId, pageRequest);
+        }
     
         // 3. 构建排序条件
         Sort sort = Sort.unsorted();
@@ -227,22 +533,83 @@ public class BorrowServiceImpl implements BorrowService {
         );
     }
 
+    @Override
+    public PageResult<BorrowInfo> getBorrowsByStatusAndPage(List<String> statuses, PageRequest pageRequest) {
+        pageRequest.validate();
+        if (pageRequest.isSeekMode()) {
+            return getBorrowsBySeek(statuses, pageRequest);
+        }
+
+        // 页码分页，默认按借阅记录ID降序排列
+        org.springframework.data.domain.PageRequest jpaPageRequest =
+                org.springframework.data.domain.PageRequest.of(
+                        pageRequest.getPageNum() - 1,
+                        pageRequest.getPageSize(),
+                        Sort.by(Sort.Direction.DESC, "id")
+                );
+        Page<BorrowInfo> borrowPage = borrowInfoRepository.findByStatusIn(statuses, jpaPageRequest);
+        return PageResult.build(
+                pageRequest.getPageNum(),
+                pageRequest.getPageSize(),
+                borrowPage.getTotalElements(),
+                borrowPage.getContent()
+        );
+    }
+
+    @Override
+    public PageResult<BorrowDTO> getBorrowDTOsByTeacherIdAndStatus(Integer teacherId, List<String> statuses, PageRequest pageRequest) {
+        // 1. 校验教师是否存在
+        checkTeacherExists(teacherId);
+
+        // 2. 校验分页参数，游标分页按(end_date, id)降序取下一页
+        pageRequest.validate();
+        if (pageRequest.isSeekMode()) {
+            PageCursor cursor = PageCursor.decode(pageRequest.getCursor());
+            LocalDate afterEndDate = cursor != null ? cursor.getSortValueAsDate() : LocalDate.of(9999, 12, 31);
+            Integer afterId = cursor != null ? cursor.getId() : Integer.MAX_VALUE;
+            Slice<BorrowDTO> slice = borrowInfoRepository.findDTOByBorrowerIdAndStatusInAfter(teacherId, statuses, afterEndDate, afterId,
+                    org.springframework.data.domain.PageRequest.of(0, pageRequest.getPageSize()));
+            Long total = pageRequest.getCountTotal() ? borrowInfoRepository.countByBorrowerIdAndStatusIn(teacherId, statuses) : null;
+
+            List<BorrowDTO> content = slice.getContent();
+            String nextCursor = null;
+            if (slice.hasNext()) {
+                BorrowDTO last = content.get(content.size() - 1);
+                nextCursor = PageCursor.encode(last.getEndDate(), last.getId());
+            }
+            return PageResult.buildSeek(pageRequest.getPageSize(), total, content, nextCursor, cursor != null);
+        }
+
+        // 3. 构建排序条件，默认按结束日期降序
+        Sort sort;
+        if (pageRequest.getSortField() != null && !pageRequest.getSortField().isEmpty()) {
+            Sort.Direction direction = "desc".equalsIgnoreCase(pageRequest.getSortOrder())
+                    ? Sort.Direction.DESC
+                    : Sort.Direction.ASC;
+            sort = Sort.by(direction, pageRequest.getSortField());
+        } else {
+            sort = Sort.by(Sort.Direction.DESC, "endDate");
+        }
+
+        // 4. 状态过滤在数据库中完成，总数和页大小均准确
+        Page<BorrowDTO> borrowPage = borrowInfoRepository.findDTOByBorrowerIdAndStatusIn(teacherId, statuses,
+                org.springframework.data.domain.PageRequest.of(pageRequest.getPageNum() - 1, pageRequest.getPageSize(), sort));
+
+        // 5. 转换为自定义分页结果返回
+        return PageResult.build(
+                pageRequest.getPageNum(),
+                pageRequest.getPageSize(),
+                borrowPage.getTotalElements(),
+                borrowPage.getContent()
+        );
+    }
+
     @Override
     public List<BorrowInfo> getOverdueBorrows() {
-        // 获取所有借阅记录
-        List<BorrowInfo> borrowInfos = borrowInfoRepository.findAll();
-
-        // 筛选出逾期借阅记录，包括两种情况：
-        // 1. 状态为borrowed且已逾期
-        // 2. 状态已更新为overdue
-        return borrowInfos.stream()
-                .filter(borrow -> {
-                    boolean isOverdueStatus = Constants.BORROW_STATUS_OVERDUE.equals(borrow.getStatus());
-                    boolean isBorrowedAndOverdue = Constants.BORROW_STATUS_BORROWED.equals(borrow.getStatus()) &&
-                            borrow.getEndDate().isBefore(LocalDate.now());
-                    return isOverdueStatus || isBorrowedAndOverdue;
-                })
-                .collect(Collectors.toList());
+        // 逾期记录包括两种情况，均由(STATUS, end_date)索引过滤：
+        // 1. 状态已被扫描任务更新为overdue
+        // 2. 状态为borrowed且已逾期（扫描任务尚未处理）
+        return borrowInfoRepository.findOverdue(LocalDate.now());
     }
 
     @Override
@@ -262,19 +629,24 @@ public class BorrowServiceImpl implements BorrowService {
     }
 
     @Override
+    @Transactional
     public Boolean updateBorrowStatus(Integer borrowId, String status) {
         // 检查借阅记录是否存在
         BorrowInfo borrowInfo = borrowInfoRepository.findById(borrowId)
                 .orElseThrow(() -> new BusinessException(400, "借阅记录不存在"));
 
-        // 更新借阅记录状态
+        // 更新借阅记录状态，并追加状态修改事件
+        String fromStatus = borrowInfo.getStatus();
         borrowInfo.setStatus(status);
         borrowInfoRepository.save(borrowInfo);
+        borrowEventBatchRepository.batchInsert(List.of(BorrowEvent.of(BorrowEvent.TYPE_STATUS_CHANGED, fromStatus, borrowInfo)));
+        invalidateStatusCounts();
 
         return true;
     }
 
     @Override
+    @Transactional
     public Boolean extendBorrowPeriod(Integer borrowId, LocalDate newEndDate) {
         // 检查借阅记录是否存在
         BorrowInfo borrowInfo = borrowInfoRepository.findById(borrowId)
@@ -290,13 +662,82 @@ public class BorrowServiceImpl implements BorrowService {
             throw new BusinessException(400, "新的结束日期不能早于原结束日期");
         }
 
-        // 更新借阅记录的结束日期
+        // 更新借阅记录的结束日期，已逾期的记录延期到今天及以后则恢复为借出状态
+        String fromStatus = borrowInfo.getStatus();
         borrowInfo.setEndDate(newEndDate);
+        if (Constants.BORROW_STATUS_OVERDUE.equals(borrowInfo.getStatus()) && !newEndDate.isBefore(LocalDate.now())) {
+            borrowInfo.setStatus(Constants.BORROW_STATUS_BORROWED);
+        }
         borrowInfoRepository.save(borrowInfo);
+        borrowEventBatchRepository.batchInsert(List.of(BorrowEvent.of(BorrowEvent.TYPE_EXTENDED, fromStatus, borrowInfo)));
+        invalidateStatusCounts();
 
         return true;
     }
 
+    @Override
+    @Transactional
+    public List<BorrowItemResultDTO> renewAllByTeacherId(Integer teacherId, Integer days) {
+        checkTeacherExists(teacherId);
+
+        // 1. 修正续借天数：未指定或超过策略天数时取策略天数
+        if (days == null || days > renewDays) {
+            days = renewDays;
+        }
+        if (days <= 0) {
+            throw new BusinessException(400, "续借天数必须大于0");
+        }
+
+        // 2. 一次查询教师全部借出中的记录，以及其中有人排队预约的期刊
+        List<BorrowInfo> borrows = borrowInfoRepository.findByBorrowerIdAndStatusIn(teacherId, ACTIVE_BORROW_STATUSES);
+        if (borrows.isEmpty()) {
+            throw new BusinessException(400, "当前没有可续借的期刊");
+        }
+        Set<Integer> heldJournalIds = holdService.getJournalIdsWithWaitingHolds(borrows.stream()
+                .map(borrowInfo -> borrowInfo.getJournal().getId())
+                .collect(Collectors.toSet()));
+
+        // 3. 逐条校验，新的应还日期与UPDATE中的计算一致：顺延days天，且不超过借阅日期+最长借阅天数
+        LocalDate today = LocalDate.now();
+        List<BorrowItemResultDTO> results = new ArrayList<>();
+        List<Integer> renewIds = new ArrayList<>();
+        List<BorrowEvent> events = new ArrayList<>();
+        for (BorrowInfo borrowInfo : borrows) {
+            Integer journalId = borrowInfo.getJournal().getId();
+            LocalDate maxEndDate = borrowInfo.getStartDate().plusDays(maxLoanDays);
+            if (Constants.BORROW_STATUS_OVERDUE.equals(borrowInfo.getStatus()) || borrowInfo.getEndDate().isBefore(today)) {
+                results.add(BorrowItemResultDTO.fail(borrowInfo.getId(), journalId, "已逾期，请先归还"));
+            } else if (heldJournalIds.contains(journalId)) {
+                results.add(BorrowItemResultDTO.fail(borrowInfo.getId(), journalId, "该期刊有人预约，无法续借"));
+            } else if (!borrowInfo.getEndDate().isBefore(maxEndDate)) {
+                results.add(BorrowItemResultDTO.fail(borrowInfo.getId(), journalId, "已达到最长借阅期限"));
+            } else {
+                LocalDate newEndDate = borrowInfo.getEndDate().plusDays(days);
+                if (newEndDate.isAfter(maxEndDate)) {
+                    newEndDate = maxEndDate;
+                }
+                renewIds.add(borrowInfo.getId());
+                results.add(BorrowItemResultDTO.renewed(borrowInfo.getId(), journalId, newEndDate));
+                // 实体不修改，避免提交时再逐行UPDATE；事件中记录续借后的日期
+                BorrowEvent event = BorrowEvent.of(BorrowEvent.TYPE_EXTENDED, borrowInfo.getStatus(), borrowInfo);
+                event.setEndDate(newEndDate);
+                events.add(event);
+            }
+        }
+        if (renewIds.isEmpty()) {
+            return results;
+        }
+
+        // 4. 一条UPDATE完成续借；更新行数不足说明期间有记录被归还或修改，交由调用方重试
+        if (borrowInfoRepository.renewAll(teacherId, renewIds, days, maxLoanDays) != renewIds.size()) {
+            throw new OptimisticLockingFailureException("借阅记录已被修改，请重试");
+        }
+        borrowEventBatchRepository.batchInsert(events);
+        invalidateStatusCounts();
+
+        return results;
+    }
+
     @Override
     public PageResult<BorrowInfo> getOverdueBorrowsByPage(PageRequest pageRequest) {
         // 1. 校验分页参数（修正页码、页大小、排序方向）
@@ -322,62 +763,216 @@ public class BorrowServiceImpl implements BorrowService {
                         sort
                 );
     
-        // 4. 执行分页查询（查询状态为逾期或已借出且实际已逾期的记录）
-        List<String> overdueStatuses = List.of(Constants.BORROW_STATUS_OVERDUE, Constants.BORROW_STATUS_BORROWED);
-        Page<BorrowInfo> borrowPage = borrowInfoRepository.findAllByStatusIn(overdueStatuses, jpaPageRequest);
+        // 4. 执行分页查询，过滤条件在数据库中完成，总数和页大小均准确
+        Page<BorrowInfo> borrowPage = borrowInfoRepository.findOverdue(LocalDate.now(), jpaPageRequest);
     
-        // 5. 筛选出真正逾期的记录（对于状态为已借出的记录，需要检查是否实际已逾期）
-        LocalDate now = LocalDate.now();
-        List<BorrowInfo> overdueBorrows = borrowPage.getContent().stream()
-                .filter(borrow -> {
-                    boolean isOverdueStatus = Constants.BORROW_STATUS_OVERDUE.equals(borrow.getStatus());
-                    boolean isBorrowedAndOverdue = Constants.BORROW_STATUS_BORROWED.equals(borrow.getStatus()) &&
-                            borrow.getEndDate().isBefore(now);
-                    return isOverdueStatus || isBorrowedAndOverdue;
-                })
-                .collect(Collectors.toList());
-    
-        // 6. 转换为自定义分页结果返回
+        // 5. 转换为自定义分页结果返回
         return PageResult.build(
                 pageRequest.getPageNum(),
                 pageRequest.getPageSize(),
-                (long) overdueBorrows.size(), // 修复：使用实际筛选后的逾期记录数作为总数
-                overdueBorrows
+                borrowPage.getTotalElements(),
+                borrowPage.getContent()
         );
     }
 
     @Override
     public Integer getBorrowCountByTeacherId(Integer teacherId) {
         // 检查教师是否存在
-        TeacherInfo teacher = teacherRepository.findById(teacherId)
-                .orElseThrow(() -> new BusinessException(400, "教师不存在"));
+        checkTeacherExists(teacherId);
 
-        // 统计该教师的借阅次数
-        return (int) borrowInfoRepository.findAll()
-                .stream()
-                .filter(borrowInfo -> borrowInfo.getBorrower().getId().equals(teacherId))
-                .count();
+        // 统计该教师的借阅次数（count查询，不加载实体），包含已归档的记录
+        return (int) (borrowInfoRepository.countByBorrowerId(teacherId)
+                + borrowHistoryRepository.countArchivedByBorrowerId(teacherId));
+    }
+
+    @Override
+    public Long getOverdueCount() {
+        return borrowInfoRepository.countOverdue(LocalDate.now());
+    }
+
+    @Override
+    @Transactional
+    public Integer markOverdueBorrows(LocalDate fromDate, LocalDate today) {
+        int updated = borrowInfoRepository.markOverdue(fromDate, today);
+        if (updated > 0) {
+            invalidateStatusCounts();
+        }
+        return updated;
+    }
+
+    @Override
+    public Integer getOverdueCountByTeacherId(Integer teacherId) {
+        checkTeacherExists(teacherId);
+        return (int) borrowInfoRepository.countOverdueByBorrowerId(teacherId, LocalDate.now());
+    }
+
+    @Override
+    public Integer getUpcomingDueCountByTeacherId(Integer teacherId) {
+        checkTeacherExists(teacherId);
+        // 与DateUtil.isSoonExpire保持一致：今天或明天到期
+        LocalDate today = LocalDate.now();
+        return (int) borrowInfoRepository.countDueBetweenByBorrowerId(teacherId, today, today.plusDays(1));
     }
 
     @Override
     public List<BorrowInfo> getBorrowsByStatus(String status, Integer limit) {
-        List<BorrowInfo> borrowInfos;
+        // 1. 修正limit：未指定或超过上限时取最大分页大小，保证单次查询的行数有上限
+        if (limit == null || limit <= 0 || limit > Constants.MAX_PAGE_SIZE) {
+            limit = Constants.MAX_PAGE_SIZE;
+        }
+        org.springframework.data.domain.PageRequest jpaPageRequest =
+                org.springframework.data.domain.PageRequest.of(0, limit, Sort.by(Sort.Direction.ASC, "id"));
 
-        // 解析状态参数，支持多个状态用逗号分隔
-        if (status != null && !status.isEmpty()) {
-            List<String> statuses = List.of(status.split(","));
-            borrowInfos = borrowInfoRepository.findAllByStatusIn(statuses);
-        } else {
-            // 如果没有指定状态，查询所有记录
-            borrowInfos = borrowInfoRepository.findAll();
+        // 2. 解析状态参数，支持多个状态用逗号分隔；limit由数据库执行（LIMIT），不再全表加载后截取
+        List<String> statuses = parseStatuses(status);
+        if (statuses == null) {
+            return borrowInfoRepository.findLimited(jpaPageRequest);
         }
+        return borrowInfoRepository.findLimitedByStatusIn(statuses, jpaPageRequest);
+    }
 
-        // 应用limit限制
-        if (limit != null && limit > 0 && limit < borrowInfos.size()) {
-            return borrowInfos.subList(0, limit);
+    @Override
+    public Long countBorrowsByStatus(String status) {
+        List<String> statuses = parseStatuses(status);
+        String key = statuses == null ? "" : String.join(",", statuses);
+        return statusCountCache.get(key, () -> statuses == null
+                ? borrowInfoRepository.count()
+                : borrowInfoRepository.countByStatusIn(statuses));
+    }
+
+    /**
+     * 解析逗号分隔的状态参数，去重并排序（保证相同状态集合对应同一个缓存键）
+     * @param status 状态参数
+     * @return 状态列表，参数为空时返回null
+     */
+    private List<String> parseStatuses(String status) {
+        if (status == null || status.isBlank()) {
+            return null;
         }
+        return List.of(status.split(",")).stream()
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+    }
 
-        return borrowInfos;
+    /**
+     * 构建归还事件：归还通过条件UPDATE完成，内存中的实体仍是归还前的状态
+     * @param borrowInfo 归还前的借阅记录
+     * @param returnDate 归还日期
+     * @return 归还事件
+     */
+    private BorrowEvent returnedEvent(BorrowInfo borrowInfo, LocalDate returnDate) {
+        BorrowEvent event = BorrowEvent.of(BorrowEvent.TYPE_RETURNED, borrowInfo.getStatus(), borrowInfo);
+        event.setToStatus(Constants.BORROW_STATUS_RETURNED);
+        event.setReturnDate(returnDate);
+        return event;
+    }
+
+    /**
+     * 游标分页查询借阅记录，按ID降序，只取id小于游标的一页
+     * @param statuses 状态列表，为null时不过滤状态
+     * @param pageRequest 分页参数
+     * @return 分页结果
+     */
+    private PageResult<BorrowInfo> getBorrowsBySeek(List<String> statuses, PageRequest pageRequest) {
+        PageCursor cursor = PageCursor.decode(pageRequest.getCursor());
+        Integer afterId = cursor != null ? cursor.getId() : Integer.MAX_VALUE;
+        org.springframework.data.domain.PageRequest jpaPageRequest =
+                org.springframework.data.domain.PageRequest.of(0, pageRequest.getPageSize(), Sort.by(Sort.Direction.DESC, "id"));
+
+        Slice<BorrowInfo> slice = statuses == null
+                ? borrowInfoRepository.findByIdLessThan(afterId, jpaPageRequest)
+                : borrowInfoRepository.findByStatusInAndIdLessThan(statuses, afterId, jpaPageRequest);
+        Long total = null;
+        if (pageRequest.getCountTotal()) {
+            total = statuses == null ? borrowInfoRepository.count() : borrowInfoRepository.countByStatusIn(statuses);
+        }
+
+        List<BorrowInfo> content = slice.getContent();
+        String nextCursor = slice.hasNext() ? PageCursor.encode(null, content.get(content.size() - 1).getId()) : null;
+        return PageResult.buildSeek(pageRequest.getPageSize(), total, content, nextCursor, cursor != null);
+    }
+
+    /**
+     * 游标分页查询教师借阅记录，按(end_date, id)降序
+     * @param teacherId 教师ID
+     * @param pageRequest 分页参数
+     * @return 分页结果
+     */
+    private PageResult<BorrowInfo> getTeacherBorrowsBySeek(Integer teacherId, PageRequest pageRequest) {
+        PageCursor cursor = PageCursor.decode(pageRequest.getCursor());
+        LocalDate afterEndDate = cursor != null ? cursor.getSortValueAsDate() : LocalDate.of(9999, 12, 31);
+        Integer afterId = cursor != null ? cursor.getId() : Integer.MAX_VALUE;
+
+        Slice<BorrowInfo> slice = borrowInfoRepository.findByBorrowerIdAfter(teacherId, afterEndDate, afterId,
+                org.springframework.data.domain.PageRequest.of(0, pageRequest.getPageSize()));
+        Long total = pageRequest.getCountTotal() ? borrowInfoRepository.countByBorrowerId(teacherId) : null;
+
+        List<BorrowInfo> content = slice.getContent();
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            BorrowInfo last = content.get(content.size() - 1);
+            nextCursor = PageCursor.encode(last.getEndDate(), last.getId());
+        }
+        return PageResult.buildSeek(pageRequest.getPageSize(), total, content, nextCursor, cursor != null);
+    }
+
+    /**
+     * 将"ID -> 数量"按数量分组为"数量 -> ID列表"，数量相同的行可以合并为一条UPDATE
+     * @param counts 每个ID对应的数量
+     * @return 按数量分组后的ID列表
+     */
+    private Map<Integer, List<Integer>> groupByCount(Map<Integer, Integer> counts) {
+        return counts.entrySet().stream()
+                .collect(Collectors.groupingBy(Map.Entry::getValue,
+                        Collectors.mapping(Map.Entry::getKey, Collectors.toList())));
+    }
+
+    /**
+     * 借阅状态变化后清空按状态统计的总数缓存
+     * 在事务提交后清空：提交前清空时，并发的读请求可能重新缓存提交前的总数并一直保留到缓存过期
+     */
+    private void invalidateStatusCounts() {
+        TransactionUtil.afterCommit(statusCountCache::invalidateAll);
+    }
+
+    /**
+     * 检查教师是否存在，只做存在性查询，不加载教师实体
+     * @param teacherId 教师ID
+     */
+    private void checkTeacherExists(Integer teacherId) {
+        if (teacherId == null || !teacherRepository.existsById(teacherId)) {
+            throw new BusinessException(400, "教师不存在");
+        }
+    }
+
+    /**
+     * 占用教师借阅额度，仅在更新失败时才查询失败原因
+     * @param teacherId 教师ID
+     */
+    private void reserveTeacherQuota(Integer teacherId) {
+        if (teacherRepository.incrementCurrentBorrow(teacherId) == 0) {
+            if (!teacherRepository.existsById(teacherId)) {
+                throw new BusinessException(400, "教师不存在");
+            }
+            throw new BusinessException(400, "教师已达到最大借阅限额");
+        }
+    }
+
+    /**
+     * 扣减期刊可借数量，仅在更新失败时才查询失败原因
+     * @param journalId 期刊ID
+     */
+    private void reserveJournalStock(Integer journalId) {
+        if (journalRepository.decrementAvailableQuantity(journalId) == 0) {
+            if (!journalRepository.existsById(journalId)) {
+                throw new BusinessException(400, "期刊不存在");
+            }
+            throw new BusinessException(400, "期刊已无可用数量，可预约排队");
+        }
+        journalCatalogCache.invalidateStock(journalId);
     }
 
-}
\ No newline at end of file
+}
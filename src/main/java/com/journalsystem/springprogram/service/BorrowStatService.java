@@ -0,0 +1,25 @@
+package com.journalsystem.springprogram.service;
+
+import com.journalsystem.springprogram.pojo.DepartmentBorrowStat;
+import com.journalsystem.springprogram.pojo.JournalBorrowStat;
+import com.journalsystem.springprogram.pojo.TeacherBorrowStat;
+
+import java.util.List;
+
+//借阅统计服务接口：把借阅事件投影为按教师、期刊、部门汇总的统计表，并提供查询
+public interface BorrowStatService {
+    //1.投影一批待处理的借阅事件，返回处理的事件数
+    Integer projectPendingEvents();
+
+    //2.清空统计表并从借阅记录全量重建
+    void rebuildStats();
+
+    //3.查询各部门借阅统计
+    List<DepartmentBorrowStat> getDepartmentStats();
+
+    //4.查询累计借阅次数最多的教师
+    List<TeacherBorrowStat> getTopTeachers(Integer limit);
+
+    //5.查询累计借阅次数最多的期刊
+    List<JournalBorrowStat> getTopJournals(Integer limit);
+}
@@ -0,0 +1,207 @@
+package com.journalsystem.springprogram.service;
+
+import com.journalsystem.springprogram.common.Constants;
+import com.journalsystem.springprogram.pojo.BorrowEvent;
+import com.journalsystem.springprogram.pojo.DepartmentBorrowStat;
+import com.journalsystem.springprogram.pojo.JournalBorrowStat;
+import com.journalsystem.springprogram.pojo.TeacherBorrowStat;
+import com.journalsystem.springprogram.pojo.TeacherInfo;
+import com.journalsystem.springprogram.repository.BorrowEventRepository;
+import com.journalsystem.springprogram.repository.BorrowStatProjectionRepository;
+import com.journalsystem.springprogram.repository.BorrowStatProjectionRepository.Dimension;
+import com.journalsystem.springprogram.repository.DepartmentBorrowStatRepository;
+import com.journalsystem.springprogram.repository.JournalBorrowStatRepository;
+import com.journalsystem.springprogram.repository.TeacherBorrowStatRepository;
+import com.journalsystem.springprogram.repository.TeacherRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.journalsystem.springprogram.repository.BorrowStatProjectionRepository.CURRENT_BORROWS;
+import static com.journalsystem.springprogram.repository.BorrowStatProjectionRepository.RETURNED_COUNT;
+import static com.journalsystem.springprogram.repository.BorrowStatProjectionRepository.TOTAL_BORROWS;
+import static com.journalsystem.springprogram.repository.BorrowStatProjectionRepository.TOTAL_LOAN_DAYS;
+
+@Service
+public class BorrowStatServiceImpl implements BorrowStatService {
+
+    private static final Logger log = LoggerFactory.getLogger(BorrowStatServiceImpl.class);
+
+    private static final String CHECKPOINT_NAME = "borrow_stat";
+
+    /**
+     * 教师未填写部门时归入的部门名称
+     */
+    private static final String UNKNOWN_DEPARTMENT = "未设置";
+
+    private final BorrowEventRepository borrowEventRepository;
+    private final BorrowStatProjectionRepository projectionRepository;
+    private final TeacherBorrowStatRepository teacherBorrowStatRepository;
+    private final JournalBorrowStatRepository journalBorrowStatRepository;
+    private final DepartmentBorrowStatRepository departmentBorrowStatRepository;
+    private final TeacherRepository teacherRepository;
+    private final int batchSize;
+    private final long gapTimeoutSeconds;
+
+    @Autowired
+    public BorrowStatServiceImpl(BorrowEventRepository borrowEventRepository, BorrowStatProjectionRepository projectionRepository,
+                                 TeacherBorrowStatRepository teacherBorrowStatRepository,
+                                 JournalBorrowStatRepository journalBorrowStatRepository,
+                                 DepartmentBorrowStatRepository departmentBorrowStatRepository,
+                                 TeacherRepository teacherRepository,
+                                 @Value("${journal.borrow-stat.batch-size:500}") int batchSize,
+                                 @Value("${journal.borrow-stat.gap-timeout-seconds:60}") long gapTimeoutSeconds) {
+        this.borrowEventRepository = borrowEventRepository;
+        this.projectionRepository = projectionRepository;
+        this.teacherBorrowStatRepository = teacherBorrowStatRepository;
+        this.journalBorrowStatRepository = journalBorrowStatRepository;
+        this.departmentBorrowStatRepository = departmentBorrowStatRepository;
+        this.teacherRepository = teacherRepository;
+        this.batchSize = batchSize;
+        this.gapTimeoutSeconds = gapTimeoutSeconds;
+    }
+
+    @Override
+    @Transactional
+    public Integer projectPendingEvents() {
+        // 1. 锁定检查点，取检查点之后的一批事件，只处理其中ID连续的前缀
+        long lastEventId = projectionRepository.lockCheckpoint(CHECKPOINT_NAME);
+        List<BorrowEvent> events = contiguousPrefix(lastEventId,
+                borrowEventRepository.findByIdGreaterThanOrderByIdAsc(lastEventId, PageRequest.of(0, batchSize)));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        // 2. 一次查询出本批涉及教师的部门（按投影时教师所在部门归类）
+        Set<Integer> teacherIds = events.stream().map(BorrowEvent::getTeacherId).collect(Collectors.toSet());
+        Map<Integer, String> departments = new HashMap<>();
+        for (TeacherInfo teacher : teacherRepository.findAllById(teacherIds)) {
+            departments.put(teacher.getId(), teacher.getDepartment());
+        }
+
+        // 3. 在内存中按维度合并增量，每个维度只写一个批次
+        Map<Integer, long[]> teacherDeltas = new HashMap<>();
+        Map<Integer, long[]> journalDeltas = new HashMap<>();
+        Map<String, long[]> departmentDeltas = new HashMap<>();
+        for (BorrowEvent event : events) {
+            long[] delta = toDelta(event);
+            String department = departments.get(event.getTeacherId());
+            merge(teacherDeltas, event.getTeacherId(), delta);
+            merge(journalDeltas, event.getJournalId(), delta);
+            merge(departmentDeltas, department == null || department.isEmpty() ? UNKNOWN_DEPARTMENT : department, delta);
+        }
+        projectionRepository.applyDeltas(Dimension.TEACHER, teacherDeltas);
+        projectionRepository.applyDeltas(Dimension.JOURNAL, journalDeltas);
+        projectionRepository.applyDeltas(Dimension.DEPARTMENT, departmentDeltas);
+
+        // 4. 与统计结果在同一事务中推进检查点，保证每个事件只被投影一次
+        projectionRepository.saveCheckpoint(CHECKPOINT_NAME, events.get(events.size() - 1).getId());
+        return events.size();
+    }
+
+    @Override
+    @Transactional
+    public void rebuildStats() {
+        // 先锁定检查点，重建期间投影任务会等待；重建结果已包含现有事件的影响，检查点直接推进到最新事件
+        projectionRepository.lockCheckpoint(CHECKPOINT_NAME);
+        projectionRepository.rebuildFromBorrowInfo(UNKNOWN_DEPARTMENT);
+        projectionRepository.saveCheckpoint(CHECKPOINT_NAME, borrowEventRepository.findMaxId());
+    }
+
+    @Override
+    public List<DepartmentBorrowStat> getDepartmentStats() {
+        return departmentBorrowStatRepository.findAll(Sort.by(Sort.Direction.DESC, "totalBorrows"));
+    }
+
+    @Override
+    public List<TeacherBorrowStat> getTopTeachers(Integer limit) {
+        return teacherBorrowStatRepository.findAllByOrderByTotalBorrowsDesc(PageRequest.of(0, normalizeLimit(limit)));
+    }
+
+    @Override
+    public List<JournalBorrowStat> getTopJournals(Integer limit) {
+        return journalBorrowStatRepository.findAllByOrderByTotalBorrowsDesc(PageRequest.of(0, normalizeLimit(limit)));
+    }
+
+    /**
+     * 取从检查点起ID连续的事件
+     * 自增ID在插入时分配而不是在提交时分配：事务A取得ID 10、事务B取得ID 11，B先提交时只能看到11，
+     * 此时推进检查点到11会永久漏掉10。因此遇到ID空缺时停在空缺之前，等待占用该ID的事务提交；
+     * 空缺之后的事件已发生超过gapTimeoutSeconds秒时，认为空缺来自已回滚的事务，越过空缺继续处理
+     * @param lastEventId 检查点
+     * @param fetched 检查点之后按ID升序的一批事件
+     * @return 可以投影的事件
+     */
+    private List<BorrowEvent> contiguousPrefix(long lastEventId, List<BorrowEvent> fetched) {
+        LocalDateTime gapDeadline = LocalDateTime.now().minusSeconds(gapTimeoutSeconds);
+        List<BorrowEvent> ready = new ArrayList<>();
+        long expectedId = lastEventId + 1;
+        for (BorrowEvent event : fetched) {
+            if (event.getId() != expectedId) {
+                if (event.getOccurredAt().isAfter(gapDeadline)) {
+                    break;
+                }
+                log.warn("借阅事件ID {}~{}超过{}秒仍未提交，视为已回滚的事务跳过", expectedId, event.getId() - 1, gapTimeoutSeconds);
+            }
+            ready.add(event);
+            expectedId = event.getId() + 1;
+        }
+        return ready;
+    }
+
+    /**
+     * 把一个事件换算成统计增量
+     * 当前借出数按事件前后状态是否为"未归还"计算，借阅/归还/状态修改都适用；延期不改变计数
+     */
+    private long[] toDelta(BorrowEvent event) {
+        long[] delta = new long[4];
+        if (BorrowEvent.TYPE_BORROWED.equals(event.getEventType())) {
+            delta[TOTAL_BORROWS] = 1;
+        }
+        delta[CURRENT_BORROWS] = isOut(event.getToStatus()) - isOut(event.getFromStatus());
+        boolean returned = !isReturned(event.getFromStatus()) && isReturned(event.getToStatus());
+        if (returned) {
+            delta[RETURNED_COUNT] = 1;
+            if (event.getStartDate() != null && event.getReturnDate() != null) {
+                delta[TOTAL_LOAN_DAYS] = ChronoUnit.DAYS.between(event.getStartDate(), event.getReturnDate());
+            }
+        }
+        return delta;
+    }
+
+    private static int isOut(String status) {
+        return status != null && !Constants.BORROW_STATUS_RETURNED.equals(status) ? 1 : 0;
+    }
+
+    private static boolean isReturned(String status) {
+        return Constants.BORROW_STATUS_RETURNED.equals(status);
+    }
+
+    private static <K> void merge(Map<K, long[]> deltas, K key, long[] delta) {
+        long[] sum = deltas.computeIfAbsent(key, k -> new long[4]);
+        for (int i = 0; i < sum.length; i++) {
+            sum[i] += delta[i];
+        }
+    }
+
+    private static int normalizeLimit(Integer limit) {
+        if (limit == null || limit < 1) {
+            return Constants.DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(limit, Constants.MAX_PAGE_SIZE);
+    }
+}
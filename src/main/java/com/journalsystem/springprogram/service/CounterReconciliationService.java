@@ -0,0 +1,9 @@
+package com.journalsystem.springprogram.service;
+
+import com.journalsystem.springprogram.dto.ReconciliationReportDTO;
+
+//计数对账服务接口：按借阅记录重新计算教师当前借阅数量和期刊可借数量，修正不一致的行
+public interface CounterReconciliationService {
+    //1.对账全部教师和期刊，分块执行，返回发现并修正的不一致
+    ReconciliationReportDTO reconcileCounters();
+}
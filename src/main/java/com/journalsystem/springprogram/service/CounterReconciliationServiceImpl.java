@@ -0,0 +1,74 @@
+package com.journalsystem.springprogram.service;
+
+import com.journalsystem.springprogram.dto.CounterDiscrepancyDTO;
+import com.journalsystem.springprogram.dto.ReconciliationReportDTO;
+import com.journalsystem.springprogram.repository.CounterReconciliationRepository;
+import com.journalsystem.springprogram.repository.CounterReconciliationRepository.Target;
+import com.journalsystem.springprogram.util.JournalCatalogCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+public class CounterReconciliationServiceImpl implements CounterReconciliationService {
+
+    private final CounterReconciliationRepository reconciliationRepository;
+    private final JournalCatalogCache journalCatalogCache;
+    private final int chunkSize;
+
+    @Autowired
+    public CounterReconciliationServiceImpl(CounterReconciliationRepository reconciliationRepository,
+                                            JournalCatalogCache journalCatalogCache,
+                                            @Value("${journal.reconcile.chunk-size:1000}") int chunkSize) {
+        this.reconciliationRepository = reconciliationRepository;
+        this.journalCatalogCache = journalCatalogCache;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 不在事务中执行：每块的查询是一条语句（读到一致的快照），每处修正是一条以旧值为条件的UPDATE，
+     * 不长时间持有锁，可以在业务运行期间执行
+     */
+    @Override
+    public ReconciliationReportDTO reconcileCounters() {
+        ReconciliationReportDTO report = new ReconciliationReportDTO();
+        report.setStartedAt(LocalDateTime.now());
+        report.setTeachersChecked(reconcile(Target.TEACHER, report));
+        report.setJournalsChecked(reconcile(Target.JOURNAL, report));
+        report.setFinishedAt(LocalDateTime.now());
+        return report;
+    }
+
+    /**
+     * 按主键分块对账一张表
+     * @param target 目标表
+     * @param report 对账报告，发现的不一致追加到其中
+     * @return 检查的行数
+     */
+    private long reconcile(Target target, ReconciliationReportDTO report) {
+        long checked = 0;
+        Integer afterId = Integer.MIN_VALUE;
+        while (true) {
+            // 1. 取下一块ID，确定本块的主键区间(afterId, lastId]
+            List<Integer> ids = reconciliationRepository.findChunkIds(target, afterId, chunkSize);
+            if (ids.isEmpty()) {
+                return checked;
+            }
+            Integer lastId = ids.get(ids.size() - 1);
+
+            // 2. 一条GROUP BY重新计算本块计数，只修正不一致的行
+            for (CounterDiscrepancyDTO discrepancy : reconciliationRepository.findDiscrepancies(target, afterId, lastId)) {
+                discrepancy.setFixed(reconciliationRepository.fix(target, discrepancy));
+                if (target == Target.JOURNAL && discrepancy.getFixed()) {
+                    journalCatalogCache.invalidateStock(discrepancy.getId());
+                }
+                report.addDiscrepancy(discrepancy);
+            }
+            checked += ids.size();
+            afterId = lastId;
+        }
+    }
+}
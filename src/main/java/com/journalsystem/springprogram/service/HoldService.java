@@ -0,0 +1,38 @@
+package com.journalsystem.springprogram.service;
+
+import com.journalsystem.springprogram.dto.HoldDTO;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+//预约服务接口：期刊无可用数量时排队预约，归还时按先后顺序分配副本
+public interface HoldService {
+    //1.预约期刊（仅在期刊无可用数量时可预约），返回预约及排队位置
+    HoldDTO placeHold(Integer teacherId, Integer journalId);
+
+    //2.取消预约，teacherId为null时表示管理员取消；已分配的副本会转给下一位
+    Boolean cancelHold(Long holdId, Integer teacherId);
+
+    //3.查询教师未完成的预约（排队中、待借阅），包含排队位置
+    List<HoldDTO> getHoldsByTeacherId(Integer teacherId);
+
+    //4.查询期刊的预约队列（排队中、待借阅）
+    List<HoldDTO> getQueueByJournalId(Integer journalId);
+
+    //5.把归还的副本按排队顺序分配给预约，需在归还事务中调用（副本已计入可借数量），返回分配数量
+    Integer allocateReturnedCopies(Integer journalId, Integer copies);
+
+    //6.批量归还时按期刊分配副本，journalCounts为期刊ID → 归还数量
+    Integer allocateReturnedCopies(Map<Integer, Integer> journalCounts);
+
+    //7.教师借阅时完成其已分配副本的预约，返回完成预约的期刊ID（这些期刊无需再扣减可借数量）
+    Set<Integer> fulfillHolds(Integer teacherId, Collection<Integer> journalIds);
+
+    //8.处理超过保留期限的预约：置为过期，副本转给下一位或放回可借数量，返回处理数量
+    Integer expireHolds();
+
+    //9.查询一批期刊中有人排队预约的期刊ID
+    Set<Integer> getJournalIdsWithWaitingHolds(Collection<Integer> journalIds);
+}
@@ -0,0 +1,261 @@
+package com.journalsystem.springprogram.service;
+
+import com.journalsystem.springprogram.common.Constants;
+import com.journalsystem.springprogram.dto.HoldDTO;
+import com.journalsystem.springprogram.exception.BusinessException;
+import com.journalsystem.springprogram.pojo.JournalHold;
+import com.journalsystem.springprogram.pojo.JournalInfo;
+import com.journalsystem.springprogram.repository.BorrowInfoRepository;
+import com.journalsystem.springprogram.repository.JournalHoldRepository;
+import com.journalsystem.springprogram.repository.JournalRepository;
+import com.journalsystem.springprogram.repository.TeacherRepository;
+import com.journalsystem.springprogram.util.JournalCatalogCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class HoldServiceImpl implements HoldService {
+
+    private static final List<String> ACTIVE_STATUSES = List.of(Constants.HOLD_STATUS_WAITING, Constants.HOLD_STATUS_READY);
+
+    /**
+     * 单次过期扫描处理的预约数量
+     */
+    private static final int EXPIRE_BATCH_SIZE = 100;
+
+    private final JournalHoldRepository journalHoldRepository;
+    private final JournalRepository journalRepository;
+    private final TeacherRepository teacherRepository;
+    private final BorrowInfoRepository borrowInfoRepository;
+    private final JournalCatalogCache journalCatalogCache;
+    private final int readyDays;
+
+    @Autowired
+    public HoldServiceImpl(JournalHoldRepository journalHoldRepository, JournalRepository journalRepository,
+                           TeacherRepository teacherRepository, BorrowInfoRepository borrowInfoRepository,
+                           JournalCatalogCache journalCatalogCache,
+                           @Value("${journal.hold.ready-days:3}") int readyDays) {
+        this.journalHoldRepository = journalHoldRepository;
+        this.journalRepository = journalRepository;
+        this.teacherRepository = teacherRepository;
+        this.borrowInfoRepository = borrowInfoRepository;
+        this.journalCatalogCache = journalCatalogCache;
+        this.readyDays = readyDays;
+    }
+
+    @Override
+    @Transactional
+    public HoldDTO placeHold(Integer teacherId, Integer journalId) {
+        // 1. 检查教师和期刊是否存在
+        if (!teacherRepository.existsById(teacherId)) {
+            throw new BusinessException(400, "教师不存在");
+        }
+        JournalInfo journal = journalRepository.findById(journalId)
+                .orElseThrow(() -> new BusinessException(400, "期刊不存在"));
+
+        // 2. 有可用数量时直接借阅，不需要预约
+        if (journal.getAvailableQuantity() != null && journal.getAvailableQuantity() > 0) {
+            throw new BusinessException(400, "期刊有可用数量，请直接借阅");
+        }
+
+        // 3. 不能重复预约，也不能预约已借阅未归还的期刊
+        if (journalHoldRepository.existsByTeacherIdAndJournalIdAndStatusIn(teacherId, journalId, ACTIVE_STATUSES)) {
+            throw new BusinessException(400, "已预约该期刊");
+        }
+        if (borrowInfoRepository.existsByBorrowerIdAndJournalIdAndStatusIn(teacherId, journalId,
+                List.of(Constants.BORROW_STATUS_BORROWED, Constants.BORROW_STATUS_OVERDUE))) {
+            throw new BusinessException(400, "该期刊已借阅且未归还");
+        }
+
+        // 4. 加入队尾
+        JournalHold hold = new JournalHold();
+        hold.setJournalId(journalId);
+        hold.setTeacherId(teacherId);
+        hold.setStatus(Constants.HOLD_STATUS_WAITING);
+        hold.setCreatedAt(LocalDateTime.now());
+        journalHoldRepository.save(hold);
+
+        HoldDTO dto = toDTO(hold, journal.getName());
+        dto.setQueuePosition(journalHoldRepository.countByJournalIdAndStatusAndIdLessThan(
+                journalId, Constants.HOLD_STATUS_WAITING, hold.getId()));
+        return dto;
+    }
+
+    @Override
+    @Transactional
+    public Boolean cancelHold(Long holdId, Integer teacherId) {
+        JournalHold hold = journalHoldRepository.findById(holdId)
+                .orElseThrow(() -> new BusinessException(400, "预约不存在"));
+        if (teacherId != null && !teacherId.equals(hold.getTeacherId())) {
+            throw new BusinessException(403, "无权取消该预约");
+        }
+
+        // 排队中直接取消；已分配副本的先取消，再把副本转给下一位或放回可借数量
+        String status = hold.getStatus();
+        if (!ACTIVE_STATUSES.contains(status)
+                || journalHoldRepository.updateStatus(holdId, status, Constants.HOLD_STATUS_CANCELLED) == 0) {
+            throw new BusinessException(400, "预约已结束，无法取消");
+        }
+        if (Constants.HOLD_STATUS_READY.equals(status)) {
+            releaseCopy(hold.getJournalId());
+        }
+        return true;
+    }
+
+    @Override
+    public List<HoldDTO> getHoldsByTeacherId(Integer teacherId) {
+        List<JournalHold> holds = journalHoldRepository.findByTeacherIdAndStatusInOrderByIdDesc(teacherId, ACTIVE_STATUSES);
+        Map<Integer, String> journalNames = journalRepository.findAllById(
+                        holds.stream().map(JournalHold::getJournalId).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(JournalInfo::getId, JournalInfo::getName));
+
+        List<HoldDTO> result = new ArrayList<>();
+        for (JournalHold hold : holds) {
+            HoldDTO dto = toDTO(hold, journalNames.get(hold.getJournalId()));
+            if (Constants.HOLD_STATUS_WAITING.equals(hold.getStatus())) {
+                dto.setQueuePosition(journalHoldRepository.countByJournalIdAndStatusAndIdLessThan(
+                        hold.getJournalId(), Constants.HOLD_STATUS_WAITING, hold.getId()));
+            }
+            result.add(dto);
+        }
+        return result;
+    }
+
+    @Override
+    public List<HoldDTO> getQueueByJournalId(Integer journalId) {
+        JournalInfo journal = journalRepository.findById(journalId)
+                .orElseThrow(() -> new BusinessException(400, "期刊不存在"));
+
+        // 队列已按hold_id升序，排队位置即排队中预约的序号
+        long position = 0;
+        List<HoldDTO> result = new ArrayList<>();
+        for (JournalHold hold : journalHoldRepository.findByJournalIdAndStatusInOrderByIdAsc(journalId, ACTIVE_STATUSES)) {
+            HoldDTO dto = toDTO(hold, journal.getName());
+            if (Constants.HOLD_STATUS_WAITING.equals(hold.getStatus())) {
+                dto.setQueuePosition(position++);
+            }
+            result.add(dto);
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional
+    public Integer allocateReturnedCopies(Integer journalId, Integer copies) {
+        List<JournalHold> waiting = journalHoldRepository.findByJournalIdAndStatusOrderByIdAsc(
+                journalId, Constants.HOLD_STATUS_WAITING, PageRequest.of(0, copies));
+        if (waiting.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expireAt = now.plusDays(readyDays);
+        int allocated = 0;
+        for (JournalHold hold : waiting) {
+            // 预约已被并发取消时跳过；分配成功后从可借数量中扣除该副本
+            if (journalHoldRepository.markReady(hold.getId(), now, expireAt) == 0) {
+                continue;
+            }
+            // 调用方在同一事务中刚把副本加回可借数量，扣减失败说明库存计数与预期不符，整体回滚由调用方重试
+            if (journalRepository.decrementAvailableQuantity(journalId) == 0) {
+                throw new OptimisticLockingFailureException("期刊可借数量已被并发修改");
+            }
+            journalCatalogCache.invalidateStock(journalId);
+            allocated++;
+        }
+        return allocated;
+    }
+
+    @Override
+    @Transactional
+    public Integer allocateReturnedCopies(Map<Integer, Integer> journalCounts) {
+        if (journalCounts.isEmpty()) {
+            return 0;
+        }
+        // 一次查询筛出有人排队的期刊，没有排队的期刊不再逐本查询
+        int allocated = 0;
+        for (Integer journalId : journalHoldRepository.findJournalIdsWithWaitingHolds(journalCounts.keySet())) {
+            allocated += allocateReturnedCopies(journalId, journalCounts.get(journalId));
+        }
+        return allocated;
+    }
+
+    @Override
+    @Transactional
+    public Set<Integer> fulfillHolds(Integer teacherId, Collection<Integer> journalIds) {
+        List<JournalHold> readyHolds = journalHoldRepository.findByTeacherIdAndStatusAndJournalIdIn(
+                teacherId, Constants.HOLD_STATUS_READY, journalIds);
+        if (readyHolds.isEmpty()) {
+            return Set.of();
+        }
+        // 预约在查询后被并发过期或取消时，副本已不再为该教师保留，回滚后由调用方重试
+        List<Long> holdIds = readyHolds.stream().map(JournalHold::getId).collect(Collectors.toList());
+        if (journalHoldRepository.markFulfilled(holdIds) < holdIds.size()) {
+            throw new OptimisticLockingFailureException("预约状态已被并发修改");
+        }
+        return readyHolds.stream().map(JournalHold::getJournalId).collect(Collectors.toSet());
+    }
+
+    @Override
+    @Transactional
+    public Integer expireHolds() {
+        List<JournalHold> expired = journalHoldRepository.findByStatusAndExpireAtBeforeOrderByIdAsc(
+                Constants.HOLD_STATUS_READY, LocalDateTime.now(), PageRequest.of(0, EXPIRE_BATCH_SIZE));
+        int count = 0;
+        for (JournalHold hold : expired) {
+            // 教师恰好在此时借阅（预约已完成）则跳过
+            if (journalHoldRepository.updateStatus(hold.getId(), Constants.HOLD_STATUS_READY, Constants.HOLD_STATUS_EXPIRED) == 0) {
+                continue;
+            }
+            releaseCopy(hold.getJournalId());
+            count++;
+        }
+        return count;
+    }
+
+    @Override
+    public Set<Integer> getJournalIdsWithWaitingHolds(Collection<Integer> journalIds) {
+        if (journalIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(journalHoldRepository.findJournalIdsWithWaitingHolds(journalIds));
+    }
+
+    /**
+     * 释放为预约保留的副本：放回可借数量，有人排队时再分配给队首
+     * @param journalId 期刊ID
+     */
+    private void releaseCopy(Integer journalId) {
+        journalRepository.incrementAvailableQuantity(journalId);
+        journalCatalogCache.invalidateStock(journalId);
+        allocateReturnedCopies(journalId, 1);
+    }
+
+    private static HoldDTO toDTO(JournalHold hold, String journalName) {
+        HoldDTO dto = new HoldDTO();
+        dto.setHoldId(hold.getId());
+        dto.setJournalId(hold.getJournalId());
+        dto.setJournalName(journalName);
+        dto.setTeacherId(hold.getTeacherId());
+        dto.setStatus(hold.getStatus());
+        dto.setCreatedAt(hold.getCreatedAt());
+        if (Constants.HOLD_STATUS_READY.equals(hold.getStatus())) {
+            dto.setExpireAt(hold.getExpireAt());
+        }
+        return dto;
+    }
+}
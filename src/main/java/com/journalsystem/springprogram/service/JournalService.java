@@ -2,7 +2,11 @@ package com.journalsystem.springprogram.service;
 
 import com.journalsystem.springprogram.common.PageResult;
 import com.journalsystem.springprogram.common.PageRequest;
+import com.journalsystem.springprogram.dto.JournalAvailabilityDTO;
 import com.journalsystem.springprogram.dto.JournalDTO;
+import com.journalsystem.springprogram.dto.JournalFacetsDTO;
+import com.journalsystem.springprogram.dto.JournalNameMatchDTO;
+import com.journalsystem.springprogram.dto.JournalSuggestionDTO;
 import com.journalsystem.springprogram.pojo.JournalInfo;
 
 import java.time.LocalDate;
@@ -75,6 +79,19 @@ public interface JournalService {
     PageResult<JournalInfo> getJournalsByPage(PageRequest pageRequest, String issn);
 
     // 16. 多条件搜索期刊（分页）
-    PageResult<JournalInfo> getJournalsByPage(PageRequest pageRequest, String keyword, String category, String issn, String status);
+    PageResult<JournalInfo> getJournalsByPage(PageRequest pageRequest, String keyword, String category, String issn,
+                                              String status, String publisher);
+
+    // 17. 批量查询期刊可借预测（无可借副本时返回最早预计归还日期和排队人数）
+    List<JournalAvailabilityDTO> getAvailabilityForecast(List<Integer> journalIds);
+
+    // 18. 按多个名称批量模糊搜索期刊（分页，按期刊去重，返回每本期刊命中的名称）
+    PageResult<JournalNameMatchDTO> searchJournalsByNames(Set<String> names, PageRequest pageRequest);
+
+    // 19. 期刊输入提示（按名称、拼音首字母或ISSN前缀，按借阅热度排序）
+    List<JournalSuggestionDTO> suggestJournals(String prefix, Integer limit);
+
+    // 20. 多条件搜索的分面统计（分类、状态、出版社各取值的期刊数，每个分面应用除自身以外的条件）
+    JournalFacetsDTO getJournalFacets(String keyword, String category, String issn, String status, String publisher);
 
 }
\ No newline at end of file
@@ -1,38 +1,97 @@
 package com.journalsystem.springprogram.service;
 
 import com.journalsystem.springprogram.common.Constants;
+import com.journalsystem.springprogram.common.PageCursor;
 import com.journalsystem.springprogram.common.PageRequest;
 import com.journalsystem.springprogram.common.PageResult;
+import com.journalsystem.springprogram.dto.JournalAvailabilityDTO;
+import com.journalsystem.springprogram.dto.FacetCountDTO;
 import com.journalsystem.springprogram.dto.JournalDTO;
+import com.journalsystem.springprogram.dto.JournalFacetsDTO;
+import com.journalsystem.springprogram.dto.JournalNameMatchDTO;
+import com.journalsystem.springprogram.dto.JournalSuggestionDTO;
 import com.journalsystem.springprogram.exception.BusinessException;
 import com.journalsystem.springprogram.pojo.JournalInfo;
+import com.journalsystem.springprogram.repository.JournalAvailabilityRepository;
+import com.journalsystem.springprogram.repository.JournalFacetRepository;
+import com.journalsystem.springprogram.repository.JournalNameSearchRepository;
 import com.journalsystem.springprogram.repository.JournalRepository;
+import com.journalsystem.springprogram.search.JournalSearchIndex;
+import com.journalsystem.springprogram.search.JournalSuggestTrie;
 import com.journalsystem.springprogram.util.DtoUtil;
+import com.journalsystem.springprogram.util.IdBlockAllocator;
+import com.journalsystem.springprogram.util.JournalCatalogCache;
+import com.journalsystem.springprogram.util.OptimisticLockRetryExecutor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 @Service
 public class JournalServiceImpl implements JournalService {
 
+    // 修改期刊时不从DTO复制的字段：可借数量由借还和总数量的增减维护
+    private static final Set<String> UPDATE_IGNORE_FIELDS = Set.of("availableQuantity");
+
     private JournalRepository journalRepository;
+    private OptimisticLockRetryExecutor retryExecutor;
+    private IdBlockAllocator idBlockAllocator;
+    private JournalAvailabilityRepository journalAvailabilityRepository;
+    private JournalSearchIndex journalSearchIndex;
+    private JournalNameSearchRepository journalNameSearchRepository;
+    private JournalCatalogCache journalCatalogCache;
+    private JournalSuggestTrie journalSuggestTrie;
+    private JournalFacetRepository journalFacetRepository;
+    private HoldService holdService;
+    private TransactionTemplate transactionTemplate;
     @Autowired//构造注入
-    public JournalServiceImpl(JournalRepository journalRepository) {
+    public JournalServiceImpl(JournalRepository journalRepository, OptimisticLockRetryExecutor retryExecutor,
+                              IdBlockAllocator idBlockAllocator,
+                              JournalAvailabilityRepository journalAvailabilityRepository,
+                              JournalSearchIndex journalSearchIndex,
+                              JournalNameSearchRepository journalNameSearchRepository,
+                              JournalCatalogCache journalCatalogCache,
+                              JournalSuggestTrie journalSuggestTrie,
+                              JournalFacetRepository journalFacetRepository,
+                              HoldService holdService,
+                              PlatformTransactionManager transactionManager) {
         this.journalRepository = journalRepository;
+        this.retryExecutor = retryExecutor;
+        this.idBlockAllocator = idBlockAllocator;
+        this.journalAvailabilityRepository = journalAvailabilityRepository;
+        this.journalSearchIndex = journalSearchIndex;
+        this.journalNameSearchRepository = journalNameSearchRepository;
+        this.journalCatalogCache = journalCatalogCache;
+        this.journalSuggestTrie = journalSuggestTrie;
+        this.journalFacetRepository = journalFacetRepository;
+        this.holdService = holdService;
+        // 库存修改与预约分配在同一事务中完成，每次重试都是一个新事务
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
 
 
     @Override //管理员用
     public Boolean addJournal(JournalDTO addDTO) {
-        //1.检查issn和id是否存在
-        if (journalRepository.existsById(addDTO.getId())){
+        //1.未指定ID时从号段中分配（跳过手动录入已占用的ID），并回写到addDTO；检查issn和id是否存在
+        if (addDTO.getId() == null) {
+            Integer id;
+            do {
+                id = idBlockAllocator.nextId(IdBlockAllocator.Sequence.JOURNAL);
+            } while (journalRepository.existsById(id));
+            addDTO.setId(id);
+        } else if (journalRepository.existsById(addDTO.getId())){
             throw new BusinessException(400, "期刊ID已存在");//抛出异常
         }
         if (journalRepository.existsByIssn(addDTO.getIssn())){
@@ -56,6 +115,10 @@ public class JournalServiceImpl implements JournalService {
         }
 
         journalRepository.save(journalInfo);
+        journalSearchIndex.index(journalInfo);
+        journalSuggestTrie.put(journalInfo);
+        // 新期刊没有缓存，调用失效是为了记录变更日志，其他实例同步后加入检索索引和输入提示
+        journalCatalogCache.invalidate(journalInfo.getId());
         return true;
     }
 
@@ -65,12 +128,18 @@ public class JournalServiceImpl implements JournalService {
             throw new BusinessException(400, "期刊ID不存在");//抛出异常
         }
         journalRepository.deleteById(id);
+        journalSearchIndex.remove(List.of(id));
+        journalSuggestTrie.remove(List.of(id));
+        journalCatalogCache.invalidate(id);
         return true;
     }
 
     @Override//教师或管理员用
     public JournalInfo getJournal(Integer id) {
-        return journalRepository.findById(id).orElse(null);
+        if (id == null) {
+            return null;
+        }
+        return journalCatalogCache.getById(id);
     }
 
     @Override//教师或管理员用
@@ -80,23 +149,50 @@ public class JournalServiceImpl implements JournalService {
 
     @Override//管理员用
     public Boolean updateJournal(JournalDTO updateDTO) {
+        // 保存时与并发借还的库存更新发生版本冲突，重新读取最新数据后再应用修改
+        return retryExecutor.execute("updateJournal",
+                () -> transactionTemplate.execute(status -> doUpdateJournal(updateDTO)));
+    }
+
+    private Boolean doUpdateJournal(JournalDTO updateDTO) {
         JournalInfo targetJournalInfo = journalRepository.findById(updateDTO.getId())
                 .orElseThrow(() -> new BusinessException(400, "期刊ID不存在"));
+        int oldAvailable = targetJournalInfo.getAvailableQuantity() == null ? 0 : targetJournalInfo.getAvailableQuantity();
+        int oldTotal = targetJournalInfo.getTotalQuantity() == null ? 0 : targetJournalInfo.getTotalQuantity();
 
-        // 复制非空字段
-        DtoUtil.copyNonNullFields(updateDTO, targetJournalInfo);
+        // 复制非空字段；可借数量随借还变化，表单中的值可能已过期，不从DTO复制（否则版本冲突重试时会写回旧的库存）
+        DtoUtil.copyNonNullFields(updateDTO, targetJournalInfo, UPDATE_IGNORE_FIELDS);
 
-        // 确保可借数量不超过总数量
-        if (targetJournalInfo.getTotalQuantity() != null && targetJournalInfo.getAvailableQuantity() != null) {
-            if (targetJournalInfo.getAvailableQuantity() > targetJournalInfo.getTotalQuantity()) {
-                targetJournalInfo.setAvailableQuantity(targetJournalInfo.getTotalQuantity());
+        // 可借数量按总数量的增减量调整（与updateJournalQuantity一致），且不小于0、不超过总数量
+        if (targetJournalInfo.getTotalQuantity() != null) {
+            if (targetJournalInfo.getTotalQuantity() < 0) {
+                throw new BusinessException(400, "期刊总数量不能为负数");
             }
+            int available = oldAvailable + targetJournalInfo.getTotalQuantity() - oldTotal;
+            targetJournalInfo.setAvailableQuantity(Math.max(0, Math.min(available, targetJournalInfo.getTotalQuantity())));
         }
 
         journalRepository.save(targetJournalInfo);
+        journalSearchIndex.index(targetJournalInfo);
+        journalSuggestTrie.put(targetJournalInfo);
+        journalCatalogCache.invalidate(targetJournalInfo.getId());
+        allocateAddedCopies(targetJournalInfo, oldAvailable);
         return true;
     }
 
+    /**
+     * 可借数量增加（补货、修改库存）时，先把新增的副本按排队顺序分配给预约，剩余的才可直接借阅
+     * 与库存修改在同一事务中调用，分配时的条件UPDATE会先刷新实体的修改
+     * @param journal 已保存的期刊
+     * @param oldAvailable 修改前的可借数量
+     */
+    private void allocateAddedCopies(JournalInfo journal, int oldAvailable) {
+        int added = (journal.getAvailableQuantity() == null ? 0 : journal.getAvailableQuantity()) - oldAvailable;
+        if (added > 0) {
+            holdService.allocateReturnedCopies(journal.getId(), added);
+        }
+    }
+
     @Override
     public Boolean batchDeleteJournals(List<Integer> ids) {
         if (ids == null || ids.isEmpty()) {
@@ -112,6 +208,9 @@ public class JournalServiceImpl implements JournalService {
 
         // 批量删除
         journalRepository.deleteAllById(ids);
+        journalSearchIndex.remove(ids);
+        journalSuggestTrie.remove(ids);
+        journalCatalogCache.invalidate(ids);
         return true;
     }
 
@@ -157,7 +256,7 @@ public class JournalServiceImpl implements JournalService {
         if (issn == null || issn.isEmpty()) {
             return null;
         }
-        return journalRepository.findByIssn(issn);
+        return journalCatalogCache.getByIssn(issn);
     }
 
     @Override
@@ -165,7 +264,7 @@ public class JournalServiceImpl implements JournalService {
         if (issueNumber == null || issueNumber.isEmpty()) {
             return null;
         }
-        return journalRepository.findByIssueNumber(issueNumber);
+        return journalCatalogCache.getByIssueNumber(issueNumber);
     }
 
     @Override
@@ -178,25 +277,71 @@ public class JournalServiceImpl implements JournalService {
 
     @Override
     public List<JournalInfo> getJournalsByNamesLike(Set<String> names) {
-        if (names == null || names.isEmpty()) {
+        List<String> terms = normalizeNames(names);
+        if (terms.isEmpty()) {
             return journalRepository.findAll();
         }
 
-        // 构建查询条件
-        List<JournalInfo> result = new ArrayList<>();
-        for (String name : names) {
-            if (name == null || name.isEmpty()) {
-                continue;
-            }
-            result.addAll(journalRepository.findByNameLike("%" + name + "%"));
+        // 一条SQL查出去重后的全部匹配期刊ID，再按主键批量读取实体（与名称数量无关，共两次查询）
+        List<Integer> ids = new ArrayList<>();
+        for (JournalNameMatchDTO match : journalNameSearchRepository.findByNames(terms, 0, Integer.MAX_VALUE).getData()) {
+            ids.add(match.getId());
         }
+        List<JournalInfo> result = new ArrayList<>(journalRepository.findAllById(ids));
+        result.sort((a, b) -> Integer.compare(b.getId(), a.getId()));
         return result;
     }
 
+    @Override
+    public PageResult<JournalNameMatchDTO> searchJournalsByNames(Set<String> names, PageRequest pageRequest) {
+        //1.校验参数：去掉空名称，名称数量不超过上限
+        List<String> terms = normalizeNames(names);
+        if (terms.isEmpty()) {
+            throw new BusinessException(400, "搜索名称不能为空");
+        }
+        if (terms.size() > Constants.MAX_SEARCH_NAMES) {
+            throw new BusinessException(400, "一次最多搜索" + Constants.MAX_SEARCH_NAMES + "个名称");
+        }
+        pageRequest.validate();
+
+        //2.一条SQL完成全部名称的匹配、去重、分页和总数统计
+        int offset = (pageRequest.getPageNum() - 1) * pageRequest.getPageSize();
+        PageResult<JournalNameMatchDTO> page = journalNameSearchRepository.findByNames(terms, offset, pageRequest.getPageSize());
+        return PageResult.build(pageRequest.getPageNum(), pageRequest.getPageSize(), page.getTotal(), page.getData());
+    }
+
+    @Override
+    public List<JournalSuggestionDTO> suggestJournals(String prefix, Integer limit) {
+        //1.前缀为空时不提示；条数默认10条，不超过字典树每个节点保存的数量
+        if (prefix == null || prefix.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        int size = limit == null || limit <= 0 ? Constants.DEFAULT_PAGE_SIZE : limit;
+
+        //2.直接从内存字典树读取，不访问数据库
+        return journalSuggestTrie.suggest(prefix, size);
+    }
+
+    // 去掉首尾空格和空名称，保持输入顺序去重
+    private static List<String> normalizeNames(Set<String> names) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (names != null) {
+            for (String name : names) {
+                if (name != null && !name.trim().isEmpty()) {
+                    terms.add(name.trim());
+                }
+            }
+        }
+        return new ArrayList<>(terms);
+    }
+
     @Override
     public PageResult<JournalInfo> getJournalsByPage(PageRequest pageRequest) {
         // 1. 校验分页参数（修正页码、页大小、排序方向）
         pageRequest.validate();
+        if (pageRequest.isSeekMode()) {
+            return getJournalsBySeek(pageRequest, null);
+        }
 
         // 2. 构建排序条件（支持自定义排序字段和方向）
         Sort sort = Sort.unsorted();
@@ -240,6 +385,12 @@ public class JournalServiceImpl implements JournalService {
 
     @Override
     public Boolean updateJournalQuantity(Integer journalId, Integer quantityChange) {
+        // 读-改-写更新库存，版本冲突时基于最新数据重新计算
+        return retryExecutor.execute("updateJournalQuantity",
+                () -> transactionTemplate.execute(status -> doUpdateJournalQuantity(journalId, quantityChange)));
+    }
+
+    private Boolean doUpdateJournalQuantity(Integer journalId, Integer quantityChange) {
         if (journalId == null) {
             throw new BusinessException(400, "期刊ID不能为空");
         }
@@ -250,6 +401,7 @@ public class JournalServiceImpl implements JournalService {
         // 查询期刊
         JournalInfo journalInfo = journalRepository.findById(journalId)
                 .orElseThrow(() -> new BusinessException(400, "期刊ID不存在"));
+        int oldAvailable = journalInfo.getAvailableQuantity() == null ? 0 : journalInfo.getAvailableQuantity();
 
         // 更新总数量
         if (journalInfo.getTotalQuantity() == null) {
@@ -281,6 +433,11 @@ public class JournalServiceImpl implements JournalService {
         }
 
         journalRepository.save(journalInfo);
+        journalSearchIndex.index(journalInfo);
+        journalCatalogCache.invalidate(journalId);
+
+        // 新增的副本先分配给排队的预约
+        allocateAddedCopies(journalInfo, oldAvailable);
         return true;
     }
 
@@ -289,6 +446,9 @@ public class JournalServiceImpl implements JournalService {
     public PageResult<JournalInfo> getJournalsByPage(PageRequest pageRequest, String issn) {
         // 1. 校验分页参数（修正非法页码/页大小，如page<1重置为1）
         pageRequest.validate();
+        if (pageRequest.isSeekMode()) {
+            return getJournalsBySeek(pageRequest, issn);
+        }
 
         // 2. 构建排序条件：自定义排序优先，无则默认按ID降序
         Sort sort = Sort.unsorted();
@@ -327,9 +487,21 @@ public class JournalServiceImpl implements JournalService {
     }
     // 新增：多条件搜索期刊（分页）
     @Override
-    public PageResult<JournalInfo> getJournalsByPage(PageRequest pageRequest, String keyword, String category, String issn, String status) {
-        // 1. 校验分页参数
+    public PageResult<JournalInfo> getJournalsByPage(PageRequest pageRequest, String keyword, String category, String issn,
+                                                     String status, String publisher) {
+        // 1. 校验分页参数；空字符串条件视为不过滤
         pageRequest.validate();
+        keyword = keyword != null && !keyword.trim().isEmpty() ? keyword.trim() : null;
+        category = emptyToNull(category);
+        issn = emptyToNull(issn);
+        status = emptyToNull(status);
+        publisher = emptyToNull(publisher);
+
+        // 有关键词且未指定排序字段时走内存倒排索引，按相关度排序
+        if (keyword != null && journalSearchIndex.isReady()
+                && (pageRequest.getSortField() == null || pageRequest.getSortField().isEmpty())) {
+            return searchByIndex(pageRequest, keyword, category, issn, status, publisher);
+        }
 
         // 2. 构建排序条件
         Sort sort = Sort.unsorted();
@@ -352,10 +524,11 @@ public class JournalServiceImpl implements JournalService {
 
         // 4. 执行多条件查询 - 使用统一的findByMultiConditions方法
         Page<JournalInfo> journalPage = journalRepository.findByMultiConditions(
-                keyword != null ? keyword.trim() : null,
+                keyword,
                 category,
                 issn,
                 status,
+                publisher,
                 jpaPageRequest);
 
         // 5. 转换为自定义分页结果
@@ -366,4 +539,117 @@ public class JournalServiceImpl implements JournalService {
                 journalPage.getContent()
         );
     }
-}
\ No newline at end of file
+
+    @Override
+    public List<JournalAvailabilityDTO> getAvailabilityForecast(List<Integer> journalIds) {
+        //1.校验参数：去重并去掉空值，一次最多查询MAX_PAGE_SIZE个期刊
+        if (journalIds == null || journalIds.isEmpty()) {
+            throw new BusinessException(400, "期刊ID列表不能为空");
+        }
+        Set<Integer> ids = new LinkedHashSet<>();
+        for (Integer id : journalIds) {
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+        if (ids.isEmpty()) {
+            throw new BusinessException(400, "期刊ID列表不能为空");
+        }
+        if (ids.size() > Constants.MAX_PAGE_SIZE) {
+            throw new BusinessException(400, "一次最多查询" + Constants.MAX_PAGE_SIZE + "个期刊");
+        }
+
+        //2.一条SQL查询可借数量、最早预计归还日期和排队人数
+        return journalAvailabilityRepository.findAvailability(ids);
+    }
+
+    @Override
+    public JournalFacetsDTO getJournalFacets(String keyword, String category, String issn, String status, String publisher) {
+        //1.空字符串条件视为不过滤，与多条件搜索一致
+        keyword = keyword != null && !keyword.trim().isEmpty() ? keyword.trim() : null;
+        category = emptyToNull(category);
+        issn = emptyToNull(issn);
+        status = emptyToNull(status);
+        publisher = emptyToNull(publisher);
+
+        //2.有关键词且索引可用时由倒排表统计（与搜索结果走同一路径），否则一条分组聚合SQL统计
+        Map<String, Map<String, Long>> counts = keyword != null && journalSearchIndex.isReady()
+                ? journalSearchIndex.facetCounts(keyword, category, issn, status, publisher)
+                : journalFacetRepository.countFacets(keyword, category, issn, status, publisher);
+
+        //3.每个分面按期刊数降序取前MAX_FACET_VALUES个
+        JournalFacetsDTO facets = new JournalFacetsDTO();
+        facets.setCategory(topFacetValues(counts.get("category")));
+        facets.setStatus(topFacetValues(counts.get("status")));
+        facets.setPublisher(topFacetValues(counts.get("publisher")));
+        return facets;
+    }
+
+    // 分面取值按期刊数降序、取值升序排列，最多MAX_FACET_VALUES个
+    private static List<FacetCountDTO> topFacetValues(Map<String, Long> counts) {
+        List<FacetCountDTO> values = new ArrayList<>();
+        counts.forEach((value, count) -> values.add(new FacetCountDTO(value, count)));
+        values.sort((a, b) -> {
+            int cmp = Long.compare(b.getCount(), a.getCount());
+            return cmp != 0 ? cmp : a.getValue().compareTo(b.getValue());
+        });
+        return values.size() > Constants.MAX_FACET_VALUES
+                ? new ArrayList<>(values.subList(0, Constants.MAX_FACET_VALUES))
+                : values;
+    }
+
+    private static String emptyToNull(String value) {
+        return value != null && !value.isEmpty() ? value : null;
+    }
+
+    /**
+     * 按内存倒排索引检索一页期刊：索引返回按相关度排序的ID，再按主键批量读取期刊
+     * @param pageRequest 已校验的分页参数
+     * @return 分页结果，期刊顺序与索引返回的相关度顺序一致
+     */
+    private PageResult<JournalInfo> searchByIndex(PageRequest pageRequest, String keyword, String category,
+                                                  String issn, String status, String publisher) {
+        int offset = (pageRequest.getPageNum() - 1) * pageRequest.getPageSize();
+        JournalSearchIndex.SearchHits hits = journalSearchIndex.search(keyword, category, issn, status, publisher,
+                offset, pageRequest.getPageSize());
+
+        Map<Integer, JournalInfo> byId = new HashMap<>();
+        for (JournalInfo journal : journalRepository.findAllById(hits.getIds())) {
+            byId.put(journal.getId(), journal);
+        }
+        List<JournalInfo> content = new ArrayList<>();
+        for (Integer id : hits.getIds()) {
+            JournalInfo journal = byId.get(id);
+            if (journal != null) {
+                content.add(journal);
+            }
+        }
+        return PageResult.build(pageRequest.getPageNum(), pageRequest.getPageSize(), hits.getTotal(), content);
+    }
+
+    /**
+     * 游标分页查询期刊，按ID降序，只取id小于游标的一页
+     * @param pageRequest 分页参数
+     * @param issn ISSN模糊查询条件，为空时不过滤
+     * @return 分页结果
+     */
+    private PageResult<JournalInfo> getJournalsBySeek(PageRequest pageRequest, String issn) {
+        PageCursor cursor = PageCursor.decode(pageRequest.getCursor());
+        Integer afterId = cursor != null ? cursor.getId() : Integer.MAX_VALUE;
+        org.springframework.data.domain.PageRequest jpaPageRequest =
+                org.springframework.data.domain.PageRequest.of(0, pageRequest.getPageSize(), Sort.by(Sort.Direction.DESC, "id"));
+
+        boolean filterIssn = issn != null && !issn.trim().isEmpty();
+        Slice<JournalInfo> slice = filterIssn
+                ? journalRepository.findByIssnContainingIgnoreCaseAndIdLessThan(issn.trim(), afterId, jpaPageRequest)
+                : journalRepository.findByIdLessThan(afterId, jpaPageRequest);
+        Long total = null;
+        if (pageRequest.getCountTotal()) {
+            total = filterIssn ? journalRepository.countByIssnContainingIgnoreCase(issn.trim()) : journalRepository.count();
+        }
+
+        List<JournalInfo> content = slice.getContent();
+        String nextCursor = slice.hasNext() ? PageCursor.encode(null, content.get(content.size() - 1).getId()) : null;
+        return PageResult.buildSeek(pageRequest.getPageSize(), total, content, nextCursor, cursor != null);
+    }
+}
@@ -1,12 +1,16 @@
 package com.journalsystem.springprogram.service;
 
 import com.journalsystem.springprogram.common.Constants;
+import com.journalsystem.springprogram.common.PageCursor;
 import com.journalsystem.springprogram.common.PageRequest;
 import com.journalsystem.springprogram.common.PageResult;
 import com.journalsystem.springprogram.dto.TeacherDTO;
 import com.journalsystem.springprogram.exception.BusinessException;
 import com.journalsystem.springprogram.util.DtoUtil;
+import com.journalsystem.springprogram.util.IdBlockAllocator;
+import com.journalsystem.springprogram.util.OptimisticLockRetryExecutor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
@@ -14,19 +18,39 @@ import com.journalsystem.springprogram.pojo.TeacherInfo;
 import com.journalsystem.springprogram.repository.TeacherRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 
 @Service
 public class TeacherServiceImpl implements TeacherService {
 
+    // 修改教师时不从DTO复制的字段：当前借阅数量由借还维护
+    private static final Set<String> UPDATE_IGNORE_FIELDS = Set.of("currentBorrow");
+
     private TeacherRepository teacherRepository;
+    private OptimisticLockRetryExecutor retryExecutor;
+    private IdBlockAllocator idBlockAllocator;
     @Autowired//构造方法注入
     public void setTeacherRepository(TeacherRepository teacherRepository) {
         this.teacherRepository = teacherRepository;
     }
 
+    @Autowired
+    public void setRetryExecutor(OptimisticLockRetryExecutor retryExecutor) {
+        this.retryExecutor = retryExecutor;
+    }
+
+    @Autowired
+    public void setIdBlockAllocator(IdBlockAllocator idBlockAllocator) {
+        this.idBlockAllocator = idBlockAllocator;
+    }
+
     @Override
     public boolean login(Integer id, String name, String email) {
         //1.根据ID查询教师信息
@@ -47,8 +71,14 @@ public class TeacherServiceImpl implements TeacherService {
 
     @Override
     public boolean register(TeacherDTO regDTO) {
-        //1.检查教师ID是否已存在
-       if (teacherRepository.existsById(regDTO.getId())){
+        //1.未指定ID时从号段中分配（跳过手动录入已占用的ID），并回写到regDTO；检查教师ID是否已存在
+       if (regDTO.getId() == null) {
+           Integer id;
+           do {
+               id = idBlockAllocator.nextId(IdBlockAllocator.Sequence.TEACHER);
+           } while (teacherRepository.existsById(id));
+           regDTO.setId(id);
+       } else if (teacherRepository.existsById(regDTO.getId())){
            throw new BusinessException(400, "教师ID已存在");//抛出异常
        }
 
@@ -77,12 +107,18 @@ public class TeacherServiceImpl implements TeacherService {
 
     @Override
     public boolean update(Integer id, TeacherDTO updateDTO) {
+        // 保存时与并发借还的额度更新发生版本冲突，重新读取最新数据后再应用修改
+        return retryExecutor.execute("updateTeacher", () -> doUpdate(id, updateDTO));
+    }
+
+    private boolean doUpdate(Integer id, TeacherDTO updateDTO) {
         // 1. 查询数据库中当前实体（托管状态）
         TeacherInfo target = teacherRepository.findById(id)
                 .orElseThrow(() -> new BusinessException(404, "教师ID不存在,修改失败"));
 
-        //2.如果教师存在，调用DtoUtil的copyNonNullFields方法更新非空字段（id,姓名、手机号、邮箱、部门、当前借阅数量、最大借阅数量、状态）
-        DtoUtil.copyNonNullFields(updateDTO, target);
+        //2.如果教师存在，调用DtoUtil的copyNonNullFields方法更新非空字段（id,姓名、手机号、邮箱、部门、最大借阅数量、状态）
+        //  当前借阅数量由借还维护，不从DTO复制，版本冲突重试时不会写回表单中过期的值
+        DtoUtil.copyNonNullFields(updateDTO, target, UPDATE_IGNORE_FIELDS);
 
         //3.保存更新后的实体
         teacherRepository.save(target);
@@ -117,8 +153,19 @@ public class TeacherServiceImpl implements TeacherService {
     //分页查询教师
     @Override
     public PageResult<TeacherInfo> getTeachersByPage(PageRequest pageRequest) {
-        // 1. 验证分页参数
+        // 1. 验证分页参数，游标分页按ID升序取下一页
         pageRequest.validate();
+        if (pageRequest.isSeekMode()) {
+            PageCursor cursor = PageCursor.decode(pageRequest.getCursor());
+            Integer afterId = cursor != null ? cursor.getId() : Integer.MIN_VALUE;
+            Slice<TeacherInfo> slice = teacherRepository.findByIdGreaterThan(afterId,
+                    org.springframework.data.domain.PageRequest.of(0, pageRequest.getPageSize(), Sort.by(Sort.Direction.ASC, "id")));
+            Long total = pageRequest.getCountTotal() ? teacherRepository.count() : null;
+
+            List<TeacherInfo> content = slice.getContent();
+            String nextCursor = slice.hasNext() ? PageCursor.encode(null, content.get(content.size() - 1).getId()) : null;
+            return PageResult.buildSeek(pageRequest.getPageSize(), total, content, nextCursor, cursor != null);
+        }
 
         // 2. 构建排序条件
         Sort sort = Sort.unsorted();
@@ -238,10 +285,39 @@ public class TeacherServiceImpl implements TeacherService {
             throw new BusinessException(400, "导入的教师信息不能为空");
         }
 
-        // 转换为TeacherInfo列表
+        // 1. 查询指定了ID的教师：已存在的在查询出的实体上覆盖字段（保留版本号）
+        Set<Integer> specifiedIds = teacherDTOs.stream()
+                .map(TeacherDTO::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Integer, TeacherInfo> existing = teacherRepository.findAllById(specifiedIds)
+                .stream()
+                .collect(Collectors.toMap(TeacherInfo::getId, Function.identity()));
+
+        // 2. 未指定ID的教师从号段中分配ID，跳过已被占用（手动录入或本批指定）的ID，不足时继续分配
+        List<TeacherDTO> withoutId = teacherDTOs.stream()
+                .filter(dto -> dto.getId() == null)
+                .collect(Collectors.toList());
+        List<Integer> freeIds = new ArrayList<>(withoutId.size());
+        while (freeIds.size() < withoutId.size()) {
+            List<Integer> ids = idBlockAllocator.nextIds(IdBlockAllocator.Sequence.TEACHER, withoutId.size() - freeIds.size());
+            Set<Integer> occupied = teacherRepository.findAllById(ids).stream()
+                    .map(TeacherInfo::getId)
+                    .collect(Collectors.toSet());
+            for (Integer id : ids) {
+                if (!occupied.contains(id) && !specifiedIds.contains(id)) {
+                    freeIds.add(id);
+                }
+            }
+        }
+        for (int i = 0; i < withoutId.size(); i++) {
+            withoutId.get(i).setId(freeIds.get(i));
+        }
+
+        // 3. 转换为TeacherInfo列表：分配了新ID的教师都新建
         List<TeacherInfo> teacherInfos = teacherDTOs.stream()
                 .map(dto -> {
-                    TeacherInfo teacher = new TeacherInfo();
+                    TeacherInfo teacher = existing.getOrDefault(dto.getId(), new TeacherInfo());
                     DtoUtil.copyNonNullFields(dto, teacher);
                     return teacher;
                 })
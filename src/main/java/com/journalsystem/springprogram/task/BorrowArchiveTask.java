@@ -0,0 +1,59 @@
+package com.journalsystem.springprogram.task;
+
+import com.journalsystem.springprogram.service.BorrowService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * 借阅记录归档任务
+ * 定时把归还超过保留天数的记录从borrow_info移入borrow_history，使热表只保留借出中和近期归还的记录
+ * 每批在独立事务中完成，执行中断后下次从剩余记录继续，无需记录进度
+ */
+@Component
+public class BorrowArchiveTask {
+
+    private static final Logger log = LoggerFactory.getLogger(BorrowArchiveTask.class);
+
+    private final BorrowService borrowService;
+    private final int retentionDays;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    @Autowired
+    public BorrowArchiveTask(BorrowService borrowService,
+                             @Value("${journal.archive.retention-days:180}") int retentionDays,
+                             @Value("${journal.archive.batch-size:500}") int batchSize,
+                             @Value("${journal.archive.max-batches-per-run:200}") int maxBatchesPerRun) {
+        this.borrowService = borrowService;
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    /**
+     * 执行归档，默认每天3点30分执行；也可由管理员接口手动触发
+     * @return 本次归档的记录数
+     */
+    @Scheduled(cron = "${journal.archive.cron:0 30 3 * * *}")
+    public synchronized int archive() {
+        LocalDate cutoff = LocalDate.now().minusDays(retentionDays);
+        int total = 0;
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            int archived = borrowService.archiveReturnedBorrows(cutoff, batchSize);
+            if (archived == 0) {
+                break;
+            }
+            total += archived;
+        }
+        if (total > 0) {
+            log.info("借阅记录归档完成：归还日期早于{}，归档{}条", cutoff, total);
+        }
+        return total;
+    }
+}
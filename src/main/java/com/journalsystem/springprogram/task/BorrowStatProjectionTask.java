@@ -0,0 +1,49 @@
+package com.journalsystem.springprogram.task;
+
+import com.journalsystem.springprogram.service.BorrowStatService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 借阅统计投影任务
+ * 定时把borrow_event中新追加的事件投影到教师/期刊/部门借阅统计表，借阅和归还请求本身不再更新统计
+ * 统计表相对借阅记录的延迟约为一个执行间隔
+ */
+@Component
+public class BorrowStatProjectionTask {
+
+    private static final Logger log = LoggerFactory.getLogger(BorrowStatProjectionTask.class);
+
+    /**
+     * 单次执行最多处理的批次数，积压较多时分多次执行追上，避免长时间占用调度线程
+     */
+    private static final int MAX_BATCHES_PER_RUN = 20;
+
+    private final BorrowStatService borrowStatService;
+
+    @Autowired
+    public BorrowStatProjectionTask(BorrowStatService borrowStatService) {
+        this.borrowStatService = borrowStatService;
+    }
+
+    /**
+     * 投影待处理的借阅事件，默认上次执行结束5秒后再次执行
+     */
+    @Scheduled(fixedDelayString = "${journal.borrow-stat.projection-delay-ms:5000}")
+    public void project() {
+        int total = 0;
+        for (int i = 0; i < MAX_BATCHES_PER_RUN; i++) {
+            int projected = borrowStatService.projectPendingEvents();
+            if (projected == 0) {
+                break;
+            }
+            total += projected;
+        }
+        if (total > 0) {
+            log.info("借阅统计投影完成：处理事件{}条", total);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.journalsystem.springprogram.task;
+
+import com.journalsystem.springprogram.dto.CounterDiscrepancyDTO;
+import com.journalsystem.springprogram.dto.ReconciliationReportDTO;
+import com.journalsystem.springprogram.service.CounterReconciliationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 计数对账任务
+ * 定时按借阅记录修正teacher_info.current_borrow和journal_info.available_quantity的偏差，
+ * 也可由管理员接口手动触发；保留最近一次的对账报告
+ */
+@Component
+public class CounterReconciliationTask {
+
+    private static final Logger log = LoggerFactory.getLogger(CounterReconciliationTask.class);
+
+    private final CounterReconciliationService reconciliationService;
+
+    private volatile ReconciliationReportDTO lastReport;
+
+    @Autowired
+    public CounterReconciliationTask(CounterReconciliationService reconciliationService) {
+        this.reconciliationService = reconciliationService;
+    }
+
+    /**
+     * 执行对账，默认每天4点15分执行
+     * @return 对账报告
+     */
+    @Scheduled(cron = "${journal.reconcile.cron:0 15 4 * * *}")
+    public synchronized ReconciliationReportDTO reconcile() {
+        ReconciliationReportDTO report = reconciliationService.reconcileCounters();
+        for (CounterDiscrepancyDTO d : report.getDiscrepancies()) {
+            log.warn("计数不一致：{} id={} 记录值={} 实际值={} 已修正={}",
+                    d.getCounter(), d.getId(), d.getStoredValue(), d.getActualValue(), d.getFixed());
+        }
+        log.info("计数对账完成：检查教师{}个、期刊{}种，修正{}处，跳过{}处",
+                report.getTeachersChecked(), report.getJournalsChecked(), report.getFixedCount(), report.getSkippedCount());
+        lastReport = report;
+        return report;
+    }
+
+    public ReconciliationReportDTO getLastReport() {
+        return lastReport;
+    }
+}
@@ -0,0 +1,40 @@
+package com.journalsystem.springprogram.task;
+
+import com.journalsystem.springprogram.service.HoldService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 预约过期扫描任务
+ * 分配副本后超过保留期限仍未借阅的预约置为过期，副本转给队列中的下一位，没有人排队时放回可借数量
+ */
+@Component
+public class HoldExpirySweepTask {
+
+    private static final Logger log = LoggerFactory.getLogger(HoldExpirySweepTask.class);
+
+    private final HoldService holdService;
+
+    @Autowired
+    public HoldExpirySweepTask(HoldService holdService) {
+        this.holdService = holdService;
+    }
+
+    /**
+     * 执行过期扫描，默认上次执行结束1分钟后再次执行；每批在一个事务中处理，直到没有过期预约
+     */
+    @Scheduled(fixedDelayString = "${journal.hold.expire-sweep-delay-ms:60000}")
+    public void sweep() {
+        int total = 0;
+        int expired;
+        while ((expired = holdService.expireHolds()) > 0) {
+            total += expired;
+        }
+        if (total > 0) {
+            log.info("预约过期扫描完成：过期{}条", total);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.journalsystem.springprogram.task;
+
+import com.journalsystem.springprogram.pojo.JournalInfo;
+import com.journalsystem.springprogram.repository.JournalChangeLogRepository;
+import com.journalsystem.springprogram.repository.JournalRepository;
+import com.journalsystem.springprogram.search.JournalSearchIndex;
+import com.journalsystem.springprogram.search.JournalSuggestTrie;
+import com.journalsystem.springprogram.util.JournalCatalogCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 期刊缓存多实例同步任务
+ * 期刊缓存、检索索引和输入提示都在各实例内存中，本实例的修改只更新本实例；
+ * 定时读取其他实例最近写入的期刊变更日志，失效本地缓存，并按数据库中的当前值更新检索索引和输入提示（期刊已删除时移除）
+ * 按写入时间回看lookbackSeconds秒，已处理的变更ID记在内存中不再重复处理；
+ * 写入日志后超过回看时间才提交的长事务可能漏读，由缓存过期时间和输入提示的定时重建兜底
+ */
+@Component
+public class JournalCatalogSyncTask {
+
+    private static final Logger log = LoggerFactory.getLogger(JournalCatalogSyncTask.class);
+
+    private static final int PURGE_BATCH_SIZE = 1000;
+
+    private final JournalChangeLogRepository changeLogRepository;
+    private final JournalRepository journalRepository;
+    private final JournalCatalogCache journalCatalogCache;
+    private final JournalSearchIndex journalSearchIndex;
+    private final JournalSuggestTrie journalSuggestTrie;
+    private final boolean enabled;
+    private final int lookbackSeconds;
+    private final int retentionMinutes;
+    // 已处理的变更ID → 处理时间，超过回看时间后移除
+    private final Map<Long, Long> seenChanges = new HashMap<>();
+
+    @Autowired
+    public JournalCatalogSyncTask(JournalChangeLogRepository changeLogRepository,
+                                  JournalRepository journalRepository,
+                                  JournalCatalogCache journalCatalogCache,
+                                  JournalSearchIndex journalSearchIndex,
+                                  JournalSuggestTrie journalSuggestTrie,
+                                  @Value("${journal.catalog-sync.enabled:true}") boolean enabled,
+                                  @Value("${journal.catalog-sync.lookback-seconds:30}") int lookbackSeconds,
+                                  @Value("${journal.catalog-sync.retention-minutes:60}") int retentionMinutes) {
+        this.changeLogRepository = changeLogRepository;
+        this.journalRepository = journalRepository;
+        this.journalCatalogCache = journalCatalogCache;
+        this.journalSearchIndex = journalSearchIndex;
+        this.journalSuggestTrie = journalSuggestTrie;
+        this.enabled = enabled;
+        this.lookbackSeconds = lookbackSeconds;
+        this.retentionMinutes = retentionMinutes;
+    }
+
+    /**
+     * 同步其他实例的期刊变更
+     * @return 本次同步的期刊数
+     */
+    @Scheduled(fixedDelayString = "${journal.catalog-sync.poll-delay-ms:2000}")
+    public synchronized int sync() {
+        if (!enabled) {
+            return 0;
+        }
+        // 1. 读取回看时间内其他实例的变更，跳过已处理的
+        long now = System.currentTimeMillis();
+        seenChanges.values().removeIf(seenAt -> seenAt < now - 2L * lookbackSeconds * 1000);
+        Set<Integer> journalIds = new LinkedHashSet<>();
+        for (JournalChangeLogRepository.Change change : changeLogRepository.findRecent(journalCatalogCache.getNodeId(), lookbackSeconds)) {
+            if (seenChanges.putIfAbsent(change.getChangeId(), now) == null) {
+                journalIds.add(change.getJournalId());
+            }
+        }
+        if (journalIds.isEmpty()) {
+            return 0;
+        }
+
+        // 2. 失效本地缓存，按当前值更新检索索引和输入提示（不在事务中，立即生效）
+        journalCatalogCache.evictLocal(journalIds);
+        List<JournalInfo> journals = journalRepository.findAllById(journalIds);
+        for (JournalInfo journal : journals) {
+            journalSearchIndex.index(journal);
+            journalSuggestTrie.put(journal);
+            journalIds.remove(journal.getId());
+        }
+        // 3. 剩下的是已删除的期刊
+        if (!journalIds.isEmpty()) {
+            journalSearchIndex.remove(journalIds);
+            journalSuggestTrie.remove(journalIds);
+        }
+        return journals.size() + journalIds.size();
+    }
+
+    /**
+     * 删除超过保留时间的变更日志，默认每小时执行
+     */
+    @Scheduled(fixedDelayString = "${journal.catalog-sync.purge-delay-ms:3600000}",
+               initialDelayString = "${journal.catalog-sync.purge-delay-ms:3600000}")
+    public void purge() {
+        if (!enabled) {
+            return;
+        }
+        int total = 0;
+        int deleted;
+        do {
+            deleted = changeLogRepository.purge(retentionMinutes, PURGE_BATCH_SIZE);
+            total += deleted;
+        } while (deleted == PURGE_BATCH_SIZE);
+        if (total > 0) {
+            log.info("期刊变更日志清理完成：删除{}条", total);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.journalsystem.springprogram.task;
+
+import com.journalsystem.springprogram.search.JournalSuggestTrie;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 期刊输入提示刷新任务
+ * 借阅热度随借还不断变化，字典树各节点的topK按构建时的热度排序；定时全量重建以刷新排序
+ * 首次构建在应用启动完成时进行，因此首次执行延后一个周期
+ */
+@Component
+public class JournalSuggestRefreshTask {
+
+    private final JournalSuggestTrie journalSuggestTrie;
+
+    @Autowired
+    public JournalSuggestRefreshTask(JournalSuggestTrie journalSuggestTrie) {
+        this.journalSuggestTrie = journalSuggestTrie;
+    }
+
+    @Scheduled(fixedDelayString = "${journal.suggest.refresh-delay-ms:600000}",
+               initialDelayString = "${journal.suggest.refresh-delay-ms:600000}")
+    public void refresh() {
+        journalSuggestTrie.rebuild();
+    }
+}
@@ -0,0 +1,147 @@
+package com.journalsystem.springprogram.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 有容量上限和过期时间的读穿透缓存
+ * 超过maxSize时淘汰最久未访问的条目（LRU），条目写入ttlMillis毫秒后过期；不缓存null
+ * 加载期间先放入占位条目，加载完成后只有占位条目仍在时才写入结果：
+ * 加载过程中被invalidate的键不会写入加载到的旧值
+ * @param <K> 键类型
+ * @param <V> 值类型
+ */
+public class BoundedTtlCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Map<K, Entry<V>> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public BoundedTtlCache(int maxSize, long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        // accessOrder=true：按访问顺序排列，最久未访问的在最前
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > BoundedTtlCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 读取缓存，未命中或已过期时调用loader加载；loader在锁外执行，不阻塞其他键的读取
+     * @param key 键
+     * @param loader 加载函数，返回null时不缓存
+     * @return 缓存值或加载结果
+     */
+    public V get(K key, Function<K, V> loader) {
+        if (maxSize <= 0 || ttlMillis <= 0) {
+            misses.increment();
+            return loader.apply(key);
+        }
+        // 1. 命中未过期的条目直接返回；否则放入占位条目
+        Entry<V> pending = new Entry<>();
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && entry.loaded) {
+                if (entry.expireAt > System.currentTimeMillis()) {
+                    hits.increment();
+                    return entry.value;
+                }
+                expirations.increment();
+            }
+            misses.increment();
+            entries.put(key, pending);
+        }
+
+        // 2. 加载，完成时占位条目仍在才写入结果；加载失败时移除占位条目
+        V value;
+        try {
+            value = loader.apply(key);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                entries.remove(key, pending);
+            }
+            throw e;
+        }
+        synchronized (this) {
+            if (entries.get(key) == pending) {
+                if (value == null) {
+                    entries.remove(key);
+                } else {
+                    pending.value = value;
+                    pending.expireAt = System.currentTimeMillis() + ttlMillis;
+                    pending.loaded = true;
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * 读取已缓存且未过期的值，不触发加载，不计入命中统计
+     * @param key 键
+     * @return 缓存值，不存在时为null
+     */
+    public synchronized V peek(K key) {
+        Entry<V> entry = entries.get(key);
+        return entry != null && entry.loaded && entry.expireAt > System.currentTimeMillis() ? entry.value : null;
+    }
+
+    /**
+     * 使指定键失效（包括正在加载的键）
+     * @param key 键
+     */
+    public synchronized void invalidate(K key) {
+        if (entries.remove(key) != null) {
+            invalidations.increment();
+        }
+    }
+
+    /**
+     * 清空全部缓存
+     */
+    public synchronized void invalidateAll() {
+        invalidations.add(entries.size());
+        entries.clear();
+    }
+
+    /**
+     * 获取缓存统计
+     * @return {size, maxSize, hits, misses, hitRate, evictions, expirations, invalidations}
+     */
+    public Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (this) {
+            stats.put("size", entries.size());
+        }
+        stats.put("maxSize", maxSize);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        stats.put("evictions", evictions.sum());
+        stats.put("expirations", expirations.sum());
+        stats.put("invalidations", invalidations.sum());
+        return stats;
+    }
+
+    private static final class Entry<V> {
+        private V value;
+        private long expireAt;
+        private boolean loaded;
+    }
+}
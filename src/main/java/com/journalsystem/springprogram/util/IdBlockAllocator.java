@@ -0,0 +1,139 @@
+package com.journalsystem.springprogram.util;
+
+import com.journalsystem.springprogram.exception.BusinessException;
+import com.journalsystem.springprogram.repository.IdBlockRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 主键号段分配器（hi/lo）
+ * 每个实例每次从id_block取走blockSize个ID，号段用完前分配ID不访问数据库；
+ * 取号段通过IdBlockRepository的独立连接池执行并立即提交，不占用业务连接池，也不加入外层借阅事务，
+ * 持有号段监视器等待的只是这个小连接池；外层事务回滚时已分配的ID作废（ID允许不连续）
+ * 主键列为INT，启动时检查剩余的ID数量，不足一个号段时启动失败；运行中用尽时返回明确的错误
+ */
+@Component
+public class IdBlockAllocator {
+
+    /**
+     * 使用号段分配主键的表
+     */
+    public enum Sequence {
+        BORROW("borrow_info", "borrow_id"),
+        JOURNAL("journal_info", "id"),
+        TEACHER("teacher_info", "teacher_id");
+
+        private final String table;
+        private final String idColumn;
+
+        Sequence(String table, String idColumn) {
+            this.table = table;
+            this.idColumn = idColumn;
+        }
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(IdBlockAllocator.class);
+
+    // 剩余ID少于该比例时启动告警
+    private static final long HEADROOM_WARN_RATIO = 10;
+
+    private final IdBlockRepository idBlockRepository;
+    private final int blockSize;
+    private final Map<Sequence, Block> blocks = new EnumMap<>(Sequence.class);
+
+    public IdBlockAllocator(IdBlockRepository idBlockRepository,
+                            @Value("${journal.id-block.size:100}") int blockSize) {
+        this.idBlockRepository = idBlockRepository;
+        this.blockSize = Math.max(1, blockSize);
+        for (Sequence sequence : Sequence.values()) {
+            blocks.put(sequence, new Block());
+        }
+    }
+
+    /**
+     * 启动检查：初始化各号段行，剩余的ID不足一个号段时启动失败
+     * 在命令行任务（如压测数据生成）之前执行
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void checkHeadroom() {
+        for (Sequence sequence : Sequence.values()) {
+            Block block = blocks.get(sequence);
+            synchronized (block) {
+                idBlockRepository.init(sequence.name(), sequence.table, sequence.idColumn);
+                block.initialized = true;
+            }
+            Long nextId = idBlockRepository.findNextId(sequence.name());
+            long remaining = nextId == null ? 0 : (long) Integer.MAX_VALUE - nextId + 1;
+            if (remaining < blockSize) {
+                throw new IllegalStateException(String.format(
+                        "%s.%s的主键已接近INT上限（下一个号段起始ID：%s，剩余%d个，号段大小%d），请将主键列改为BIGINT或整理ID后再启动",
+                        sequence.table, sequence.idColumn, nextId, Math.max(remaining, 0), blockSize));
+            }
+            if (remaining < (long) Integer.MAX_VALUE / HEADROOM_WARN_RATIO) {
+                log.warn("{}.{}的主键剩余{}个ID，已接近INT上限", sequence.table, sequence.idColumn, remaining);
+            }
+        }
+    }
+
+    /**
+     * 分配一个ID
+     * @param sequence 目标表
+     * @return 新ID
+     */
+    public Integer nextId(Sequence sequence) {
+        return nextIds(sequence, 1).get(0);
+    }
+
+    /**
+     * 分配count个ID，当前号段不足时再取一个号段（不小于count）
+     * @param sequence 目标表
+     * @param count 数量
+     * @return 新ID列表，按分配顺序递增
+     */
+    public List<Integer> nextIds(Sequence sequence, int count) {
+        Block block = blocks.get(sequence);
+        List<Integer> ids = new ArrayList<>(count);
+        synchronized (block) {
+            while (ids.size() < count) {
+                if (block.next >= block.end) {
+                    int size = Math.max(blockSize, count - ids.size());
+                    block.next = reserve(sequence, block, size);
+                    block.end = block.next + size;
+                }
+                ids.add((int) block.next++);
+            }
+        }
+        return ids;
+    }
+
+    private long reserve(Sequence sequence, Block block, int size) {
+        if (!block.initialized) {
+            idBlockRepository.init(sequence.name(), sequence.table, sequence.idColumn);
+            block.initialized = true;
+        }
+        Long start = idBlockRepository.reserve(sequence.name(), size);
+        if (start == null) {
+            throw new BusinessException(500, "主键号段分配失败：" + sequence.name());
+        }
+        // 号段超出INT范围时不能分配（取走的号段作废）
+        if (start + size - 1 > Integer.MAX_VALUE) {
+            throw new BusinessException(500, "主键已用尽，请联系管理员：" + sequence.table);
+        }
+        return start;
+    }
+
+    private static final class Block {
+        private long next;
+        private long end;
+        private boolean initialized;
+    }
+}
@@ -0,0 +1,129 @@
+package com.journalsystem.springprogram.util;
+
+import com.journalsystem.springprogram.exception.BusinessException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * 幂等键存储
+ * 客户端超时重试时携带同一个幂等键，首次请求执行操作并保存结果，ttlSeconds秒内的重复请求直接返回保存的结果，
+ * 只做一次内存查找；首次请求尚未完成时，重复请求等待其结果而不是再执行一次
+ * 幂等键按调用方（如教师ID）区分，不同调用方使用同一个键互不影响；同时保存首次请求的参数指纹，
+ * 同一个键携带不同参数的请求返回422，不会把别的请求的结果当作本次结果返回
+ * 操作失败（抛出异常）时不保存结果，客户端可以用同一个键重试
+ * 超过容量时先清理过期记录，仍超过时按保存顺序淘汰最早的已完成记录，不拒绝新请求
+ */
+@Component
+public class IdempotencyStore {
+
+    private final long ttlMillis;
+    private final int maxEntries;
+    // 按插入顺序保存，淘汰时从最早的记录开始；所有访问都在entries上同步，只做内存操作，不在锁内执行业务操作
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    public IdempotencyStore(@Value("${journal.idempotency.ttl-seconds:600}") long ttlSeconds,
+                            @Value("${journal.idempotency.max-entries:10000}") int maxEntries) {
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * 按幂等键执行操作
+     * @param operation 操作名称，与调用方、幂等键一起组成存储键，不同接口使用同一个键互不影响
+     * @param caller 调用方标识（如教师ID），为空时只按操作名称和幂等键区分
+     * @param idempotencyKey 幂等键，为空时直接执行操作
+     * @param fingerprint 请求参数指纹（按equals比较），同一个键的重复请求参数必须相同
+     * @param action 要执行的操作
+     * @return 操作结果，重复请求返回首次请求的结果
+     * @param <T> 结果类型
+     * @throws BusinessException 同一个幂等键携带了不同的请求参数 → code=422
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, Object caller, String idempotencyKey, Object fingerprint, Supplier<T> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        String key = operation + ":" + (caller == null ? "" : caller) + ":" + idempotencyKey;
+        long now = System.currentTimeMillis();
+
+        // 1. 已有未过期的记录：参数相同时返回保存的结果（首次请求仍在执行时等待其完成）
+        Entry created = new Entry(now + ttlMillis, fingerprint);
+        Entry existing;
+        synchronized (entries) {
+            existing = entries.get(key);
+            if (existing == null || existing.expireAt <= now) {
+                entries.remove(key);
+                entries.put(key, created);
+                // 2. 首次请求：超过容量时清理过期记录，仍超过时淘汰最早的已完成记录
+                if (entries.size() > maxEntries) {
+                    evict(now);
+                }
+                existing = created;
+            }
+        }
+        if (existing != created) {
+            if (!Objects.equals(existing.fingerprint, fingerprint)) {
+                throw new BusinessException(422, "幂等键已用于其他请求，请使用新的幂等键");
+            }
+            try {
+                return (T) existing.result.join();
+            } catch (CompletionException e) {
+                throw (RuntimeException) e.getCause();
+            }
+        }
+
+        // 3. 执行操作并保存结果；失败时移除记录，等待中的重复请求收到同样的异常
+        try {
+            T value = action.get();
+            created.result.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            synchronized (entries) {
+                entries.remove(key, created);
+            }
+            created.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 当前保存的幂等键数量（含已过期但尚未清理的）
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * 清理过期记录，仍超过容量时按插入顺序淘汰已完成的记录；执行中的记录不淘汰，重复请求仍能等到其结果
+     * 调用方持有entries的锁
+     */
+    private void evict(long now) {
+        entries.values().removeIf(entry -> entry.expireAt <= now && entry.result.isDone());
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            if (iterator.next().result.isDone()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private final long expireAt;
+        private final Object fingerprint;
+
+        private Entry(long expireAt, Object fingerprint) {
+            this.expireAt = expireAt;
+            this.fingerprint = fingerprint;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.journalsystem.springprogram.util;
+
+import com.journalsystem.springprogram.pojo.JournalInfo;
+import com.journalsystem.springprogram.repository.JournalChangeLogRepository;
+import com.journalsystem.springprogram.repository.JournalRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * 期刊读穿透缓存
+ * 按ID缓存期刊快照，按ISSN、期刊号缓存到ID的映射；容量和过期时间可配置
+ * 期刊字段（名称、ISSN、分类、出版社、状态、总数量等）被修改时调用invalidate按ID精确失效（有事务时在提交后失效）；
+ * 二级键命中后校验期刊当前的ISSN/期刊号，字段被改过的映射视为未命中，无需知道修改前的值
+ * 可借数量随借阅/归还/预约频繁变化，不取快照中的值，而是单独按ID缓存stockTtlSeconds秒（默认5秒），
+ * 库存变化时调用invalidateStock只失效本实例的库存缓存，其他实例最多延迟stockTtlSeconds秒看到新值
+ * 返回的是快照的副本（不含借阅记录集合），调用方修改返回值不影响缓存
+ * 多实例部署：invalidate同时在当前事务中写入期刊变更日志，其他实例由JournalCatalogSyncTask定时读取后调用evictLocal；
+ * 库存变化不写变更日志；关闭journal.catalog-sync.enabled（单实例部署）时只失效本地缓存
+ */
+@Component
+public class JournalCatalogCache {
+
+    private static final Set<String> SNAPSHOT_IGNORE_FIELDS = Set.of("borrowInfos");
+
+    private final JournalRepository journalRepository;
+    private final JournalChangeLogRepository changeLogRepository;
+    private final boolean syncEnabled;
+    // 本实例标识，写入变更日志，同步时跳过本实例写入的变更
+    private final String nodeId = UUID.randomUUID().toString();
+    private final BoundedTtlCache<Integer, JournalInfo> byId;
+    private final BoundedTtlCache<String, Integer> idByIssn;
+    private final BoundedTtlCache<String, Integer> idByIssueNumber;
+    private final BoundedTtlCache<Integer, Integer> availableById;
+
+    @Autowired
+    public JournalCatalogCache(JournalRepository journalRepository,
+                               JournalChangeLogRepository changeLogRepository,
+                               @Value("${journal.catalog-cache.max-size:10000}") int maxSize,
+                               @Value("${journal.catalog-cache.ttl-seconds:300}") long ttlSeconds,
+                               @Value("${journal.catalog-cache.stock-ttl-seconds:5}") long stockTtlSeconds,
+                               @Value("${journal.catalog-sync.enabled:true}") boolean syncEnabled) {
+        this.journalRepository = journalRepository;
+        this.changeLogRepository = changeLogRepository;
+        this.syncEnabled = syncEnabled;
+        this.byId = new BoundedTtlCache<>(maxSize, ttlSeconds * 1000);
+        this.idByIssn = new BoundedTtlCache<>(maxSize, ttlSeconds * 1000);
+        this.idByIssueNumber = new BoundedTtlCache<>(maxSize, ttlSeconds * 1000);
+        this.availableById = new BoundedTtlCache<>(maxSize, stockTtlSeconds * 1000);
+    }
+
+    /**
+     * 按ID查询期刊
+     * @param id 期刊ID
+     * @return 期刊副本，不存在时为null
+     */
+    public JournalInfo getById(Integer id) {
+        return withStock(snapshot(byId.get(id, key -> snapshot(journalRepository.findById(key).orElse(null)))));
+    }
+
+    /**
+     * 按ISSN查询期刊
+     * @param issn ISSN
+     * @return 期刊副本，不存在时为null
+     */
+    public JournalInfo getByIssn(String issn) {
+        return getBySecondaryKey(idByIssn, issn, journalRepository::findByIssn, JournalInfo::getIssn);
+    }
+
+    /**
+     * 按期刊号查询期刊
+     * @param issueNumber 期刊号
+     * @return 期刊副本，不存在时为null
+     */
+    public JournalInfo getByIssueNumber(String issueNumber) {
+        return getBySecondaryKey(idByIssueNumber, issueNumber, journalRepository::findByIssueNumber,
+                JournalInfo::getIssueNumber);
+    }
+
+    /**
+     * 使期刊缓存失效，期刊字段被修改或期刊被删除后调用
+     * 本地缓存在提交后失效；同时记录变更日志，其他实例同步后失效
+     * @param journalId 期刊ID
+     */
+    public void invalidate(Integer journalId) {
+        if (journalId != null) {
+            invalidate(List.of(journalId));
+        }
+    }
+
+    /**
+     * 批量使期刊缓存失效
+     * @param journalIds 期刊ID
+     */
+    public void invalidate(Collection<Integer> journalIds) {
+        if (journalIds == null || journalIds.isEmpty()) {
+            return;
+        }
+        List<Integer> ids = List.copyOf(journalIds);
+        if (syncEnabled) {
+            changeLogRepository.record(nodeId, ids);
+        }
+        TransactionUtil.afterCommit(() -> ids.forEach(this::evict));
+    }
+
+    /**
+     * 使期刊的可借数量缓存失效，借阅、归还、预约保留等只修改库存时调用
+     * 只失效本实例（有事务时在提交后失效），不记录变更日志
+     * @param journalId 期刊ID
+     */
+    public void invalidateStock(Integer journalId) {
+        if (journalId != null) {
+            invalidateStock(List.of(journalId));
+        }
+    }
+
+    /**
+     * 批量使期刊的可借数量缓存失效
+     * @param journalIds 期刊ID
+     */
+    public void invalidateStock(Collection<Integer> journalIds) {
+        if (journalIds == null || journalIds.isEmpty()) {
+            return;
+        }
+        List<Integer> ids = List.copyOf(journalIds);
+        TransactionUtil.afterCommit(() -> ids.forEach(availableById::invalidate));
+    }
+
+    /**
+     * 只失效本实例的缓存，不记录变更日志；同步其他实例的变更时调用
+     * @param journalIds 期刊ID
+     */
+    public void evictLocal(Collection<Integer> journalIds) {
+        journalIds.forEach(this::evict);
+    }
+
+    /**
+     * 本实例标识
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * 获取各级缓存的统计
+     * @return 缓存名称 → {size, maxSize, hits, misses, hitRate, evictions, expirations, invalidations}
+     */
+    public Map<String, Map<String, Object>> getStats() {
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        stats.put("byId", byId.getStats());
+        stats.put("byIssn", idByIssn.getStats());
+        stats.put("byIssueNumber", idByIssueNumber.getStats());
+        stats.put("availableById", availableById.getStats());
+        return stats;
+    }
+
+    private JournalInfo getBySecondaryKey(BoundedTtlCache<String, Integer> cache, String key,
+                                          Function<String, JournalInfo> loader,
+                                          Function<JournalInfo, String> keyOf) {
+        // 1. 二级键未命中时按该键查库
+        JournalInfo[] loaded = new JournalInfo[1];
+        Integer id = cache.get(key, k -> {
+            loaded[0] = loader.apply(k);
+            return loaded[0] == null ? null : loaded[0].getId();
+        });
+        if (id == null) {
+            return null;
+        }
+        if (loaded[0] != null) {
+            return snapshot(loaded[0]);
+        }
+
+        // 2. 二级键命中：按ID读取，期刊的该字段已被修改时丢弃映射并重新按键查询
+        JournalInfo journal = getById(id);
+        if (journal != null && key.equalsIgnoreCase(keyOf.apply(journal))) {
+            return journal;
+        }
+        cache.invalidate(key);
+        return snapshot(loader.apply(key));
+    }
+
+    private void evict(Integer journalId) {
+        JournalInfo cached = byId.peek(journalId);
+        byId.invalidate(journalId);
+        availableById.invalidate(journalId);
+        if (cached != null) {
+            if (cached.getIssn() != null) {
+                idByIssn.invalidate(cached.getIssn());
+            }
+            if (cached.getIssueNumber() != null) {
+                idByIssueNumber.invalidate(cached.getIssueNumber());
+            }
+        }
+    }
+
+    // 用单独缓存的可借数量覆盖快照中的值（快照中的值不随借阅/归还失效）
+    private JournalInfo withStock(JournalInfo journal) {
+        if (journal != null) {
+            journal.setAvailableQuantity(availableById.get(journal.getId(), journalRepository::findAvailableQuantityById));
+        }
+        return journal;
+    }
+
+    // 复制期刊字段，不引用持久化上下文中的借阅记录集合；缓存中存放快照，返回给调用方的是快照的副本
+    private static JournalInfo snapshot(JournalInfo journal) {
+        if (journal == null) {
+            return null;
+        }
+        JournalInfo snapshot = new JournalInfo();
+        DtoUtil.copyAllFields(journal, snapshot, SNAPSHOT_IGNORE_FIELDS);
+        return snapshot;
+    }
+}
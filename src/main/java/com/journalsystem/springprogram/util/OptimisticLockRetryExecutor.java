@@ -0,0 +1,123 @@
+package com.journalsystem.springprogram.util;
+
+import com.journalsystem.springprogram.exception.BusinessException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 乐观锁冲突重试执行器
+ * 捕获OptimisticLockingFailureException（版本号冲突、条件UPDATE未全部生效）后按指数退避+随机抖动重试，
+ * 超过最大尝试次数时返回409业务异常；同时按操作名称统计调用、冲突、重试次数
+ * 必须在事务之外调用（包住@Transactional的service方法），每次重试都是一个新事务
+ */
+@Component
+public class OptimisticLockRetryExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(OptimisticLockRetryExecutor.class);
+
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final long maxBackoffMillis;
+    private final Map<String, OperationStats> stats = new ConcurrentHashMap<>();
+
+    public OptimisticLockRetryExecutor(@Value("${journal.optimistic-retry.max-attempts:3}") int maxAttempts,
+                                       @Value("${journal.optimistic-retry.backoff-ms:20}") long backoffMillis,
+                                       @Value("${journal.optimistic-retry.max-backoff-ms:200}") long maxBackoffMillis) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMillis = backoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    /**
+     * 执行操作，发生乐观锁冲突时重试
+     * @param operation 操作名称，用于统计
+     * @param action 要执行的操作
+     * @return 操作结果
+     * @param <T> 结果类型
+     * @throws BusinessException 重试次数用尽 → code=409
+     */
+    public <T> T execute(String operation, Supplier<T> action) {
+        OperationStats operationStats = stats.computeIfAbsent(operation, k -> new OperationStats());
+        operationStats.calls.increment();
+        for (int attempt = 1; ; attempt++) {
+            operationStats.attempts.increment();
+            try {
+                return action.get();
+            } catch (OptimisticLockingFailureException e) {
+                operationStats.conflicts.increment();
+                if (attempt >= maxAttempts) {
+                    operationStats.exhausted.increment();
+                    log.warn("{}乐观锁冲突，已重试{}次仍失败：{}", operation, attempt - 1, e.getMessage());
+                    throw new BusinessException(409, "数据已被其他请求修改，请稍后重试");
+                }
+                operationStats.retries.increment();
+                sleep(backoff(attempt));
+            }
+        }
+    }
+
+    /**
+     * 获取各操作的重试统计
+     * @return 操作名称 → {calls, attempts, conflicts, retries, exhausted, conflictRate, retryRate}
+     */
+    public Map<String, Map<String, Object>> getStats() {
+        Map<String, Map<String, Object>> result = new TreeMap<>();
+        stats.forEach((operation, s) -> {
+            long calls = s.calls.sum();
+            long attempts = s.attempts.sum();
+            long conflicts = s.conflicts.sum();
+            long retries = s.retries.sum();
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("calls", calls);
+            item.put("attempts", attempts);
+            item.put("conflicts", conflicts);
+            item.put("retries", retries);
+            item.put("exhausted", s.exhausted.sum());
+            // 冲突率：每次执行发生冲突的比例；重试率：每次调用平均重试次数
+            item.put("conflictRate", attempts == 0 ? 0.0 : (double) conflicts / attempts);
+            item.put("retryRate", calls == 0 ? 0.0 : (double) retries / calls);
+            result.put(operation, item);
+        });
+        return result;
+    }
+
+    /**
+     * 第attempt次失败后的等待时间：在[0, min(上限, 基数*2^(attempt-1))]中随机取值（full jitter），
+     * 避免冲突的请求同时重试再次冲突
+     */
+    private long backoff(int attempt) {
+        long ceiling = Math.min(maxBackoffMillis, backoffMillis << Math.min(attempt - 1, 20));
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(500, "操作被中断");
+        }
+    }
+
+    private static final class OperationStats {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder attempts = new LongAdder();
+        private final LongAdder conflicts = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder exhausted = new LongAdder();
+    }
+}
@@ -0,0 +1,47 @@
+package com.journalsystem.springprogram.util;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * SQL语句计数器
+ * 作为Hibernate的StatementInspector注册（见application.properties），统计当前线程执行的SQL条数，
+ * 用于发现N+1查询：请求开始时reset，结束时读取getCount，或在测试中调用assertAtMost
+ * 注意：只统计经过Hibernate的语句，JdbcTemplate直接执行的语句不计入
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<Integer> COUNT = ThreadLocal.withInitial(() -> 0);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.set(COUNT.get() + 1);
+        return sql;
+    }
+
+    /**
+     * 清零当前线程的计数
+     */
+    public static void reset() {
+        COUNT.remove();
+    }
+
+    /**
+     * 获取当前线程自上次清零以来执行的SQL条数
+     * @return SQL条数
+     */
+    public static int getCount() {
+        return COUNT.get();
+    }
+
+    /**
+     * 断言当前线程执行的SQL条数不超过上限
+     * @param max 允许的最多SQL条数
+     * @throws IllegalStateException 超过上限时抛出
+     */
+    public static void assertAtMost(int max) {
+        int count = getCount();
+        if (count > max) {
+            throw new IllegalStateException("执行了" + count + "条SQL，超过上限" + max + "，可能存在N+1查询");
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.journalsystem.springprogram.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 带过期时间的简单内存缓存
+ * 条目写入后ttlMillis毫秒内有效，过期后下次读取时重新加载；适合缓存允许短暂不一致的统计值
+ * @param <K> 键类型
+ * @param <V> 值类型
+ */
+public class TtlCache<K, V> {
+
+    private final long ttlMillis;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    public TtlCache(long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * 读取缓存，未命中或已过期时调用loader加载并写入缓存
+     * @param key 键
+     * @param loader 加载函数
+     * @return 缓存值
+     */
+    public V get(K key, Supplier<V> loader) {
+        long now = System.currentTimeMillis();
+        Entry<V> entry = entries.get(key);
+        if (entry != null && entry.expireAt > now) {
+            return entry.value;
+        }
+        V value = loader.get();
+        if (ttlMillis > 0) {
+            entries.put(key, new Entry<>(value, now + ttlMillis));
+        }
+        return value;
+    }
+
+    /**
+     * 使指定键失效
+     * @param key 键
+     */
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * 清空全部缓存
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expireAt;
+
+        private Entry(V value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+    }
+}
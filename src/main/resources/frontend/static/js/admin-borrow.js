@@ -110,21 +110,49 @@ async function loadBorrowRecords() {
 }
 
 // 8. 加载当前借阅记录（校准：字段映射+错误处理）
-async function loadCurrentBorrows() {
+// 后端单次最多返回100条，按游标分页逐页加载；借阅数量显示后端统计的总数
+const CURRENT_BORROWS_PAGE_SIZE = 100;
+let currentBorrows = [];
+let currentBorrowsCursor = null;
+
+async function loadCurrentBorrows(loadMore = false) {
     const tbody = document.getElementById('currentBorrowsTable');
-    tbody.innerHTML = '<tr><td colspan="7" class="text-center"><i class="fas fa-spinner fa-spin"></i> 加载中...</td></tr>';
+    if (!loadMore) {
+        tbody.innerHTML = '<tr><td colspan="7" class="text-center"><i class="fas fa-spinner fa-spin"></i> 加载中...</td></tr>';
+    }
 
     try {
-        // 校准：传参名匹配后端（status支持逗号分隔多值）
-        const data = await api.get(BORROW_API.LIST_BORROWS, {
-            status: 'borrowed,overdue'
-        });
+        // 校准：传参名匹配后端（status支持逗号分隔多值）；首页传seek，后续页传上一页返回的游标
+        const params = {
+            status: 'borrowed,overdue',
+            limit: CURRENT_BORROWS_PAGE_SIZE
+        };
+        if (loadMore && currentBorrowsCursor) {
+            params.cursor = currentBorrowsCursor;
+        } else {
+            params.seek = true;
+        }
+        const data = await api.get(BORROW_API.LIST_BORROWS, params);
 
-        // 校准：适配后端两种返回结构（数组 / {records:[], total:0}）
+        // 校准：适配后端两种返回结构（数组 / {records:[], total:0, nextCursor:''}）
         const borrows = Array.isArray(data) ? data : (data.records || []);
-
-        renderCurrentBorrows(borrows);
-        document.getElementById('activeBorrowsCount').textContent = borrows.length;
+        currentBorrows = loadMore ? currentBorrows.concat(borrows) : borrows;
+        currentBorrowsCursor = Array.isArray(data) ? null : (data.nextCursor || null);
+
+        renderCurrentBorrows(currentBorrows);
+        if (currentBorrowsCursor) {
+            tbody.insertAdjacentHTML('beforeend', `
+                <tr>
+                    <td colspan="7" class="text-center">
+                        <button class="btn btn-sm btn-outline-primary" onclick="loadCurrentBorrows(true)">
+                            <i class="fas fa-angle-double-down"></i> 加载更多
+                        </button>
+                    </td>
+                </tr>
+            `);
+        }
+        const total = Array.isArray(data) ? null : data.total;
+        document.getElementById('activeBorrowsCount').textContent = total ?? currentBorrows.length;
 
     } catch (error) {
         console.error('加载当前借阅失败:', error);
@@ -147,7 +175,9 @@ async function loadHistoryBorrows() {
 
         const borrows = Array.isArray(data) ? data : (data.records || []);
         renderHistoryBorrows(borrows);
-        document.getElementById('returnedBorrowsCount').textContent = borrows.length;
+        // 列表只显示最近50条，数量显示后端统计的总数
+        const total = Array.isArray(data) ? null : data.total;
+        document.getElementById('returnedBorrowsCount').textContent = total ?? borrows.length;
 
     } catch (error) {
         console.error('加载历史借阅失败:', error);
@@ -319,7 +349,8 @@ async function handleBorrowSubmit(e) {
         };
 
         // 14.8 调用创建借阅接口
-        await api.post(BORROW_API.CREATE_BORROW, borrowData);
+        await api.post(BORROW_API.CREATE_BORROW, borrowData, borrowSubmit.key(borrowData));
+        borrowSubmit.done();
 
         alert('借阅办理成功！');
 
@@ -330,6 +361,7 @@ async function handleBorrowSubmit(e) {
         loadBorrowRecords();
 
     } catch (error) {
+        borrowSubmit.done(error);
         console.error('借阅失败:', error);
         const errMsg = getBusinessErrorMsg(error);
 
@@ -447,6 +479,10 @@ function renderReturnList(borrows, type) {
         `).join('')}`;
 }
 
+// 借阅、归还提交的幂等键：超时后重新提交同样的内容时沿用同一个键，避免重复借阅/归还
+const borrowSubmit = createIdempotentSubmit();
+const returnSubmit = createIdempotentSubmit();
+
 // 18. 处理归还操作（校准：参数+路径+错误处理）
 async function handleReturn(borrowId) {
     // 校准：严格非空校验
@@ -466,7 +502,8 @@ async function handleReturn(borrowId) {
         };
 
         // 校准：调用正确的归还接口（PUT /borrow/teacher/return）
-        await api.put(BORROW_API.RETURN_BORROW, returnData);
+        await api.put(BORROW_API.RETURN_BORROW, returnData, returnSubmit.key(returnData));
+        returnSubmit.done();
 
         alert('归还办理成功！');
 
@@ -476,6 +513,7 @@ async function handleReturn(borrowId) {
         loadBorrowRecords();
 
     } catch (error) {
+        returnSubmit.done(error);
         console.error('归还失败:', error);
         const errMsg = getBusinessErrorMsg(error);
         alert('归还失败: ' + errMsg);
@@ -102,6 +102,8 @@ function bindEventListeners() {
         document.getElementById('addJournalModalLabel').textContent = '添加期刊';
         document.getElementById('id').readOnly = false;
         document.getElementById('id').style.backgroundColor = '';
+        document.getElementById('available_quantity').readOnly = false;
+        document.getElementById('available_quantity').style.backgroundColor = '';
     });
 }
 
@@ -251,8 +253,10 @@ async function handleFormSubmit() {
         return;
     }
 
-    // 数量逻辑验证
-    if (data.availableQuantity > data.totalQuantity) {
+    // 数量逻辑验证（编辑时可借数量由后端按馆藏数量的增减计算，不校验也不提交）
+    if (editId) {
+        delete data.availableQuantity;
+    } else if (data.availableQuantity > data.totalQuantity) {
         alert('可借数量不能大于馆藏数量！');
         document.getElementById('available_quantity').focus();
         return;
@@ -332,6 +336,10 @@ async function handleEdit(id) {
         document.getElementById('id').readOnly = true;
         document.getElementById('id').style.backgroundColor = '#e9ecef';
 
+        // 可借数量随借还变化，编辑时只展示；修改馆藏数量时后端按增减量调整可借数量
+        document.getElementById('available_quantity').readOnly = true;
+        document.getElementById('available_quantity').style.backgroundColor = '#e9ecef';
+
         modal.show();
 
     } catch (error) {
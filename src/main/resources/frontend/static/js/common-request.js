@@ -84,13 +84,14 @@ requestInstance.interceptors.response.use(
 
 
 // 5. 通用请求函数（支持所有请求方式）
-async function request(method, url, params = {}, data = {}) {
+async function request(method, url, params = {}, data = {}, headers = {}) {
   try {
     const result = await requestInstance({
       method: method.toUpperCase(), // 统一转为大写
       url,
       params, // GET请求的参数（拼在URL上）
       data, // POST/PUT等请求的请求体
+      headers, // 额外的请求头（如Idempotency-Key）
     });
     return result;
   } catch (err) {
@@ -103,7 +104,39 @@ async function request(method, url, params = {}, data = {}) {
 // 6. 封装常用请求方法（简化调用）
 const api = {
   get: (url, params) => request("GET", url, params),
-  post: (url, data) => request("POST", url, {}, data),
-  put: (url, data) => request("PUT", url, {}, data),
+  post: (url, data, headers) => request("POST", url, {}, data, headers),
+  put: (url, data, headers) => request("PUT", url, {}, data, headers),
   del: (url, params) => request("DELETE", url, params),
-};
\ No newline at end of file
+};
+
+
+// 7. 幂等键（借阅/归还等写操作）
+// 每次提交生成一个新键；请求超时或网络中断（未收到响应）后再次提交同样的内容时沿用同一个键，
+// 后端返回首次请求的结果，不会重复借阅/归还
+function newIdempotencyKey() {
+  if (window.crypto && typeof window.crypto.randomUUID === "function") {
+    return window.crypto.randomUUID();
+  }
+  // 不支持randomUUID的浏览器（如非HTTPS页面）使用时间戳+随机数
+  return Date.now().toString(36) + "-" + Math.random().toString(36).slice(2) + Math.random().toString(36).slice(2);
+}
+
+// 按提交内容保存待确认的幂等键：收到响应（成功或业务失败）后调用done清除，未收到响应时保留供重试使用
+function createIdempotentSubmit() {
+  let pending = null; // { payload: 请求体JSON, key: 幂等键 }
+  return {
+    key(data) {
+      const payload = JSON.stringify(data);
+      if (!pending || pending.payload !== payload) {
+        pending = { payload, key: newIdempotencyKey() };
+      }
+      return { "Idempotency-Key": pending.key };
+    },
+    // error为空表示成功；有响应的错误同样说明请求已被处理，下次提交使用新键
+    done(error) {
+      if (!error || error.response || !error.request) {
+        pending = null;
+      }
+    },
+  };
+}
\ No newline at end of file
@@ -0,0 +1,183 @@
+-- 业务库增量表结构（MySQL 8）
+-- 应用启动时由spring.sql.init执行（见application.properties），生产环境不使用Hibernate自动建表；
+-- 每一步都可以重复执行：建表使用IF NOT EXISTS，加列/加索引先查information_schema，已存在时执行空语句
+-- 新的表结构变更按顺序追加到末尾，不修改已有的步骤
+
+-- 1. borrow_info：按教师查询借阅记录、统计借阅数量时使用的组合索引
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.STATISTICS
+               WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'borrow_info'
+                 AND INDEX_NAME = 'idx_borrow_borrower_status_end') = 0,
+              'CREATE INDEX idx_borrow_borrower_status_end ON borrow_info (borrower_id, STATUS, end_date)',
+              'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 2. borrow_info：逾期扫描任务和逾期列表查询使用的组合索引
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.STATISTICS
+               WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'borrow_info'
+                 AND INDEX_NAME = 'idx_borrow_status_end') = 0,
+              'CREATE INDEX idx_borrow_status_end ON borrow_info (STATUS, end_date)',
+              'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 3. borrow_info：按期刊查询借阅历史（按借阅日期排序分页）使用的组合索引
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.STATISTICS
+               WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'borrow_info'
+                 AND INDEX_NAME = 'idx_borrow_journal_start') = 0,
+              'CREATE INDEX idx_borrow_journal_start ON borrow_info (journal_id, start_date)',
+              'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 4. 借阅事件（只追加），与借阅记录的修改在同一事务中写入，按event_id顺序投影到借阅统计表
+CREATE TABLE IF NOT EXISTS borrow_event (
+    event_id    BIGINT      NOT NULL AUTO_INCREMENT,
+    borrow_id   INT         NOT NULL,
+    teacher_id  INT         NOT NULL,
+    journal_id  INT         NOT NULL,
+    event_type  VARCHAR(20) NOT NULL,
+    from_status VARCHAR(20) NULL,
+    to_status   VARCHAR(20) NULL,
+    start_date  DATE        NULL,
+    end_date    DATE        NULL,
+    return_date DATE        NULL,
+    occurred_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (event_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- 5. 借阅统计读模型：按教师、期刊、部门各一张表，由借阅事件投影维护
+CREATE TABLE IF NOT EXISTS teacher_borrow_stat (
+    teacher_id      INT         NOT NULL,
+    total_borrows   BIGINT      NOT NULL,
+    current_borrows BIGINT      NOT NULL,
+    returned_count  BIGINT      NOT NULL,
+    total_loan_days BIGINT      NOT NULL,
+    updated_at      DATETIME(6) NULL,
+    PRIMARY KEY (teacher_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS journal_borrow_stat (
+    journal_id      INT         NOT NULL,
+    total_borrows   BIGINT      NOT NULL,
+    current_borrows BIGINT      NOT NULL,
+    returned_count  BIGINT      NOT NULL,
+    total_loan_days BIGINT      NOT NULL,
+    updated_at      DATETIME(6) NULL,
+    PRIMARY KEY (journal_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS department_borrow_stat (
+    department      VARCHAR(50) NOT NULL,
+    total_borrows   BIGINT      NOT NULL,
+    current_borrows BIGINT      NOT NULL,
+    returned_count  BIGINT      NOT NULL,
+    total_loan_days BIGINT      NOT NULL,
+    updated_at      DATETIME(6) NULL,
+    PRIMARY KEY (department)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- 6. 事件投影检查点：每个投影已处理到的事件ID
+CREATE TABLE IF NOT EXISTS projection_checkpoint (
+    name          VARCHAR(50) NOT NULL,
+    last_event_id BIGINT      NOT NULL,
+    PRIMARY KEY (name)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- 7. journal_info、teacher_info：乐观锁版本号，实体保存和库存/借阅额度的条件UPDATE都会自增
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.COLUMNS
+               WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'journal_info'
+                 AND COLUMN_NAME = 'version') = 0,
+              'ALTER TABLE journal_info ADD COLUMN version INT NOT NULL DEFAULT 0',
+              'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.COLUMNS
+               WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'teacher_info'
+                 AND COLUMN_NAME = 'version') = 0,
+              'ALTER TABLE teacher_info ADD COLUMN version INT NOT NULL DEFAULT 0',
+              'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 8. 期刊预约：按hold_id先后顺序排队分配归还的副本
+CREATE TABLE IF NOT EXISTS journal_hold (
+    hold_id    BIGINT      NOT NULL AUTO_INCREMENT,
+    journal_id INT         NOT NULL,
+    teacher_id INT         NOT NULL,
+    STATUS     VARCHAR(20) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    ready_at   DATETIME(6) NULL,
+    expire_at  DATETIME(6) NULL,
+    PRIMARY KEY (hold_id),
+    -- 按期刊取排队队列（FIFO）
+    INDEX idx_hold_journal_status (journal_id, STATUS, hold_id),
+    -- 按教师查询预约
+    INDEX idx_hold_teacher_status (teacher_id, STATUS),
+    -- 过期扫描
+    INDEX idx_hold_status_expire (STATUS, expire_at)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- 9. 借阅记录归档：归还超过保留天数的borrow_info记录移入borrow_history（冷数据），列与borrow_info一致；
+--    早期的借阅记录按(教师, 期刊)复用借阅ID，归档后borrow_id不保证唯一，主键为自增的history_id
+CREATE TABLE IF NOT EXISTS borrow_history (
+    history_id  BIGINT      NOT NULL AUTO_INCREMENT,
+    borrow_id   INT         NOT NULL,
+    journal_id  INT         NOT NULL,
+    borrower_id INT         NOT NULL,
+    start_date  DATE        NOT NULL,
+    end_date    DATE        NOT NULL,
+    return_date DATE        NULL,
+    STATUS      VARCHAR(20) NULL,
+    archived_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (history_id),
+    -- 按教师查询完整借阅历史
+    INDEX idx_history_borrower_start (borrower_id, start_date),
+    -- 按期刊查询完整借阅历史
+    INDEX idx_history_journal_start (journal_id, start_date)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- 10. borrow_info：归档任务按归还日期选取已归还记录使用的组合索引
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.STATISTICS
+               WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'borrow_info'
+                 AND INDEX_NAME = 'idx_borrow_status_return') = 0,
+              'CREATE INDEX idx_borrow_status_return ON borrow_info (STATUS, return_date)',
+              'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 11. 主键号段：每张表下一个未分配的ID；各表的行在首次取号段时按表中最大ID + 1插入（INSERT IGNORE），不需要预置数据
+CREATE TABLE IF NOT EXISTS id_block (
+    name    VARCHAR(50) NOT NULL,
+    next_id BIGINT      NOT NULL,
+    PRIMARY KEY (name)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- 12. borrow_info：期刊可借预测按期刊取未归还记录的应还日期使用的组合索引
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.STATISTICS
+               WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'borrow_info'
+                 AND INDEX_NAME = 'idx_borrow_journal_status_end') = 0,
+              'CREATE INDEX idx_borrow_journal_status_end ON borrow_info (journal_id, STATUS, end_date)',
+              'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 13. 期刊变更日志：期刊字段或库存被修改时与修改在同一事务中写入，其他实例定时读取以失效本地缓存、更新检索索引和输入提示；
+--     超过保留时间的行由同步任务定时删除
+CREATE TABLE IF NOT EXISTS journal_change_log (
+    change_id  BIGINT      NOT NULL AUTO_INCREMENT,
+    journal_id INT         NOT NULL,
+    node_id    VARCHAR(36) NOT NULL,
+    changed_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (change_id),
+    -- 按写入时间读取最近的变更、清理过期的变更
+    INDEX idx_journal_change_time (changed_at)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
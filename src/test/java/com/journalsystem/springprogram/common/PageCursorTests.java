@@ -0,0 +1,79 @@
+package com.journalsystem.springprogram.common;
+
+import com.journalsystem.springprogram.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 游标分页的游标测试：编码后原样解析、空游标表示第一页、被篡改的游标返回400
+ */
+class PageCursorTests {
+
+    @Test
+    void dateCursorRoundTrips() {
+        LocalDate endDate = LocalDate.of(2026, 11, 2);
+        PageCursor cursor = PageCursor.decode(PageCursor.encode(endDate, 10000123));
+
+        assertEquals(10000123, cursor.getId());
+        assertEquals(endDate, cursor.getSortValueAsDate());
+    }
+
+    @Test
+    void idOnlyCursorHasEmptySortValue() {
+        PageCursor cursor = PageCursor.decode(PageCursor.encode(null, 42));
+
+        assertEquals(42, cursor.getId());
+        assertEquals("", cursor.getSortValue());
+    }
+
+    @Test
+    void sortValueMayContainSeparator() {
+        // 按最后一个分隔符切分，排序键中的分隔符不影响解析
+        PageCursor cursor = PageCursor.decode(PageCursor.encode("a|b", 7));
+
+        assertEquals("a|b", cursor.getSortValue());
+        assertEquals(7, cursor.getId());
+    }
+
+    @Test
+    void negativeIdRoundTrips() {
+        assertEquals(-9400, PageCursor.decode(PageCursor.encode("x", -9400)).getId());
+    }
+
+    @Test
+    void emptyTokenMeansFirstPage() {
+        assertNull(PageCursor.decode(null));
+        assertNull(PageCursor.decode(""));
+    }
+
+    @Test
+    void malformedTokenIsRejected() {
+        assertInvalid("!!!不是Base64");
+        assertInvalid(encodeRaw("no-separator"));
+        assertInvalid(encodeRaw("2026-11-02|abc"));
+    }
+
+    @Test
+    void invalidDateSortValueIsRejected() {
+        PageCursor cursor = PageCursor.decode(PageCursor.encode("not-a-date", 1));
+
+        BusinessException e = assertThrows(BusinessException.class, cursor::getSortValueAsDate);
+        assertEquals(400, e.getCode());
+    }
+
+    private static void assertInvalid(String token) {
+        BusinessException e = assertThrows(BusinessException.class, () -> PageCursor.decode(token));
+        assertEquals(400, e.getCode());
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
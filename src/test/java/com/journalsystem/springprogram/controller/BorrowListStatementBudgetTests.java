@@ -0,0 +1,128 @@
+package com.journalsystem.springprogram.controller;
+
+import com.journalsystem.springprogram.common.Constants;
+import com.journalsystem.springprogram.util.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 借阅列表接口的SQL条数预算测试：每个接口执行的SQL条数与返回的记录数无关，
+ * 逐条加载借阅人/期刊（N+1）时条数随记录数增长，超过预算即测试失败
+ * 测试数据为TEACHERS个教师各借阅两本期刊（一本逾期、一本未到期），使用负数ID，测试结束后删除
+ */
+@SpringBootTest(properties = {
+        // 测试期间不投影借阅事件，测试数据不会进入借阅统计
+        "journal.borrow-stat.projection-delay-ms=3600000"
+})
+@AutoConfigureMockMvc
+class BorrowListStatementBudgetTests {
+
+    private static final int OVERDUE_JOURNAL_ID = -9011;
+    private static final int BORROWED_JOURNAL_ID = -9012;
+    private static final int FIRST_TEACHER_ID = -9300;
+    private static final int FIRST_BORROW_ID = -9400;
+    private static final int TEACHERS = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockHttpSession adminSession;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        adminSession = new MockHttpSession();
+        adminSession.setAttribute("loginAdmin", "statement-budget-test");
+
+        for (int journalId : new int[]{OVERDUE_JOURNAL_ID, BORROWED_JOURNAL_ID}) {
+            jdbcTemplate.update("INSERT INTO journal_info (id, NAME, total_quantity, available_quantity, STATUS, version) " +
+                    "VALUES (?, ?, ?, 0, ?, 0)", journalId, "SQL预算测试期刊" + journalId, TEACHERS, Constants.JOURNAL_STATUS_AVAILABLE);
+        }
+        LocalDate today = LocalDate.now();
+        int borrowId = FIRST_BORROW_ID;
+        for (int i = 0; i < TEACHERS; i++) {
+            int teacherId = FIRST_TEACHER_ID + i;
+            jdbcTemplate.update("INSERT INTO teacher_info (teacher_id, name, department, max_borrow, current_borrow, STATUS, version) " +
+                    "VALUES (?, ?, ?, 5, 2, ?, 0)", teacherId, "SQL预算测试教师" + i, "测试部门" + i, Constants.STATUS_ACTIVE);
+            insertBorrow(borrowId--, OVERDUE_JOURNAL_ID, teacherId, today.minusDays(40), today.minusDays(10),
+                    Constants.BORROW_STATUS_OVERDUE);
+            insertBorrow(borrowId--, BORROWED_JOURNAL_ID, teacherId, today.minusDays(5), today.plusDays(25),
+                    Constants.BORROW_STATUS_BORROWED);
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM borrow_info WHERE journal_id IN (?, ?)", OVERDUE_JOURNAL_ID, BORROWED_JOURNAL_ID);
+        jdbcTemplate.update("DELETE FROM teacher_info WHERE teacher_id BETWEEN ? AND ?",
+                FIRST_TEACHER_ID, FIRST_TEACHER_ID + TEACHERS - 1);
+        jdbcTemplate.update("DELETE FROM journal_info WHERE id IN (?, ?)", OVERDUE_JOURNAL_ID, BORROWED_JOURNAL_ID);
+    }
+
+    @Test
+    void adminStatusListRunsConstantStatements() throws Exception {
+        // 记录 + 总数
+        mockMvc.perform(get("/api/borrow/admin/list").session(adminSession)
+                        .param("status", "borrowed,overdue").param("limit", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(200));
+        SqlStatementCounter.assertAtMost(3);
+    }
+
+    @Test
+    void overdueListRunsConstantStatements() throws Exception {
+        // 全部逾期记录一条查询
+        mockMvc.perform(get("/api/admin/borrow/overdue").session(adminSession))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(200));
+        SqlStatementCounter.assertAtMost(2);
+
+        // 分页：一页记录 + 总数
+        mockMvc.perform(get("/api/borrow/admin/overdue/list").session(adminSession)
+                        .param("pageNum", "1").param("pageSize", String.valueOf(TEACHERS * 2)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(200));
+        SqlStatementCounter.assertAtMost(3);
+    }
+
+    @Test
+    void journalBorrowHistoryRunsConstantStatements() throws Exception {
+        // 一本期刊的全部借阅记录（借阅人各不相同）
+        mockMvc.perform(get("/api/borrow/admin/journal/" + OVERDUE_JOURNAL_ID).session(adminSession))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(200));
+        SqlStatementCounter.assertAtMost(2);
+    }
+
+    @Test
+    void teacherBorrowListRunsConstantStatements() throws Exception {
+        // 教师查询 + 一页记录 + 总数
+        mockMvc.perform(get("/api/borrow/teacher/list").session(adminSession)
+                        .param("teacherId", String.valueOf(FIRST_TEACHER_ID)).param("pageSize", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(200));
+        SqlStatementCounter.assertAtMost(4);
+    }
+
+    private void insertBorrow(int borrowId, int journalId, int teacherId, LocalDate startDate, LocalDate endDate, String status) {
+        jdbcTemplate.update("INSERT INTO borrow_info (borrow_id, journal_id, borrower_id, start_date, end_date, STATUS) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", borrowId, journalId, teacherId, Date.valueOf(startDate), Date.valueOf(endDate), status);
+    }
+}
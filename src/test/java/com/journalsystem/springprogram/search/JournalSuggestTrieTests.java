@@ -0,0 +1,137 @@
+package com.journalsystem.springprogram.search;
+
+import com.journalsystem.springprogram.dto.JournalSuggestionDTO;
+import com.journalsystem.springprogram.pojo.JournalInfo;
+import com.journalsystem.springprogram.repository.JournalSuggestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 期刊输入提示字典树测试：名称/单词/拼音首字母/ISSN前缀、按热度排序，
+ * 增量更新（路径复制）后拆分、合并的节点仍能正确查询
+ */
+class JournalSuggestTrieTests {
+
+    private JournalSuggestRepository suggestRepository;
+    private JournalSuggestTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        suggestRepository = mock(JournalSuggestRepository.class);
+        when(suggestRepository.findAll()).thenReturn(List.of(
+                new JournalSuggestionDTO(1, "计算机学报", "0254-4164", 50L),
+                new JournalSuggestionDTO(2, "计算机研究与发展", "1000-1239", 80L),
+                new JournalSuggestionDTO(3, "Journal of Physics", "0022-3727", 10L),
+                new JournalSuggestionDTO(4, "Journal of Chemistry", "0021-9614", 30L)));
+        trie = new JournalSuggestTrie(suggestRepository, true, 10);
+        trie.rebuild();
+    }
+
+    @Test
+    void namePrefixIsRankedByPopularity() {
+        assertEquals(List.of(2, 1), ids(trie.suggest("计算机", 10)));
+        assertEquals(List.of(4, 3), ids(trie.suggest("journal", 10)));
+    }
+
+    @Test
+    void prefixEndingInsideEdgeMatches() {
+        // "计算机学报"与"计算机研究与发展"在"计算机"处分叉，"计算机学"停在边的中间
+        assertEquals(List.of(1), ids(trie.suggest("计算机学", 10)));
+        assertEquals(List.of(4, 3), ids(trie.suggest("JOUR", 10)));
+    }
+
+    @Test
+    void wordStartSuffixMatches() {
+        assertEquals(List.of(3), ids(trie.suggest("phys", 10)));
+        assertEquals(List.of(4, 3), ids(trie.suggest("of ", 10)));
+    }
+
+    @Test
+    void pinyinInitialsMatch() {
+        assertEquals(List.of(1), ids(trie.suggest("jsjx", 10)));
+        assertEquals(List.of(2, 1), ids(trie.suggest("jsj", 10)));
+    }
+
+    @Test
+    void issnMatchesWithAndWithoutHyphen() {
+        assertEquals(List.of(1), ids(trie.suggest("0254-41", 10)));
+        assertEquals(List.of(1), ids(trie.suggest("025441", 10)));
+    }
+
+    @Test
+    void limitAndUnknownPrefix() {
+        assertEquals(List.of(2), ids(trie.suggest("计算机", 1)));
+        assertTrue(trie.suggest("不存在", 10).isEmpty());
+        assertTrue(trie.suggest("  ", 10).isEmpty());
+        assertTrue(trie.suggest("计算机", 0).isEmpty());
+    }
+
+    @Test
+    void removeMergesPathAndKeepsSiblings() {
+        // 删除后"计算机"下只剩一个分支，该节点与子节点合并，查询仍能走到剩下的期刊
+        trie.remove(List.of(2));
+
+        assertEquals(List.of(1), ids(trie.suggest("计算机", 10)));
+        assertEquals(List.of(1), ids(trie.suggest("计算机学报", 10)));
+        assertTrue(trie.suggest("计算机研", 10).isEmpty());
+        assertEquals(List.of(1), ids(trie.suggest("jsj", 10)));
+        assertTrue(trie.suggest("1000-1239", 10).isEmpty());
+    }
+
+    @Test
+    void putAfterRemoveSplitsMergedEdgeAgain() {
+        trie.remove(List.of(2));
+        trie.put(journal(2, "计算机研究与发展", "1000-1239"));
+
+        // 借阅热度沿用不到（已删除），按0计，排在计算机学报之后
+        assertEquals(List.of(1, 2), ids(trie.suggest("计算机", 10)));
+        assertEquals(List.of(2), ids(trie.suggest("计算机研", 10)));
+    }
+
+    @Test
+    void renameReplacesOldKeysAndKeepsPopularity() {
+        trie.put(journal(3, "Physics Letters", "0022-3727"));
+
+        assertEquals(List.of(4), ids(trie.suggest("journal", 10)));
+        assertEquals(List.of(3), ids(trie.suggest("letters", 10)));
+        // 热度沿用原值10
+        assertEquals(10L, trie.suggest("phys", 10).get(0).getPopularity());
+    }
+
+    @Test
+    void publishedResultIsNotAffectedByLaterUpdates() {
+        List<JournalSuggestionDTO> before = trie.suggest("计算机", 10);
+        trie.remove(List.of(1, 2));
+
+        assertEquals(List.of(2, 1), ids(before));
+        assertTrue(trie.suggest("计算机", 10).isEmpty());
+    }
+
+    @Test
+    void disabledTrieReturnsNothing() {
+        JournalSuggestTrie disabled = new JournalSuggestTrie(suggestRepository, false, 10);
+        disabled.rebuild();
+        disabled.put(journal(5, "计算机应用", null));
+
+        assertTrue(disabled.suggest("计算机", 10).isEmpty());
+    }
+
+    private static JournalInfo journal(int id, String name, String issn) {
+        JournalInfo journal = new JournalInfo();
+        journal.setId(id);
+        journal.setName(name);
+        journal.setIssn(issn);
+        return journal;
+    }
+
+    private static List<Integer> ids(List<JournalSuggestionDTO> items) {
+        return items.stream().map(JournalSuggestionDTO::getId).toList();
+    }
+}
@@ -0,0 +1,63 @@
+package com.journalsystem.springprogram.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 期刊检索分词器测试：拉丁字母/数字按连续段切分，中文按二元切分，建索引时保留单字
+ */
+class JournalTokenizerTests {
+
+    @Test
+    void latinWordsAreLowercasedAndSplitOnPunctuation() {
+        assertEquals(List.of("ieee", "trans", "2026"), JournalTokenizer.tokenizeQuery("IEEE Trans.-2026"));
+    }
+
+    @Test
+    void queryChineseRunIsSplitIntoBigrams() {
+        assertEquals(List.of("计算", "算机", "机学", "学报"), JournalTokenizer.tokenizeQuery("计算机学报"));
+    }
+
+    @Test
+    void indexChineseRunKeepsSingleCharacters() {
+        assertEquals(List.of("中", "中国", "国", "国科", "科"), JournalTokenizer.tokenizeForIndex("中国科"));
+    }
+
+    @Test
+    void singleChineseCharacterIsOneToken() {
+        assertEquals(List.of("刊"), JournalTokenizer.tokenizeQuery("刊"));
+        assertEquals(List.of("刊"), JournalTokenizer.tokenizeForIndex("刊"));
+    }
+
+    @Test
+    void mixedScriptsSplitAtBoundaries() {
+        // 中文与字母数字相邻时各自成段
+        assertEquals(List.of("ai", "研究", "2025"), JournalTokenizer.tokenizeQuery("AI研究2025"));
+    }
+
+    @Test
+    void indexTokensKeepDuplicatesForTermFrequency() {
+        assertEquals(List.of("data", "data"), JournalTokenizer.tokenizeForIndex("Data, data"));
+    }
+
+    @Test
+    void nullAndBlankTextYieldNoTokens() {
+        assertTrue(JournalTokenizer.tokenizeQuery(null).isEmpty());
+        assertTrue(JournalTokenizer.tokenizeForIndex("").isEmpty());
+        assertTrue(JournalTokenizer.tokenizeQuery(" ,.;").isEmpty());
+    }
+
+    @Test
+    void cjkScriptsAreDetected() {
+        assertTrue(JournalTokenizer.isCjk("期".codePointAt(0)));
+        assertTrue(JournalTokenizer.isCjk("カ".codePointAt(0)));
+        assertTrue(JournalTokenizer.isCjk("한".codePointAt(0)));
+        assertFalse(JournalTokenizer.isCjk('a'));
+        assertFalse(JournalTokenizer.isCjk('7'));
+    }
+}
@@ -0,0 +1,50 @@
+package com.journalsystem.springprogram.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 拼音首字母测试：一级汉字按GB2312区间取首字母，拉丁字母数字保留，二级汉字和符号跳过
+ */
+class PinyinInitialsTests {
+
+    @Test
+    void commonCharactersMapToInitials() {
+        assertEquals("jsjxb", PinyinInitials.of("计算机学报"));
+        assertEquals("zgkxyb", PinyinInitials.of("中国科学院报"));
+    }
+
+    @Test
+    void letterBoundariesAreInclusive() {
+        // 各字母区间的第一个字：啊(a) 芭(b) 擦(c) 搭(d) 蛾(e)
+        assertEquals("abcde", PinyinInitials.of("啊芭擦搭蛾"));
+        // 最后一个区间：匝(z)，以及一级汉字最后一个字座(z)
+        assertEquals("zz", PinyinInitials.of("匝座"));
+    }
+
+    @Test
+    void latinAndDigitsAreKeptLowercase() {
+        assertEquals("ieeetx2026", PinyinInitials.of("IEEE 通信 2026"));
+    }
+
+    @Test
+    void punctuationIsSkipped() {
+        assertEquals("jsjyy", PinyinInitials.of("《计算机·应用》"));
+    }
+
+    @Test
+    void textWithoutHanHasNoInitials() {
+        assertNull(PinyinInitials.of("Journal of Physics"));
+        assertNull(PinyinInitials.of(""));
+        assertNull(PinyinInitials.of(null));
+    }
+
+    @Test
+    void secondLevelCharactersAreSkipped() {
+        // 乂为GB2312二级汉字（按部首排序），无法按区间取首字母
+        assertEquals("x", PinyinInitials.of("乂学"));
+        assertNull(PinyinInitials.of("乂"));
+    }
+}
@@ -0,0 +1,108 @@
+package com.journalsystem.springprogram.service;
+
+import com.journalsystem.springprogram.common.Constants;
+import com.journalsystem.springprogram.exception.BusinessException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 并发借阅压力测试：多个教师同时借阅同一本只有COPIES册的期刊，
+ * 只能有COPIES次成功，可借数量最终为0且不会变成负数
+ * 测试数据使用负数ID，不与业务数据冲突，也不影响号段初始化时取的最大ID
+ */
+@SpringBootTest(properties = {
+        // 测试期间不投影借阅事件，测试数据不会进入借阅统计
+        "journal.borrow-stat.projection-delay-ms=3600000"
+})
+class BorrowJournalConcurrencyTests {
+
+    private static final int JOURNAL_ID = -9001;
+    private static final int FIRST_TEACHER_ID = -9200;
+    private static final int COPIES = 5;
+    private static final int BORROWERS = 40;
+
+    @Autowired
+    private BorrowService borrowService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        jdbcTemplate.update("INSERT INTO journal_info (id, NAME, total_quantity, available_quantity, STATUS, version) " +
+                "VALUES (?, ?, ?, ?, ?, 0)", JOURNAL_ID, "并发借阅测试期刊", COPIES, COPIES, Constants.JOURNAL_STATUS_AVAILABLE);
+        for (int i = 0; i < BORROWERS; i++) {
+            jdbcTemplate.update("INSERT INTO teacher_info (teacher_id, name, max_borrow, current_borrow, STATUS, version) " +
+                    "VALUES (?, ?, 5, 0, ?, 0)", FIRST_TEACHER_ID + i, "并发借阅测试教师" + i, Constants.STATUS_ACTIVE);
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM borrow_event WHERE journal_id = ?", JOURNAL_ID);
+        jdbcTemplate.update("DELETE FROM journal_hold WHERE journal_id = ?", JOURNAL_ID);
+        jdbcTemplate.update("DELETE FROM journal_change_log WHERE journal_id = ?", JOURNAL_ID);
+        jdbcTemplate.update("DELETE FROM borrow_info WHERE journal_id = ?", JOURNAL_ID);
+        jdbcTemplate.update("DELETE FROM teacher_info WHERE teacher_id BETWEEN ? AND ?",
+                FIRST_TEACHER_ID, FIRST_TEACHER_ID + BORROWERS - 1);
+        jdbcTemplate.update("DELETE FROM journal_info WHERE id = ?", JOURNAL_ID);
+    }
+
+    @Test
+    void concurrentBorrowsNeverOversell() throws Exception {
+        // 1. 所有线程就绪后同时开始借阅
+        ExecutorService pool = Executors.newFixedThreadPool(BORROWERS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger successes = new AtomicInteger();
+        AtomicInteger rejections = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < BORROWERS; i++) {
+            int teacherId = FIRST_TEACHER_ID + i;
+            futures.add(pool.submit(() -> {
+                start.await();
+                try {
+                    borrowService.borrowJournal(teacherId, JOURNAL_ID, LocalDate.now().plusDays(30));
+                    successes.incrementAndGet();
+                } catch (BusinessException e) {
+                    // 库存不足时的正常拒绝；其他异常（死锁、超时等）由future.get()抛出，测试失败
+                    rejections.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        // 2. 成功次数等于册数，库存、借阅记录和教师借阅额度一致
+        assertEquals(COPIES, successes.get());
+        assertEquals(BORROWERS - COPIES, rejections.get());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT available_quantity FROM journal_info WHERE id = ?", Integer.class, JOURNAL_ID));
+        assertEquals(COPIES, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM borrow_info WHERE journal_id = ? AND STATUS = ?",
+                Integer.class, JOURNAL_ID, Constants.BORROW_STATUS_BORROWED));
+        assertEquals(COPIES, jdbcTemplate.queryForObject(
+                "SELECT SUM(current_borrow) FROM teacher_info WHERE teacher_id BETWEEN ? AND ?",
+                Integer.class, FIRST_TEACHER_ID, FIRST_TEACHER_ID + BORROWERS - 1));
+    }
+}
@@ -0,0 +1,168 @@
+package com.journalsystem.springprogram.service;
+
+import com.journalsystem.springprogram.common.Constants;
+import com.journalsystem.springprogram.dto.BorrowItemResultDTO;
+import com.journalsystem.springprogram.exception.BusinessException;
+import com.journalsystem.springprogram.pojo.BorrowInfo;
+import com.journalsystem.springprogram.pojo.JournalInfo;
+import com.journalsystem.springprogram.pojo.TeacherInfo;
+import com.journalsystem.springprogram.repository.BorrowEventBatchRepository;
+import com.journalsystem.springprogram.repository.BorrowHistoryRepository;
+import com.journalsystem.springprogram.repository.BorrowInfoBatchRepository;
+import com.journalsystem.springprogram.repository.BorrowInfoRepository;
+import com.journalsystem.springprogram.repository.JournalBorrowHistoryRepository;
+import com.journalsystem.springprogram.repository.JournalRepository;
+import com.journalsystem.springprogram.repository.TeacherRepository;
+import com.journalsystem.springprogram.util.IdBlockAllocator;
+import com.journalsystem.springprogram.util.JournalCatalogCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 一键续借测试：逐条校验（逾期、有人预约、已达最长借阅期限）后一条UPDATE续借其余记录，
+ * 新的应还日期不超过借阅日期+最长借阅天数，更新行数不足时抛出乐观锁异常由调用方重试
+ */
+class BorrowRenewalTests {
+
+    private static final int TEACHER_ID = 1;
+    private static final int RENEW_DAYS = 30;
+    private static final int MAX_LOAN_DAYS = 90;
+
+    private BorrowInfoRepository borrowInfoRepository;
+    private BorrowEventBatchRepository borrowEventBatchRepository;
+    private HoldService holdService;
+    private BorrowServiceImpl service;
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void setUp() {
+        borrowInfoRepository = mock(BorrowInfoRepository.class);
+        borrowEventBatchRepository = mock(BorrowEventBatchRepository.class);
+        holdService = mock(HoldService.class);
+        TeacherRepository teacherRepository = mock(TeacherRepository.class);
+        when(teacherRepository.existsById(TEACHER_ID)).thenReturn(true);
+        when(holdService.getJournalIdsWithWaitingHolds(anyCollection())).thenReturn(Set.of());
+        service = new BorrowServiceImpl(borrowInfoRepository, mock(BorrowInfoBatchRepository.class), teacherRepository,
+                mock(JournalRepository.class), mock(JournalBorrowHistoryRepository.class), mock(BorrowHistoryRepository.class),
+                borrowEventBatchRepository, holdService, mock(IdBlockAllocator.class), mock(JournalCatalogCache.class),
+                30, RENEW_DAYS, MAX_LOAN_DAYS);
+    }
+
+    @Test
+    void eligibleLoansAreExtendedInOneUpdate() {
+        givenBorrows(borrow(10, 100, today.minusDays(10), today.plusDays(20), Constants.BORROW_STATUS_BORROWED));
+        when(borrowInfoRepository.renewAll(eq(TEACHER_ID), eq(List.of(10)), eq(RENEW_DAYS), eq(MAX_LOAN_DAYS))).thenReturn(1);
+
+        List<BorrowItemResultDTO> results = service.renewAllByTeacherId(TEACHER_ID, null);
+
+        assertEquals(1, results.size());
+        assertTrue(results.get(0).getSuccess());
+        assertEquals(today.plusDays(50), results.get(0).getEndDate());
+        verify(borrowEventBatchRepository).batchInsert(anyList());
+    }
+
+    @Test
+    void newEndDateIsCappedAtMaxLoanDays() {
+        LocalDate start = today.minusDays(70);
+        givenBorrows(borrow(10, 100, start, today.plusDays(5), Constants.BORROW_STATUS_BORROWED));
+        when(borrowInfoRepository.renewAll(anyInt(), anyList(), anyInt(), anyInt())).thenReturn(1);
+
+        List<BorrowItemResultDTO> results = service.renewAllByTeacherId(TEACHER_ID, 60);
+
+        // 请求60天超过策略天数，按30天计；顺延后超过借阅日期+90天，取上限
+        assertEquals(start.plusDays(MAX_LOAN_DAYS), results.get(0).getEndDate());
+        verify(borrowInfoRepository).renewAll(TEACHER_ID, List.of(10), RENEW_DAYS, MAX_LOAN_DAYS);
+    }
+
+    @Test
+    void ineligibleLoansAreReportedAndSkipped() {
+        givenBorrows(
+                borrow(10, 100, today.minusDays(40), today.minusDays(1), Constants.BORROW_STATUS_OVERDUE),
+                borrow(11, 101, today.minusDays(10), today.plusDays(20), Constants.BORROW_STATUS_BORROWED),
+                borrow(12, 102, today.minusDays(80), today.minusDays(80).plusDays(MAX_LOAN_DAYS), Constants.BORROW_STATUS_BORROWED),
+                borrow(13, 103, today.minusDays(10), today.plusDays(20), Constants.BORROW_STATUS_BORROWED));
+        when(holdService.getJournalIdsWithWaitingHolds(anyCollection())).thenReturn(Set.of(101));
+        when(borrowInfoRepository.renewAll(anyInt(), anyList(), anyInt(), anyInt())).thenReturn(1);
+
+        List<BorrowItemResultDTO> results = service.renewAllByTeacherId(TEACHER_ID, 7);
+
+        assertEquals("已逾期，请先归还", results.get(0).getReason());
+        assertEquals("该期刊有人预约，无法续借", results.get(1).getReason());
+        assertEquals("已达到最长借阅期限", results.get(2).getReason());
+        assertTrue(results.get(3).getSuccess());
+        assertEquals(today.plusDays(27), results.get(3).getEndDate());
+        verify(borrowInfoRepository).renewAll(TEACHER_ID, List.of(13), 7, MAX_LOAN_DAYS);
+    }
+
+    @Test
+    void nothingEligibleSkipsUpdate() {
+        givenBorrows(borrow(10, 100, today.minusDays(40), today.minusDays(1), Constants.BORROW_STATUS_OVERDUE));
+
+        List<BorrowItemResultDTO> results = service.renewAllByTeacherId(TEACHER_ID, null);
+
+        assertFalse(results.get(0).getSuccess());
+        verify(borrowInfoRepository, never()).renewAll(anyInt(), anyList(), anyInt(), anyInt());
+        verify(borrowEventBatchRepository, never()).batchInsert(any());
+    }
+
+    @Test
+    void shortUpdateCountTriggersRetry() {
+        givenBorrows(
+                borrow(10, 100, today.minusDays(10), today.plusDays(20), Constants.BORROW_STATUS_BORROWED),
+                borrow(11, 101, today.minusDays(10), today.plusDays(20), Constants.BORROW_STATUS_BORROWED));
+        // 期间有一条记录被归还
+        when(borrowInfoRepository.renewAll(anyInt(), anyList(), anyInt(), anyInt())).thenReturn(1);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> service.renewAllByTeacherId(TEACHER_ID, null));
+        verify(borrowEventBatchRepository, never()).batchInsert(any());
+    }
+
+    @Test
+    void invalidRequestsAreRejected() {
+        assertEquals(400, assertThrows(BusinessException.class,
+                () -> service.renewAllByTeacherId(2, null)).getCode());
+        assertEquals(400, assertThrows(BusinessException.class,
+                () -> service.renewAllByTeacherId(TEACHER_ID, 0)).getCode());
+        givenBorrows();
+        assertEquals(400, assertThrows(BusinessException.class,
+                () -> service.renewAllByTeacherId(TEACHER_ID, null)).getCode());
+    }
+
+    private void givenBorrows(BorrowInfo... borrows) {
+        when(borrowInfoRepository.findByBorrowerIdAndStatusIn(eq(TEACHER_ID), anyList())).thenReturn(List.of(borrows));
+    }
+
+    private static BorrowInfo borrow(int borrowId, int journalId, LocalDate startDate, LocalDate endDate, String status) {
+        JournalInfo journal = new JournalInfo();
+        journal.setId(journalId);
+        TeacherInfo teacher = new TeacherInfo();
+        teacher.setId(TEACHER_ID);
+        BorrowInfo borrowInfo = new BorrowInfo();
+        borrowInfo.setId(borrowId);
+        borrowInfo.setJournal(journal);
+        borrowInfo.setBorrower(teacher);
+        borrowInfo.setStartDate(startDate);
+        borrowInfo.setEndDate(endDate);
+        borrowInfo.setStatus(status);
+        return borrowInfo;
+    }
+}
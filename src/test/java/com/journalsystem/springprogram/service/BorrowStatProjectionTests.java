@@ -0,0 +1,103 @@
+package com.journalsystem.springprogram.service;
+
+import com.journalsystem.springprogram.pojo.BorrowEvent;
+import com.journalsystem.springprogram.repository.BorrowEventRepository;
+import com.journalsystem.springprogram.repository.BorrowStatProjectionRepository;
+import com.journalsystem.springprogram.repository.DepartmentBorrowStatRepository;
+import com.journalsystem.springprogram.repository.JournalBorrowStatRepository;
+import com.journalsystem.springprogram.repository.TeacherBorrowStatRepository;
+import com.journalsystem.springprogram.repository.TeacherRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 借阅统计投影检查点测试：检查点只越过ID连续的事件，空缺超过等待时间后才跳过
+ */
+class BorrowStatProjectionTests {
+
+    private static final long CHECKPOINT = 9L;
+    private static final long GAP_TIMEOUT_SECONDS = 60L;
+
+    private BorrowEventRepository borrowEventRepository;
+    private BorrowStatProjectionRepository projectionRepository;
+    private BorrowStatServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        borrowEventRepository = mock(BorrowEventRepository.class);
+        projectionRepository = mock(BorrowStatProjectionRepository.class);
+        TeacherRepository teacherRepository = mock(TeacherRepository.class);
+        when(teacherRepository.findAllById(any())).thenReturn(List.of());
+        when(projectionRepository.lockCheckpoint(anyString())).thenReturn(CHECKPOINT);
+        service = new BorrowStatServiceImpl(borrowEventRepository, projectionRepository,
+                mock(TeacherBorrowStatRepository.class), mock(JournalBorrowStatRepository.class),
+                mock(DepartmentBorrowStatRepository.class), teacherRepository, 500, GAP_TIMEOUT_SECONDS);
+    }
+
+    @Test
+    void contiguousEventsAdvanceCheckpoint() {
+        givenEvents(event(10, 0), event(11, 0), event(12, 0));
+
+        assertEquals(3, service.projectPendingEvents());
+        verify(projectionRepository).saveCheckpoint(anyString(), eq(12L));
+    }
+
+    @Test
+    void recentGapStopsBeforeMissingId() {
+        // 事务A取得ID 10尚未提交，事务B的11、12已提交：只处理到空缺之前（这里没有可处理的事件）
+        givenEvents(event(11, 0), event(12, 0));
+
+        assertEquals(0, service.projectPendingEvents());
+        verify(projectionRepository, never()).saveCheckpoint(anyString(), anyLong());
+    }
+
+    @Test
+    void recentGapInsideBatchKeepsPrefix() {
+        givenEvents(event(10, 0), event(11, 0), event(13, 0));
+
+        assertEquals(2, service.projectPendingEvents());
+        verify(projectionRepository).saveCheckpoint(anyString(), eq(11L));
+    }
+
+    @Test
+    void expiredGapIsSkipped() {
+        // 空缺之后的事件已发生超过等待时间，空缺视为已回滚的事务
+        givenEvents(event(11, GAP_TIMEOUT_SECONDS + 5), event(12, 0));
+
+        assertEquals(2, service.projectPendingEvents());
+        verify(projectionRepository).saveCheckpoint(anyString(), eq(12L));
+    }
+
+    private void givenEvents(BorrowEvent... events) {
+        when(borrowEventRepository.findByIdGreaterThanOrderByIdAsc(eq(CHECKPOINT), any(Pageable.class)))
+                .thenReturn(List.of(events));
+    }
+
+    private static BorrowEvent event(long id, long ageSeconds) {
+        BorrowEvent event = new BorrowEvent();
+        event.setId(id);
+        event.setBorrowId((int) id);
+        event.setTeacherId(1);
+        event.setJournalId(1);
+        event.setEventType(BorrowEvent.TYPE_BORROWED);
+        event.setToStatus("borrowed");
+        event.setStartDate(LocalDate.now());
+        event.setOccurredAt(LocalDateTime.now().minusSeconds(ageSeconds));
+        return event;
+    }
+}
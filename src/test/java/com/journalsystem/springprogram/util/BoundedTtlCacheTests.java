@@ -0,0 +1,115 @@
+package com.journalsystem.springprogram.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 有容量上限和过期时间的读穿透缓存测试：命中、LRU淘汰、过期、不缓存null、加载期间失效不写入旧值
+ */
+class BoundedTtlCacheTests {
+
+    @Test
+    void secondReadIsServedFromCache() {
+        BoundedTtlCache<Integer, String> cache = new BoundedTtlCache<>(10, 60_000);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("v1", cache.get(1, k -> "v" + loads.incrementAndGet()));
+        assertEquals("v1", cache.get(1, k -> "v" + loads.incrementAndGet()));
+        assertEquals(1, loads.get());
+        assertEquals(1L, cache.getStats().get("hits"));
+        assertEquals(1L, cache.getStats().get("misses"));
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvicted() {
+        BoundedTtlCache<Integer, String> cache = new BoundedTtlCache<>(2, 60_000);
+        cache.get(1, k -> "a");
+        cache.get(2, k -> "b");
+        // 访问1之后，最久未访问的是2
+        cache.get(1, k -> "unused");
+        cache.get(3, k -> "c");
+
+        assertEquals("a", cache.peek(1));
+        assertNull(cache.peek(2));
+        assertEquals("c", cache.peek(3));
+        assertEquals(1L, cache.getStats().get("evictions"));
+    }
+
+    @Test
+    void expiredEntryIsReloaded() throws InterruptedException {
+        BoundedTtlCache<Integer, String> cache = new BoundedTtlCache<>(10, 20);
+        cache.get(1, k -> "old");
+        Thread.sleep(40);
+
+        assertNull(cache.peek(1));
+        assertEquals("new", cache.get(1, k -> "new"));
+        assertEquals(1L, cache.getStats().get("expirations"));
+    }
+
+    @Test
+    void nullIsNotCached() {
+        BoundedTtlCache<Integer, String> cache = new BoundedTtlCache<>(10, 60_000);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertNull(cache.get(1, k -> {
+            loads.incrementAndGet();
+            return null;
+        }));
+        assertEquals("v", cache.get(1, k -> {
+            loads.incrementAndGet();
+            return "v";
+        }));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidationDuringLoadDiscardsLoadedValue() {
+        BoundedTtlCache<Integer, String> cache = new BoundedTtlCache<>(10, 60_000);
+
+        // 加载期间键被失效（如并发修改提交），加载到的旧值只返回给本次调用，不写入缓存
+        assertEquals("stale", cache.get(1, k -> {
+            cache.invalidate(k);
+            return "stale";
+        }));
+        assertNull(cache.peek(1));
+        assertEquals("fresh", cache.get(1, k -> "fresh"));
+    }
+
+    @Test
+    void failedLoadLeavesNoPlaceholder() {
+        BoundedTtlCache<Integer, String> cache = new BoundedTtlCache<>(10, 60_000);
+
+        assertThrows(IllegalStateException.class, () -> cache.get(1, k -> {
+            throw new IllegalStateException("db down");
+        }));
+        assertEquals(0, cache.getStats().get("size"));
+        assertEquals("v", cache.get(1, k -> "v"));
+    }
+
+    @Test
+    void zeroSizeDisablesCaching() {
+        BoundedTtlCache<Integer, String> cache = new BoundedTtlCache<>(0, 60_000);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(1, k -> "v" + loads.incrementAndGet());
+        cache.get(1, k -> "v" + loads.incrementAndGet());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidateAllClearsEntries() {
+        BoundedTtlCache<Integer, String> cache = new BoundedTtlCache<>(10, 60_000);
+        cache.get(1, k -> "a");
+        cache.get(2, k -> "b");
+        cache.invalidateAll();
+
+        assertNull(cache.peek(1));
+        assertNull(cache.peek(2));
+        assertEquals(2L, cache.getStats().get("invalidations"));
+    }
+}
@@ -0,0 +1,116 @@
+package com.journalsystem.springprogram.util;
+
+import com.journalsystem.springprogram.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 幂等键存储测试：重复请求返回首次结果、按调用方区分、参数不同时拒绝、超过容量时淘汰最早的记录
+ */
+class IdempotencyStoreTests {
+
+    @Test
+    void duplicateRequestReturnsFirstResult() {
+        IdempotencyStore store = new IdempotencyStore(600, 100);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertEquals(1, store.execute("borrow", 1, "k1", List.of(7), calls::incrementAndGet));
+        assertEquals(1, store.execute("borrow", 1, "k1", List.of(7), calls::incrementAndGet));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void blankKeyAlwaysExecutes() {
+        IdempotencyStore store = new IdempotencyStore(600, 100);
+        AtomicInteger calls = new AtomicInteger();
+
+        store.execute("borrow", 1, null, List.of(7), calls::incrementAndGet);
+        store.execute("borrow", 1, " ", List.of(7), calls::incrementAndGet);
+        assertEquals(2, calls.get());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void sameKeyFromDifferentCallersDoesNotShareResult() {
+        IdempotencyStore store = new IdempotencyStore(600, 100);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertEquals(1, store.execute("borrow", 1, "k1", List.of(7), calls::incrementAndGet));
+        assertEquals(2, store.execute("borrow", 2, "k1", List.of(7), calls::incrementAndGet));
+    }
+
+    @Test
+    void sameKeyWithDifferentPayloadIsRejected() {
+        IdempotencyStore store = new IdempotencyStore(600, 100);
+        store.execute("borrow", 1, "k1", List.of(7, 30), () -> 1);
+
+        BusinessException e = assertThrows(BusinessException.class,
+                () -> store.execute("borrow", 1, "k1", List.of(8, 30), () -> 2));
+        assertEquals(422, e.getCode());
+    }
+
+    @Test
+    void failedRequestCanBeRetriedWithSameKey() {
+        IdempotencyStore store = new IdempotencyStore(600, 100);
+
+        assertThrows(BusinessException.class, () -> store.execute("borrow", 1, "k1", 7, () -> {
+            throw new BusinessException(400, "期刊已无可用数量");
+        }));
+        assertEquals(2, store.execute("borrow", 1, "k1", 7, () -> 2));
+    }
+
+    @Test
+    void fullStoreEvictsOldestCompletedEntries() {
+        IdempotencyStore store = new IdempotencyStore(600, 3);
+        for (int i = 0; i < 5; i++) {
+            int value = i;
+            assertEquals(value, store.execute("borrow", 1, "k" + i, i, () -> value));
+        }
+        assertEquals(3, store.size());
+
+        // 最早的k0、k1已淘汰，再次提交会重新执行；k4仍保存首次结果
+        assertEquals(100, store.execute("borrow", 1, "k0", 0, () -> 100));
+        assertEquals(4, store.execute("borrow", 1, "k4", 4, () -> 200));
+    }
+
+    @Test
+    void concurrentDuplicatesWaitForFirstResult() throws Exception {
+        IdempotencyStore store = new IdempotencyStore(600, 100);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+
+        Future<Integer> first = pool.submit(() -> store.execute("borrow", 1, "k1", 7, () -> {
+            running.countDown();
+            await(release);
+            return calls.incrementAndGet();
+        }));
+        running.await(5, TimeUnit.SECONDS);
+        Future<Integer> duplicate = pool.submit(() -> store.execute("borrow", 1, "k1", 7, calls::incrementAndGet));
+        release.countDown();
+
+        assertEquals(1, first.get(5, TimeUnit.SECONDS));
+        assertEquals(1, duplicate.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+        pool.shutdown();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}